@@ -3,18 +3,33 @@ package com.toolsai.server.controller;
 import com.toolsai.server.dto.request.AIModelCreateRequest;
 import com.toolsai.server.dto.response.AIModelResponse;
 import com.toolsai.server.dto.response.ApiResponse;
+import com.toolsai.server.dto.response.BulkImportResponse;
+import com.toolsai.server.dto.response.CursorPage;
+import com.toolsai.server.dto.response.ModelFilterResponse;
+import com.toolsai.server.dto.response.OrganizationResponse;
 import com.toolsai.server.model.enums.ModelCategory;
 import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.service.AIModelBulkImportService;
 import com.toolsai.server.service.AIModelService;
+import com.toolsai.server.service.CollectionVersions;
+import com.toolsai.server.service.search.ModelFacetQuery;
+import com.toolsai.server.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/models")
@@ -22,6 +37,8 @@ import java.util.List;
 public class AIModelController {
 
     private final AIModelService aiModelService;
+    private final AIModelBulkImportService aiModelBulkImportService;
+    private final CollectionVersions collectionVersions;
 
     @PostMapping
     public ResponseEntity<ApiResponse<AIModelResponse>> createAIModel(
@@ -31,69 +48,155 @@ public class AIModelController {
                 .body(ApiResponse.success("AI Model created successfully", model));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkImportResponse>> bulkImportAIModels(
+            @RequestBody List<AIModelCreateRequest> requests) {
+        BulkImportResponse report = aiModelBulkImportService.importModels(requests);
+        return ResponseEntity.ok(ApiResponse.success("Bulk import completed", report));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<BulkImportResponse>> bulkImportAIModelsNdjson(InputStream body) throws IOException {
+        BulkImportResponse report = aiModelBulkImportService.importModels(body);
+        return ResponseEntity.ok(ApiResponse.success("Bulk import completed", report));
+    }
+
     @GetMapping("/{modelId}")
-    public ResponseEntity<ApiResponse<AIModelResponse>> getAIModelById(@PathVariable Long modelId) {
+    public ResponseEntity<ApiResponse<AIModelResponse>> getAIModelById(
+            @PathVariable Long modelId, WebRequest webRequest) {
+        // A revalidated page is still a view, so this counts one either way
         AIModelResponse model = aiModelService.getAIModelById(modelId);
+        if (webRequest.checkNotModified(modelETag(model), modelLastModified(model))) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success(model));
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ApiResponse<AIModelResponse>> getAIModelBySlug(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<AIModelResponse>> getAIModelBySlug(
+            @PathVariable String slug, WebRequest webRequest) {
         AIModelResponse model = aiModelService.getAIModelBySlug(slug);
+        if (webRequest.checkNotModified(modelETag(model), modelLastModified(model))) {
+            return null;
+        }
         return ResponseEntity.ok(ApiResponse.success(model));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getAllAIModels(Pageable pageable) {
+    public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getAllAIModels(
+            Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
         Page<AIModelResponse> models = aiModelService.getAllAIModels(pageable);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<AIModelResponse>>> scrollAIModels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
+        CursorPage<AIModelResponse> models = aiModelService.scrollAIModels(cursor, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(models));
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getAIModelsByCategory(
-            @PathVariable ModelCategory category, Pageable pageable) {
+            @PathVariable ModelCategory category, Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
         Page<AIModelResponse> models = aiModelService.getAIModelsByCategory(category, pageable);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
     @GetMapping("/status/{status}")
     public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getAIModelsByStatus(
-            @PathVariable ModelStatus status, Pageable pageable) {
+            @PathVariable ModelStatus status, Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
         Page<AIModelResponse> models = aiModelService.getAIModelsByStatus(status, pageable);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getFeaturedAIModels(Pageable pageable) {
+    public ResponseEntity<ApiResponse<Page<AIModelResponse>>> getFeaturedAIModels(
+            Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
         Page<AIModelResponse> models = aiModelService.getFeaturedAIModels(pageable);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<AIModelResponse>>> searchAIModels(
-            @RequestParam String query, Pageable pageable) {
+            @RequestParam String query, Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
         Page<AIModelResponse> models = aiModelService.searchAIModels(query, pageable);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
+    @GetMapping("/filter")
+    public ResponseEntity<ApiResponse<ModelFilterResponse>> filterAIModels(
+            @RequestParam(required = false) Set<ModelCategory> category,
+            @RequestParam(required = false) Set<PricingType> pricingType,
+            @RequestParam(required = false) Set<ModelStatus> status,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) Set<String> tag,
+            Pageable pageable,
+            WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.MODELS, webRequest)) {
+            return null;
+        }
+        ModelFacetQuery query = ModelFacetQuery.builder()
+                .categories(category)
+                .pricingTypes(pricingType)
+                .statuses(status)
+                .featured(featured)
+                .tagSlugs(tag)
+                .build();
+        ModelFilterResponse result = aiModelService.filterAIModels(query, pageable);
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
+    @GetMapping("/trending/hot")
+    public ResponseEntity<ApiResponse<List<AIModelResponse>>> getHotModels(
+            @RequestParam(defaultValue = "10") int limit) {
+        // No collection ETag: heat also changes as buckets age out, without any write
+        List<AIModelResponse> models = aiModelService.getHotModels(limit);
+        return ResponseEntity.ok(ApiResponse.success(models));
+    }
+
     @GetMapping("/trending/most-viewed")
     public ResponseEntity<ApiResponse<List<AIModelResponse>>> getMostViewedModels(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<AIModelResponse> models = aiModelService.getMostViewedModels(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) ModelCategory category) {
+        // Like the hot list, these reorder on engagement, which does not bump the collection version
+        List<AIModelResponse> models = aiModelService.getMostViewedModels(limit, category);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
     @GetMapping("/trending/most-liked")
     public ResponseEntity<ApiResponse<List<AIModelResponse>>> getMostLikedModels(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<AIModelResponse> models = aiModelService.getMostLikedModels(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) ModelCategory category) {
+        List<AIModelResponse> models = aiModelService.getMostLikedModels(limit, category);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
     @GetMapping("/trending/top-rated")
     public ResponseEntity<ApiResponse<List<AIModelResponse>>> getTopRatedModels(
-            @RequestParam(defaultValue = "10") int limit) {
-        List<AIModelResponse> models = aiModelService.getTopRatedModels(limit);
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) ModelCategory category) {
+        List<AIModelResponse> models = aiModelService.getTopRatedModels(limit, category);
         return ResponseEntity.ok(ApiResponse.success(models));
     }
 
@@ -110,4 +213,20 @@ public class AIModelController {
         aiModelService.deleteAIModel(modelId);
         return ResponseEntity.ok(ApiResponse.success("AI Model deleted successfully", null));
     }
-}
\ No newline at end of file
+
+    // View counts are left out: they are written behind and would revalidate every page on each flush
+    private static String modelETag(AIModelResponse model) {
+        OrganizationResponse organization = model.getOrganization();
+        return ETags.of("model", model.getId(), ETags.toEpochMillis(model.getUpdatedAt()),
+                organization != null ? organization.getId() : null,
+                organization != null ? ETags.toEpochMillis(organization.getUpdatedAt()) : null,
+                Integer.toHexString(Objects.hashCode(model.getTags())));
+    }
+
+    private static long modelLastModified(AIModelResponse model) {
+        long lastModified = ETags.toEpochMillis(model.getUpdatedAt());
+        return model.getOrganization() != null
+                ? Math.max(lastModified, ETags.toEpochMillis(model.getOrganization().getUpdatedAt()))
+                : lastModified;
+    }
+}
@@ -3,6 +3,9 @@ package com.toolsai.server.controller;
 import com.toolsai.server.dto.request.CommentCreateRequest;
 import com.toolsai.server.dto.response.ApiResponse;
 import com.toolsai.server.dto.response.CommentResponse;
+import com.toolsai.server.dto.response.CommentThreadResponse;
+import com.toolsai.server.dto.response.CursorPage;
+import com.toolsai.server.model.enums.VoteType;
 import com.toolsai.server.service.CommentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +39,49 @@ public class CommentController {
         return ResponseEntity.ok(ApiResponse.success(comments));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<CommentResponse>>> scrollCommentsByModel(
+            @PathVariable Long modelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<CommentResponse> comments = commentService.scrollCommentsByModel(
+                modelId, cursor, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(comments));
+    }
+
+    @GetMapping("/best")
+    public ResponseEntity<ApiResponse<CursorPage<CommentResponse>>> getBestCommentsByModel(
+            @PathVariable Long modelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<CommentResponse> comments = commentService.getBestCommentsByModel(
+                modelId, cursor, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(comments));
+    }
+
+    @GetMapping("/thread")
+    public ResponseEntity<ApiResponse<CommentThreadResponse>> getThread(
+            @PathVariable Long modelId,
+            @RequestParam(defaultValue = "3") int depth,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        CommentThreadResponse thread = commentService.getThread(modelId, null,
+                Math.min(Math.max(depth, 1), 10), Math.min(Math.max(limit, 1), 100), cursor);
+        return ResponseEntity.ok(ApiResponse.success(thread));
+    }
+
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<ApiResponse<CommentThreadResponse>> getReplyThread(
+            @PathVariable Long modelId,
+            @PathVariable Long commentId,
+            @RequestParam(defaultValue = "3") int depth,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor) {
+        CommentThreadResponse thread = commentService.getThread(modelId, commentId,
+                Math.min(Math.max(depth, 1), 10), Math.min(Math.max(limit, 1), 100), cursor);
+        return ResponseEntity.ok(ApiResponse.success(thread));
+    }
+
     @PutMapping("/{commentId}")
     public ResponseEntity<ApiResponse<CommentResponse>> updateComment(
             @PathVariable Long modelId,
@@ -54,4 +100,23 @@ public class CommentController {
         commentService.deleteComment(commentId, userId);
         return ResponseEntity.ok(ApiResponse.success("Comment deleted successfully", null));
     }
+
+    @PostMapping("/{commentId}/vote")
+    public ResponseEntity<ApiResponse<CommentResponse>> vote(
+            @PathVariable Long modelId,
+            @PathVariable Long commentId,
+            @RequestParam Long userId,
+            @RequestParam VoteType direction) {
+        CommentResponse comment = commentService.vote(modelId, commentId, userId, direction);
+        return ResponseEntity.ok(ApiResponse.success("Vote recorded", comment));
+    }
+
+    @DeleteMapping("/{commentId}/vote")
+    public ResponseEntity<ApiResponse<CommentResponse>> unvote(
+            @PathVariable Long modelId,
+            @PathVariable Long commentId,
+            @RequestParam Long userId) {
+        CommentResponse comment = commentService.unvote(modelId, commentId, userId);
+        return ResponseEntity.ok(ApiResponse.success("Vote removed", comment));
+    }
 }
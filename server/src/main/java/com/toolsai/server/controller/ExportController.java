@@ -0,0 +1,60 @@
+package com.toolsai.server.controller;
+
+import com.toolsai.server.service.CatalogExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final CatalogExportService catalogExportService;
+
+    @GetMapping("/models")
+    public ResponseEntity<StreamingResponseBody> exportModels(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(CatalogExportService.Dataset.MODELS, afterId, acceptEncoding);
+    }
+
+    @GetMapping("/ratings")
+    public ResponseEntity<StreamingResponseBody> exportRatings(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(CatalogExportService.Dataset.RATINGS, afterId, acceptEncoding);
+    }
+
+    @GetMapping("/comments")
+    public ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestParam(defaultValue = "0") long afterId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return export(CatalogExportService.Dataset.COMMENTS, afterId, acceptEncoding);
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(CatalogExportService.Dataset dataset, long afterId,
+                                                         String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(out -> {
+                GZIPOutputStream gzip = new GZIPOutputStream(out, 64 * 1024);
+                catalogExportService.export(dataset, afterId, gzip);
+                gzip.finish();
+            });
+        }
+        return response.body(out -> catalogExportService.export(dataset, afterId, out));
+    }
+}
@@ -1,13 +1,16 @@
 package com.toolsai.server.controller;
 
 import com.toolsai.server.dto.response.ApiResponse;
+import com.toolsai.server.dto.response.CursorPage;
 import com.toolsai.server.dto.response.NotificationResponse;
 import com.toolsai.server.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/users/{userId}/notifications")
@@ -23,6 +26,27 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(notifications));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<NotificationResponse>>> scrollNotificationsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<NotificationResponse> notifications = notificationService.scrollNotificationsByUser(
+                userId, cursor, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(notifications));
+    }
+
+    /**
+     * Pushes the user's new notifications as they are created. Reconnecting clients send
+     * the last event id they saw as {@code Last-Event-ID} and get what they missed first.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @PathVariable Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationService.streamNotifications(userId, lastEventId);
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getUnreadNotifications(
             @PathVariable Long userId, Pageable pageable) {
@@ -3,7 +3,10 @@ package com.toolsai.server.controller;
 import com.toolsai.server.dto.request.OrganizationCreateRequest;
 import com.toolsai.server.dto.response.ApiResponse;
 import com.toolsai.server.dto.response.OrganizationResponse;
+import com.toolsai.server.repository.projection.EntityVersion;
+import com.toolsai.server.service.CollectionVersions;
 import com.toolsai.server.service.OrganizationService;
+import com.toolsai.server.util.ETags;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -11,6 +14,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/organizations")
@@ -18,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final CollectionVersions collectionVersions;
 
     @PostMapping
     public ResponseEntity<ApiResponse<OrganizationResponse>> createOrganization(
@@ -28,26 +33,43 @@ public class OrganizationController {
     }
 
     @GetMapping("/{organizationId}")
-    public ResponseEntity<ApiResponse<OrganizationResponse>> getOrganizationById(@PathVariable Long organizationId) {
+    public ResponseEntity<ApiResponse<OrganizationResponse>> getOrganizationById(
+            @PathVariable Long organizationId, WebRequest webRequest) {
+        EntityVersion version = organizationService.getOrganizationVersionById(organizationId);
+        if (webRequest.checkNotModified(organizationETag(version), ETags.toEpochMillis(version.getUpdatedAt()))) {
+            return null;
+        }
         OrganizationResponse organization = organizationService.getOrganizationById(organizationId);
         return ResponseEntity.ok(ApiResponse.success(organization));
     }
 
     @GetMapping("/slug/{slug}")
-    public ResponseEntity<ApiResponse<OrganizationResponse>> getOrganizationBySlug(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<OrganizationResponse>> getOrganizationBySlug(
+            @PathVariable String slug, WebRequest webRequest) {
+        EntityVersion version = organizationService.getOrganizationVersionBySlug(slug);
+        if (webRequest.checkNotModified(organizationETag(version), ETags.toEpochMillis(version.getUpdatedAt()))) {
+            return null;
+        }
         OrganizationResponse organization = organizationService.getOrganizationBySlug(slug);
         return ResponseEntity.ok(ApiResponse.success(organization));
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<OrganizationResponse>>> getAllOrganizations(Pageable pageable) {
+    public ResponseEntity<ApiResponse<Page<OrganizationResponse>>> getAllOrganizations(
+            Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.ORGANIZATIONS, webRequest)) {
+            return null;
+        }
         Page<OrganizationResponse> organizations = organizationService.getAllOrganizations(pageable);
         return ResponseEntity.ok(ApiResponse.success(organizations));
     }
 
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<OrganizationResponse>>> searchOrganizations(
-            @RequestParam String query, Pageable pageable) {
+            @RequestParam String query, Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.ORGANIZATIONS, webRequest)) {
+            return null;
+        }
         Page<OrganizationResponse> organizations = organizationService.searchOrganizations(query, pageable);
         return ResponseEntity.ok(ApiResponse.success(organizations));
     }
@@ -65,4 +87,8 @@ public class OrganizationController {
         organizationService.deleteOrganization(organizationId);
         return ResponseEntity.ok(ApiResponse.success("Organization deleted successfully", null));
     }
-}
\ No newline at end of file
+
+    private static String organizationETag(EntityVersion version) {
+        return ETags.of("organization", version.getId(), ETags.toEpochMillis(version.getUpdatedAt()));
+    }
+}
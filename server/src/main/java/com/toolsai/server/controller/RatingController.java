@@ -2,7 +2,9 @@ package com.toolsai.server.controller;
 
 import com.toolsai.server.dto.request.RatingCreateRequest;
 import com.toolsai.server.dto.response.ApiResponse;
+import com.toolsai.server.dto.response.CursorPage;
 import com.toolsai.server.dto.response.RatingResponse;
+import com.toolsai.server.dto.response.RatingSummaryResponse;
 import com.toolsai.server.service.RatingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +36,22 @@ public class RatingController {
         return ResponseEntity.ok(ApiResponse.success(ratings));
     }
 
+    @GetMapping("/summary")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getRatingSummary(@PathVariable Long modelId) {
+        RatingSummaryResponse summary = ratingService.getRatingSummary(modelId);
+        return ResponseEntity.ok(ApiResponse.success(summary));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPage<RatingResponse>>> scrollRatingsByModel(
+            @PathVariable Long modelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<RatingResponse> ratings = ratingService.scrollRatingsByModel(
+                modelId, cursor, Math.min(Math.max(size, 1), 100));
+        return ResponseEntity.ok(ApiResponse.success(ratings));
+    }
+
     @DeleteMapping("/{ratingId}")
     public ResponseEntity<ApiResponse<Void>> deleteRating(
             @PathVariable Long modelId,
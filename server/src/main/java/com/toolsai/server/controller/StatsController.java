@@ -0,0 +1,71 @@
+package com.toolsai.server.controller;
+
+import com.toolsai.server.dto.response.ApiResponse;
+import com.toolsai.server.dto.response.ModelCacheStatsResponse;
+import com.toolsai.server.dto.response.ModelCounterStatsResponse;
+import com.toolsai.server.dto.response.ModelSearchStatsResponse;
+import com.toolsai.server.dto.response.NotificationCoalescingStatsResponse;
+import com.toolsai.server.dto.response.NotificationFanoutStatsResponse;
+import com.toolsai.server.dto.response.NotificationRetentionStatsResponse;
+import com.toolsai.server.dto.response.ViewCountStatsResponse;
+import com.toolsai.server.service.AIModelCache;
+import com.toolsai.server.service.NotificationCoalescer;
+import com.toolsai.server.service.ViewCountBuffer;
+import com.toolsai.server.service.counter.ModelCounters;
+import com.toolsai.server.service.fanout.NotificationFanout;
+import com.toolsai.server.service.retention.NotificationPurger;
+import com.toolsai.server.service.search.ModelSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final ViewCountBuffer viewCountBuffer;
+    private final AIModelCache aiModelCache;
+    private final ModelSearchIndex modelSearchIndex;
+    private final ModelCounters modelCounters;
+    private final NotificationFanout notificationFanout;
+    private final NotificationPurger notificationPurger;
+    private final NotificationCoalescer notificationCoalescer;
+
+    @GetMapping("/model-views")
+    public ResponseEntity<ApiResponse<ViewCountStatsResponse>> getModelViewStats() {
+        return ResponseEntity.ok(ApiResponse.success(viewCountBuffer.getStats()));
+    }
+
+    @GetMapping("/model-cache")
+    public ResponseEntity<ApiResponse<ModelCacheStatsResponse>> getModelCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(aiModelCache.getStats()));
+    }
+
+    @GetMapping("/model-search")
+    public ResponseEntity<ApiResponse<ModelSearchStatsResponse>> getModelSearchStats() {
+        return ResponseEntity.ok(ApiResponse.success(modelSearchIndex.getStats()));
+    }
+
+    @GetMapping("/model-counters")
+    public ResponseEntity<ApiResponse<ModelCounterStatsResponse>> getModelCounterStats() {
+        return ResponseEntity.ok(ApiResponse.success(modelCounters.getStats()));
+    }
+
+    @GetMapping("/notification-fanout")
+    public ResponseEntity<ApiResponse<NotificationFanoutStatsResponse>> getNotificationFanoutStats() {
+        return ResponseEntity.ok(ApiResponse.success(notificationFanout.getStats()));
+    }
+
+    @GetMapping("/notification-retention")
+    public ResponseEntity<ApiResponse<NotificationRetentionStatsResponse>> getNotificationRetentionStats() {
+        return ResponseEntity.ok(ApiResponse.success(notificationPurger.getStats()));
+    }
+
+    @GetMapping("/notification-coalescing")
+    public ResponseEntity<ApiResponse<NotificationCoalescingStatsResponse>> getNotificationCoalescingStats() {
+        return ResponseEntity.ok(ApiResponse.success(notificationCoalescer.getStats()));
+    }
+}
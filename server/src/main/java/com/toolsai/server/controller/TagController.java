@@ -2,12 +2,14 @@ package com.toolsai.server.controller;
 
 import com.toolsai.server.dto.response.ApiResponse;
 import com.toolsai.server.dto.response.TagResponse;
+import com.toolsai.server.service.CollectionVersions;
 import com.toolsai.server.service.TagService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,23 +19,33 @@ import java.util.List;
 public class TagController {
 
     private final TagService tagService;
+    private final CollectionVersions collectionVersions;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Page<TagResponse>>> getAllTags(Pageable pageable) {
+    public ResponseEntity<ApiResponse<Page<TagResponse>>> getAllTags(Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.TAGS, webRequest)) {
+            return null;
+        }
         Page<TagResponse> tags = tagService.getAllTags(pageable);
         return ResponseEntity.ok(ApiResponse.success(tags));
     }
 
     @GetMapping("/popular")
     public ResponseEntity<ApiResponse<List<TagResponse>>> getMostUsedTags(
-            @RequestParam(defaultValue = "20") int limit) {
+            @RequestParam(defaultValue = "20") int limit, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.TAGS, webRequest)) {
+            return null;
+        }
         List<TagResponse> tags = tagService.getMostUsedTags(limit);
         return ResponseEntity.ok(ApiResponse.success(tags));
     }
 
     @GetMapping("/search")
     public ResponseEntity<ApiResponse<Page<TagResponse>>> searchTags(
-            @RequestParam String query, Pageable pageable) {
+            @RequestParam String query, Pageable pageable, WebRequest webRequest) {
+        if (collectionVersions.checkNotModified(CollectionVersions.Resource.TAGS, webRequest)) {
+            return null;
+        }
         Page<TagResponse> tags = tagService.searchTags(query, pageable);
         return ResponseEntity.ok(ApiResponse.success(tags));
     }
@@ -0,0 +1,27 @@
+package com.toolsai.server.controller;
+
+import com.toolsai.server.dto.request.LikeCheckRequest;
+import com.toolsai.server.dto.response.ApiResponse;
+import com.toolsai.server.service.LikeService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users/{userId}/likes")
+@RequiredArgsConstructor
+public class UserLikeController {
+
+    private final LikeService likeService;
+
+    @PostMapping("/check")
+    public ResponseEntity<ApiResponse<List<Long>>> checkLikes(
+            @PathVariable Long userId,
+            @Valid @RequestBody LikeCheckRequest request) {
+        List<Long> liked = likeService.getLikedModelIds(userId, request.getModelIds());
+        return ResponseEntity.ok(ApiResponse.success(liked));
+    }
+}
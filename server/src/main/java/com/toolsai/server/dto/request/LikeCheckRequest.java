@@ -0,0 +1,13 @@
+package com.toolsai.server.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LikeCheckRequest {
+    @NotEmpty(message = "Model ids are required")
+    @Size(max = 500, message = "Cannot check more than 500 models at once")
+    private List<@NotNull Long> modelIds;
+}
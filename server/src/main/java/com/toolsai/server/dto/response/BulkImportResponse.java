@@ -0,0 +1,31 @@
+package com.toolsai.server.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkImportResponse {
+
+    public enum ItemStatus {
+        CREATED,
+        FAILED
+    }
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<ItemResult> items;
+
+    @Data
+    @AllArgsConstructor
+    public static class ItemResult {
+        // Position of the item in the request, counting non-blank NDJSON lines
+        private int index;
+        private String modelSlug;
+        private ItemStatus status;
+        private Long modelId;
+        private List<String> errors;
+    }
+}
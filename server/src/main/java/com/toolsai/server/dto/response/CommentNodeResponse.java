@@ -0,0 +1,14 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CommentNodeResponse {
+    private CommentResponse comment;
+    // All live replies; more than are loaded when the page or depth limit cut them off
+    private Integer replyCount;
+    private List<CommentNodeResponse> replies = new ArrayList<>();
+}
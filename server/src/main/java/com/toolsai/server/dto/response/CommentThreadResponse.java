@@ -0,0 +1,17 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CommentThreadResponse {
+    private List<CommentNodeResponse> comments;
+    private Integer limit;
+    private Integer depth;
+    // Comments at the requested level, of which this page holds up to limit
+    private Integer totalCount;
+    private Boolean hasMore;
+    // Position after the last comment of this page, for the next one
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.toolsai.server.dto.response;
+
+import com.toolsai.server.util.PageCursor;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, T> mapper,
+                                          Function<E, ? extends PageCursor> cursorOf) {
+        CursorPage<T> page = new CursorPage<>();
+        page.setContent(slice.getContent().stream().map(mapper).collect(Collectors.toList()));
+        page.setSize(slice.getNumberOfElements());
+        page.setHasNext(slice.hasNext());
+        if (slice.hasNext() && slice.hasContent()) {
+            List<E> content = slice.getContent();
+            page.setNextCursor(cursorOf.apply(content.get(content.size() - 1)).encode());
+        }
+        return page;
+    }
+}
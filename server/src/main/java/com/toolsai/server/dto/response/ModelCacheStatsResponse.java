@@ -0,0 +1,17 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ModelCacheStatsResponse {
+    private long size;
+    private long maximumSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long loadFailureCount;
+    private double averageLoadPenaltyMs;
+    private long slugHitCount;
+    private long slugMissCount;
+}
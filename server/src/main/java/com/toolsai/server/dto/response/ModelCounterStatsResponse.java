@@ -0,0 +1,13 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ModelCounterStatsResponse {
+    private int shardedModels;
+    private int shardsPerModel;
+    private long promotions;
+    private long demotions;
+    private long folds;
+    private long failedFolds;
+}
@@ -0,0 +1,15 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ModelFilterResponse {
+    private long totalElements;
+    private int page;
+    private int size;
+    private List<Long> modelIds;
+    private Map<String, Map<String, Long>> facets;
+}
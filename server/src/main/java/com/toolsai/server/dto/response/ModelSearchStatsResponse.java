@@ -0,0 +1,14 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ModelSearchStatsResponse {
+    private int documentCount;
+    private int termCount;
+    private long searchCount;
+    private double averageSearchMicros;
+    private double maxSearchMicros;
+    private long rebuildCount;
+    private long lastRebuildDurationMs;
+}
@@ -0,0 +1,15 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class NotificationCoalescingStatsResponse {
+    private Duration window;
+    private long events;
+    private long rowsInserted;
+    private long rowsMerged;
+    // Share of events that did not write a new row
+    private double rowReduction;
+}
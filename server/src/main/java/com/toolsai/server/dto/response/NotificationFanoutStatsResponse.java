@@ -0,0 +1,36 @@
+package com.toolsai.server.dto.response;
+
+import com.toolsai.server.model.enums.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class NotificationFanoutStatsResponse {
+    private int workers;
+    private int pendingJobs;
+    private int maxPendingJobs;
+    private int organizationsWaiting;
+    private long completedJobs;
+    private long abandonedJobs;
+    private long rejectedJobs;
+    private long coalescedJobs;
+    // Taken over from an instance whose lease ran out, this one's previous run included
+    private long resumedJobs;
+    private long deliveredChunks;
+    private long failedChunks;
+    private long deliveredNotifications;
+    private List<JobProgress> activeJobs;
+
+    @Data
+    @AllArgsConstructor
+    public static class JobProgress {
+        private Long modelId;
+        private Long organizationId;
+        private NotificationType type;
+        private long delivered;
+        private LocalDateTime queuedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.toolsai.server.dto.response;
+
+import com.toolsai.server.model.enums.NotificationType;
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+public class NotificationRetentionStatsResponse {
+    private boolean partitioned;
+    private Duration defaultRetention;
+    private Map<NotificationType, Duration> retentionByType;
+    private long runs;
+    private long failedRuns;
+    private LocalDateTime lastRunAt;
+    private long lastRunDurationMs;
+    private int lastPartitionsDropped;
+    private long lastRowsReclaimed;
+    // Exact for dropped partitions, estimated from the average row size for deleted rows
+    private long lastBytesReclaimed;
+    private Map<NotificationType, Long> lastRowsDeletedByType;
+    private long totalPartitionsDropped;
+    private long totalRowsReclaimed;
+    private long totalBytesReclaimed;
+}
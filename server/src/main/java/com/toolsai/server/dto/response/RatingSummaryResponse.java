@@ -0,0 +1,15 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@Data
+public class RatingSummaryResponse {
+    private Long modelId;
+    private Integer ratingCount;
+    private BigDecimal averageRating;
+    // Number of ratings per star value, 1 to 5
+    private Map<Integer, Integer> histogram;
+}
@@ -0,0 +1,15 @@
+package com.toolsai.server.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ViewCountStatsResponse {
+    private long pendingViews;
+    private int pendingModels;
+    private long flushCount;
+    private long failedFlushCount;
+    private long flushedViews;
+    private long lastFlushDurationMs;
+    private long maxFlushDurationMs;
+    private double averageFlushDurationMs;
+}
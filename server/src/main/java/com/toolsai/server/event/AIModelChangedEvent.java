@@ -0,0 +1,20 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AIModelChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Long modelId;
+    private final String modelSlug;
+    private final Long organizationId;
+    private final ChangeType changeType;
+}
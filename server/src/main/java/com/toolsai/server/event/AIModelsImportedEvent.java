@@ -0,0 +1,18 @@
+package com.toolsai.server.event;
+
+import com.toolsai.server.model.AIModel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One bulk import chunk was inserted. The models are the rows as written, with their
+ * organization and tags loaded, so listeners can index them without reading them back.
+ */
+@Getter
+@RequiredArgsConstructor
+public class AIModelsImportedEvent {
+
+    private final List<AIModel> models;
+}
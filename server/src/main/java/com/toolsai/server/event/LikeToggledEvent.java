@@ -0,0 +1,15 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A user's like of a model was added or removed.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LikeToggledEvent {
+
+    private final Long userId;
+    private final Long modelId;
+}
@@ -0,0 +1,41 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A change to one of a model's engagement counters. Published once the counter write
+ * has been made, so listeners see the same numbers the database does after commit.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ModelEngagementEvent {
+
+    public enum EngagementType {
+        VIEW,
+        LIKE,
+        COMMENT,
+        RATING
+    }
+
+    private final Long modelId;
+    private final EngagementType type;
+    // Views, likes or comments added (negative on removal); for ratings, ratings added or removed
+    private final long delta;
+
+    public static ModelEngagementEvent views(Long modelId, long views) {
+        return new ModelEngagementEvent(modelId, EngagementType.VIEW, views);
+    }
+
+    public static ModelEngagementEvent like(Long modelId, long delta) {
+        return new ModelEngagementEvent(modelId, EngagementType.LIKE, delta);
+    }
+
+    public static ModelEngagementEvent comment(Long modelId, long delta) {
+        return new ModelEngagementEvent(modelId, EngagementType.COMMENT, delta);
+    }
+
+    public static ModelEngagementEvent rating(Long modelId, long delta) {
+        return new ModelEngagementEvent(modelId, EngagementType.RATING, delta);
+    }
+}
@@ -0,0 +1,17 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bulk import finished; the ids of the models it created, per organization, in import order.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ModelImportCompletedEvent {
+
+    private final Map<Long, List<Long>> modelIdsByOrganization;
+}
@@ -0,0 +1,17 @@
+package com.toolsai.server.event;
+
+import com.toolsai.server.model.Notification;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Notifications were inserted; their receivers are only referenced by id.
+ */
+@Getter
+@RequiredArgsConstructor
+public class NotificationsCreatedEvent {
+
+    private final List<Notification> notifications;
+}
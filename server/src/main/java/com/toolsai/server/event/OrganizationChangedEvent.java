@@ -0,0 +1,11 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class OrganizationChangedEvent {
+
+    private final Long organizationId;
+}
@@ -0,0 +1,15 @@
+package com.toolsai.server.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A user's unread notification count moved by {@code delta}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class UnreadNotificationsChangedEvent {
+
+    private final Long userId;
+    private final long delta;
+}
@@ -0,0 +1,82 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.model.AIModel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AIModelMapper {
+
+    private final OrganizationMapper organizationMapper;
+    private final TagMapper tagMapper;
+
+    public AIModelResponse toResponse(AIModel aiModel) {
+        AIModelResponse response = new AIModelResponse();
+        response.setId(aiModel.getId());
+        response.setModelName(aiModel.getModelName());
+        response.setModelSlug(aiModel.getModelSlug());
+        response.setModelDescription(aiModel.getModelDescription());
+        response.setModelVersion(aiModel.getModelVersion());
+        response.setModelCategory(aiModel.getModelCategory());
+        response.setPricingType(aiModel.getPricingType());
+        response.setModelPrice(aiModel.getModelPrice());
+        response.setCurrency(aiModel.getCurrency());
+        response.setPricingUnit(aiModel.getPricingUnit());
+        response.setApiUrl(aiModel.getApiUrl());
+        response.setDocumentationUrl(aiModel.getDocumentationUrl());
+        response.setModelImageUrl(aiModel.getModelImageUrl());
+        response.setModelStatus(aiModel.getModelStatus());
+        response.setIsFeatured(aiModel.getIsFeatured());
+        response.setLikeCount(aiModel.getLikeCount());
+        response.setCommentCount(aiModel.getCommentCount());
+        response.setViewCount(aiModel.getViewCount());
+        response.setAverageRating(aiModel.getAverageRating());
+        response.setRatingCount(aiModel.getRatingCount());
+        response.setCreatedAt(aiModel.getCreatedAt());
+        response.setUpdatedAt(aiModel.getUpdatedAt());
+
+        // Organization is fetched with the model, tags are batch-loaded for the whole page
+        if (aiModel.getOrganization() != null) {
+            response.setOrganization(organizationMapper.toResponse(aiModel.getOrganization()));
+        }
+        if (aiModel.getTags() != null) {
+            response.setTags(tagMapper.toResponses(aiModel.getTags()));
+        }
+        return response;
+    }
+
+    public AIModelResponse copy(AIModelResponse source) {
+        AIModelResponse response = new AIModelResponse();
+        response.setId(source.getId());
+        response.setModelName(source.getModelName());
+        response.setModelSlug(source.getModelSlug());
+        response.setModelDescription(source.getModelDescription());
+        response.setModelVersion(source.getModelVersion());
+        response.setModelCategory(source.getModelCategory());
+        response.setPricingType(source.getPricingType());
+        response.setModelPrice(source.getModelPrice());
+        response.setCurrency(source.getCurrency());
+        response.setPricingUnit(source.getPricingUnit());
+        response.setApiUrl(source.getApiUrl());
+        response.setDocumentationUrl(source.getDocumentationUrl());
+        response.setModelImageUrl(source.getModelImageUrl());
+        response.setModelStatus(source.getModelStatus());
+        response.setIsFeatured(source.getIsFeatured());
+        response.setLikeCount(source.getLikeCount());
+        response.setCommentCount(source.getCommentCount());
+        response.setViewCount(source.getViewCount());
+        response.setAverageRating(source.getAverageRating());
+        response.setRatingCount(source.getRatingCount());
+        response.setCreatedAt(source.getCreatedAt());
+        response.setUpdatedAt(source.getUpdatedAt());
+        if (source.getOrganization() != null) {
+            response.setOrganization(organizationMapper.copy(source.getOrganization()));
+        }
+        if (source.getTags() != null) {
+            response.setTags(tagMapper.copies(source.getTags()));
+        }
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.CommentNodeResponse;
+import com.toolsai.server.dto.response.CommentResponse;
+import com.toolsai.server.dto.response.UserResponse;
+import com.toolsai.server.model.AIModelComment;
+import com.toolsai.server.repository.projection.CommentTreeRow;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommentMapper {
+
+    public CommentResponse toResponse(AIModelComment comment) {
+        CommentResponse response = new CommentResponse();
+        response.setId(comment.getId());
+        response.setContent(comment.getContent());
+        response.setUpvoteCount(comment.getUpvoteCount());
+        response.setDownvoteCount(comment.getDownvoteCount());
+        response.setIsEdited(comment.getIsEdited());
+        response.setIsDeleted(comment.getIsDeleted());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUpdatedAt(comment.getUpdatedAt());
+        if (comment.getParentComment() != null) {
+            response.setParentCommentId(comment.getParentComment().getId());
+        }
+        return response;
+    }
+
+    public CommentNodeResponse toNode(CommentTreeRow row, UserResponse author) {
+        CommentResponse response = new CommentResponse();
+        response.setId(row.getId());
+        response.setContent(row.getContent());
+        response.setUpvoteCount(row.getUpvoteCount());
+        response.setDownvoteCount(row.getDownvoteCount());
+        response.setIsEdited(row.getIsEdited());
+        response.setIsDeleted(false);
+        response.setUser(author);
+        response.setParentCommentId(row.getParentCommentId());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+
+        CommentNodeResponse node = new CommentNodeResponse();
+        node.setComment(response);
+        node.setReplyCount(row.getReplyCount());
+        return node;
+    }
+}
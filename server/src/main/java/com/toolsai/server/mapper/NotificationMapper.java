@@ -0,0 +1,23 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.NotificationResponse;
+import com.toolsai.server.model.Notification;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationMapper {
+
+    public NotificationResponse toResponse(Notification notification) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(notification.getId());
+        response.setTitle(notification.getTitle());
+        response.setMessage(notification.getMessage());
+        response.setType(notification.getType());
+        response.setIsRead(notification.getIsRead());
+        response.setActionUrl(notification.getActionUrl());
+        response.setData(notification.getData());
+        response.setCreatedAt(notification.getCreatedAt());
+        response.setUpdatedAt(notification.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.OrganizationResponse;
+import com.toolsai.server.model.Organization;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrganizationMapper {
+
+    public OrganizationResponse toResponse(Organization organization) {
+        OrganizationResponse response = new OrganizationResponse();
+        response.setId(organization.getId());
+        response.setOrgName(organization.getOrgName());
+        response.setOrgSlug(organization.getOrgSlug());
+        response.setOrgUrl(organization.getOrgUrl());
+        response.setDescription(organization.getDescription());
+        response.setLogoUrl(organization.getLogoUrl());
+        response.setJoinedAt(organization.getJoinedAt());
+        response.setIsActive(organization.getIsActive());
+        response.setIsVerified(organization.getIsVerified());
+        response.setTotalModels(organization.getTotalModels());
+        response.setTotalSubscribers(organization.getTotalSubscribers());
+        response.setCreatedAt(organization.getCreatedAt());
+        response.setUpdatedAt(organization.getUpdatedAt());
+        return response;
+    }
+
+    public OrganizationResponse copy(OrganizationResponse source) {
+        OrganizationResponse response = new OrganizationResponse();
+        response.setId(source.getId());
+        response.setOrgName(source.getOrgName());
+        response.setOrgSlug(source.getOrgSlug());
+        response.setOrgUrl(source.getOrgUrl());
+        response.setDescription(source.getDescription());
+        response.setLogoUrl(source.getLogoUrl());
+        response.setJoinedAt(source.getJoinedAt());
+        response.setIsActive(source.getIsActive());
+        response.setIsVerified(source.getIsVerified());
+        response.setTotalModels(source.getTotalModels());
+        response.setTotalSubscribers(source.getTotalSubscribers());
+        response.setCreatedAt(source.getCreatedAt());
+        response.setUpdatedAt(source.getUpdatedAt());
+        return response;
+    }
+}
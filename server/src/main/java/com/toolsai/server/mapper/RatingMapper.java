@@ -0,0 +1,44 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.RatingResponse;
+import com.toolsai.server.dto.response.RatingSummaryResponse;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.AIModelRating;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class RatingMapper {
+
+    public RatingResponse toResponse(AIModelRating rating) {
+        RatingResponse response = new RatingResponse();
+        response.setId(rating.getId());
+        response.setRating(rating.getRating());
+        response.setReview(rating.getReview());
+        response.setCreatedAt(rating.getCreatedAt());
+        response.setUpdatedAt(rating.getUpdatedAt());
+        return response;
+    }
+
+    public RatingSummaryResponse toSummary(AIModel aiModel) {
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        histogram.put(1, zeroIfNull(aiModel.getRating1Count()));
+        histogram.put(2, zeroIfNull(aiModel.getRating2Count()));
+        histogram.put(3, zeroIfNull(aiModel.getRating3Count()));
+        histogram.put(4, zeroIfNull(aiModel.getRating4Count()));
+        histogram.put(5, zeroIfNull(aiModel.getRating5Count()));
+
+        RatingSummaryResponse response = new RatingSummaryResponse();
+        response.setModelId(aiModel.getId());
+        response.setRatingCount(zeroIfNull(aiModel.getRatingCount()));
+        response.setAverageRating(aiModel.getAverageRating());
+        response.setHistogram(histogram);
+        return response;
+    }
+
+    private static int zeroIfNull(Integer value) {
+        return value != null ? value : 0;
+    }
+}
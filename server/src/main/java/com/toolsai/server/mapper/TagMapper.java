@@ -0,0 +1,46 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.TagResponse;
+import com.toolsai.server.model.Tag;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class TagMapper {
+
+    public TagResponse toResponse(Tag tag) {
+        TagResponse response = new TagResponse();
+        response.setId(tag.getId());
+        response.setName(tag.getName());
+        response.setSlug(tag.getSlug());
+        response.setDescription(tag.getDescription());
+        response.setColor(tag.getColor());
+        response.setUsageCount(tag.getUsageCount());
+        return response;
+    }
+
+    public List<TagResponse> toResponses(List<Tag> tags) {
+        List<TagResponse> responses = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            responses.add(toResponse(tag));
+        }
+        return responses;
+    }
+
+    public List<TagResponse> copies(List<TagResponse> sources) {
+        List<TagResponse> responses = new ArrayList<>(sources.size());
+        for (TagResponse source : sources) {
+            TagResponse response = new TagResponse();
+            response.setId(source.getId());
+            response.setName(source.getName());
+            response.setSlug(source.getSlug());
+            response.setDescription(source.getDescription());
+            response.setColor(source.getColor());
+            response.setUsageCount(source.getUsageCount());
+            responses.add(response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,26 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.UserResponse;
+import com.toolsai.server.model.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+
+    public UserResponse toResponse(User user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setEmail(user.getEmail());
+        response.setFullName(user.getFullName());
+        response.setBio(user.getBio());
+        response.setAvatarUrl(user.getAvatarUrl());
+        response.setRole(user.getRole());
+        response.setIsActive(user.getIsActive());
+        response.setIsVerified(user.getIsVerified());
+        response.setLastLoginAt(user.getLastLoginAt());
+        response.setCreatedAt(user.getCreatedAt());
+        response.setUpdatedAt(user.getUpdatedAt());
+        return response;
+    }
+}
@@ -3,11 +3,13 @@ package com.toolsai.server.model;
 import com.toolsai.server.model.enums.ModelCategory;
 import com.toolsai.server.model.enums.ModelStatus;
 import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,7 +18,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "ai_models")
+@Table(name = "ai_models", indexes = {
+        @Index(name = "idx_ai_models_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_ai_models_bayesian_rating_id", columnList = "bayesian_rating, id"),
+        @Index(name = "idx_ai_models_category_bayesian_rating_id", columnList = "model_category, bayesian_rating, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +30,7 @@ import java.util.List;
 public class AIModel {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "model_name", nullable = false, length = 100)
@@ -83,6 +89,11 @@ public class AIModel {
     @Builder.Default
     private Integer commentCount = 0;
 
+    // Live comments that are not replies, the first level of a comment thread
+    @Column(name = "top_level_comment_count")
+    @Builder.Default
+    private Integer topLevelCommentCount = 0;
+
     @Column(name = "view_count")
     @Builder.Default
     private Long viewCount = 0L;
@@ -94,6 +105,35 @@ public class AIModel {
     @Builder.Default
     private Integer ratingCount = 0;
 
+    // Running sum of all star values and a star histogram, moved by each rating change
+    @Column(name = "rating_sum")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_1_count")
+    @Builder.Default
+    private Integer rating1Count = 0;
+
+    @Column(name = "rating_2_count")
+    @Builder.Default
+    private Integer rating2Count = 0;
+
+    @Column(name = "rating_3_count")
+    @Builder.Default
+    private Integer rating3Count = 0;
+
+    @Column(name = "rating_4_count")
+    @Builder.Default
+    private Integer rating4Count = 0;
+
+    @Column(name = "rating_5_count")
+    @Builder.Default
+    private Integer rating5Count = 0;
+
+    // Average shrunk towards the catalog-wide mean by the number of ratings; null when unrated
+    @Column(name = "bayesian_rating")
+    private Double bayesianRating;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -108,6 +148,7 @@ public class AIModel {
     private Organization organization;
 
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @BatchSize(size = 100) // Loads the tags of a whole listing page in one query
     @JoinTable(
             name = "ai_model_tags",
             joinColumns = @JoinColumn(name = "ai_model_id"),
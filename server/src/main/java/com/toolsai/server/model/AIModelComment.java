@@ -1,5 +1,6 @@
 package com.toolsai.server.model;
 
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "ai_model_comments")
+@Table(name = "ai_model_comments", indexes = {
+        @Index(name = "idx_ai_model_comments_model_created_at_id", columnList = "ai_model_id, created_at, id"),
+        @Index(name = "idx_ai_model_comments_model_parent_created_at_id",
+                columnList = "ai_model_id, parent_comment_id, created_at, id"),
+        @Index(name = "idx_ai_model_comments_model_wilson_score_id", columnList = "ai_model_id, wilson_score, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +26,7 @@ import java.util.List;
 public class AIModelComment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 2000)
@@ -34,6 +40,16 @@ public class AIModelComment {
     @Builder.Default
     private Integer downvoteCount = 0;
 
+    // Lower bound of the 95% Wilson interval of the upvote share, what the "best" sort orders by
+    @Column(name = "wilson_score")
+    @Builder.Default
+    private Double wilsonScore = 0.0;
+
+    // Live direct replies
+    @Column(name = "reply_count")
+    @Builder.Default
+    private Integer replyCount = 0;
+
     @Column(name = "is_edited")
     @Builder.Default
     private Boolean isEdited = false;
@@ -1,5 +1,6 @@
 package com.toolsai.server.model;
 
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,7 +11,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_model_likes")
+@Table(name = "ai_model_likes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_ai_model_likes_user_model", columnNames = {"user_id", "ai_model_id"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +21,7 @@ import java.time.LocalDateTime;
 public class AIModelLike {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @CreationTimestamp
@@ -1,5 +1,6 @@
 package com.toolsai.server.model;
 
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ai_model_ratings")
+@Table(name = "ai_model_ratings", indexes = {
+        @Index(name = "idx_ai_model_ratings_model_created_at_id", columnList = "ai_model_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +22,7 @@ import java.time.LocalDateTime;
 public class AIModelRating {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
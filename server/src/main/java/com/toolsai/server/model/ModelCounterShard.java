@@ -0,0 +1,39 @@
+package com.toolsai.server.model;
+
+import com.toolsai.server.model.enums.CounterMetric;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One slot of a sharded counter. While a model is sharded, increments to its counter are
+ * spread over the slots instead of its {@code ai_models} row; {@code delta} is what has
+ * not yet been folded back into that row.
+ */
+@Entity
+@Table(name = "model_counter_shards")
+@IdClass(ModelCounterShardId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModelCounterShard {
+
+    @Id
+    @Column(name = "ai_model_id")
+    private Long modelId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private CounterMetric metric;
+
+    @Id
+    private Integer slot;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long delta = 0L;
+}
@@ -0,0 +1,17 @@
+package com.toolsai.server.model;
+
+import com.toolsai.server.model.enums.CounterMetric;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelCounterShardId implements Serializable {
+    private Long modelId;
+    private CounterMetric metric;
+    private Integer slot;
+}
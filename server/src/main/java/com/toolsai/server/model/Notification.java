@@ -1,6 +1,7 @@
 package com.toolsai.server.model;
 
 import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,13 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_receiver_created_at_id", columnList = "receiver_id, created_at, id"),
+        @Index(name = "idx_notifications_receiver_is_read", columnList = "receiver_id, is_read"),
+        @Index(name = "idx_notifications_receiver_updated_at_id", columnList = "receiver_id, updated_at, id"),
+        @Index(name = "idx_notifications_type_created_at", columnList = "type, created_at"),
+        @Index(name = "idx_notifications_receiver_type_subject", columnList = "receiver_id, type, subject_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +27,7 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -43,6 +50,10 @@ public class Notification {
     @Column(columnDefinition = "TEXT") // For JSON data
     private String data;
 
+    // Model the notification is about, set on coalesced notifications
+    @Column(name = "subject_id")
+    private Long subjectId;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
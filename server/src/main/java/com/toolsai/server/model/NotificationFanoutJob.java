@@ -0,0 +1,63 @@
+package com.toolsai.server.model;
+
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.model.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A fan-out job that has not finished, with the last subscriber it reached. The instance in
+ * {@code owner} runs it and keeps extending {@code leaseExpiresAt}; once the lease runs out,
+ * because the instance stopped or died, any instance may claim the job and carry on after
+ * {@code lastReceiverId}.
+ */
+@Entity
+@Table(name = "notification_fanout_jobs", indexes = {
+        @Index(name = "idx_notification_fanout_jobs_owner", columnList = "owner"),
+        @Index(name = "idx_notification_fanout_jobs_lease_expires_at", columnList = "lease_expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationFanoutJob {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "ai_model_id", nullable = false)
+    private Long modelId;
+
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(name = "model_count", nullable = false)
+    private Integer modelCount;
+
+    @Column(name = "last_receiver_id", nullable = false)
+    @Builder.Default
+    private Long lastReceiverId = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long delivered = 0L;
+
+    @Column(name = "queued_at", nullable = false)
+    private LocalDateTime queuedAt;
+
+    @Column(nullable = false, length = 36)
+    private String owner;
+
+    @Column(name = "lease_expires_at", nullable = false)
+    private LocalDateTime leaseExpiresAt;
+}
@@ -1,6 +1,7 @@
 package com.toolsai.server.model;
 
 import com.toolsai.server.model.enums.SubscriptionStatus;
+import com.toolsai.server.model.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,9 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_organization_subscriptions")
+@Table(name = "user_organization_subscriptions", indexes = {
+        @Index(name = "idx_user_org_subscriptions_org_status_user", columnList = "organization_id, status, user_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,7 +23,7 @@ import java.time.LocalDateTime;
 public class UserOrganizationSubscription {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,8 @@
+package com.toolsai.server.model.enums;
+
+public enum CounterMetric {
+    LIKES,
+    COMMENTS,
+    // Existing Postgres schemas need db/counter-metric-top-level-comments.sql to shard this one
+    TOP_LEVEL_COMMENTS
+}
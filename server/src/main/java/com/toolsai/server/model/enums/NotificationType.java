@@ -6,6 +6,8 @@ public enum NotificationType {
     MODEL_RATED,
     MODEL_APPROVED,
     MODEL_REJECTED,
+    MODEL_PUBLISHED,
+    MODEL_UPDATED,
     ORGANIZATION_FOLLOWED,
     SYSTEM_ANNOUNCEMENT,
     SECURITY_ALERT,
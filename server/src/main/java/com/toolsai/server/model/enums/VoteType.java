@@ -0,0 +1,10 @@
+package com.toolsai.server.model.enums;
+
+public enum VoteType {
+    UP,
+    DOWN;
+
+    public VoteType opposite() {
+        return this == UP ? DOWN : UP;
+    }
+}
@@ -0,0 +1,101 @@
+package com.toolsai.server.model.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids: milliseconds since {@link #EPOCH_MILLIS}, then the node id,
+ * then a per-millisecond sequence. The layout is 41 + 5 + 7 bits, so ids stay below
+ * 2^53 and survive JSON clients that parse numbers as doubles.
+ * <p>
+ * Generation is a lock-free CAS on one packed (timestamp, sequence) word and allocates
+ * nothing. If the clock steps backwards, the generator keeps counting from its last
+ * timestamp, so ids never repeat and never go down. When a millisecond's sequence runs
+ * out it waits for the clock rather than borrowing the next millisecond: ids never carry
+ * a timestamp the clock has not reached, so a restarted process cannot reissue them.
+ * After a large backwards step that can mean waiting out the step once 128 ids are used.
+ */
+public final class Snowflake {
+
+    // 2024-01-01T00:00:00Z; well above every IDENTITY value already issued once shifted
+    public static final long EPOCH_MILLIS = 1704067200000L;
+
+    private static final int SEQUENCE_BITS = 7;
+    private static final int NODE_BITS = 5;
+    private static final int TIMESTAMP_BITS = 41;
+
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    private static volatile Snowflake shared;
+
+    private final int nodeId;
+    private final long nodeBits;
+    private final LongSupplier clock;
+    private final AtomicLong state = new AtomicLong();
+
+    public Snowflake(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    Snowflake(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets up the process-wide generator that entity ids and raw batch inserts share.
+     */
+    public static synchronized void configure(int nodeId) {
+        if (shared == null || shared.nodeId != nodeId) {
+            shared = new Snowflake(nodeId);
+        }
+    }
+
+    public static long next() {
+        Snowflake generator = shared;
+        if (generator == null) {
+            throw new IllegalStateException("Snowflake id generator has not been configured");
+        }
+        return generator.nextId();
+    }
+
+    /**
+     * When the id was issued, in milliseconds since the Unix epoch.
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                next = last + 1;
+            } else {
+                // 128 ids this millisecond already; wait for the next one
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                if (timestamp > MAX_TIMESTAMP) {
+                    throw new IllegalStateException("Snowflake timestamp space exhausted");
+                }
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & MAX_SEQUENCE);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.toolsai.server.model.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    /**
+     * Hibernate setting holding this instance's node id (0-31); each instance writing to
+     * the same database needs its own. Set through {@code spring.jpa.properties}.
+     */
+    public static final String NODE_ID_SETTING = "app.id.node-id";
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        Object nodeId = context.getServiceRegistry()
+                .getService(ConfigurationService.class)
+                .getSettings()
+                .get(NODE_ID_SETTING);
+        Snowflake.configure(nodeId == null || nodeId.toString().isBlank() ? 0 : Integer.parseInt(nodeId.toString().trim()));
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return Snowflake.next();
+    }
+}
@@ -5,22 +5,99 @@ import com.toolsai.server.model.AIModelComment;
 import com.toolsai.server.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface AIModelCommentRepository extends JpaRepository<AIModelComment, Long> {
+public interface AIModelCommentRepository extends JpaRepository<AIModelComment, Long>, AIModelCommentRepositoryCustom {
+
+    /**
+     * Lower bound of the 95% Wilson interval (z = 1.96) of the upvote share:
+     * (u + z²/2 - z * sqrt(u * d / n + z²/4)) / (n + z²), and 0 without votes.
+     */
+    String WILSON_SCORE = "CASE WHEN COALESCE(c.upvoteCount, 0) + COALESCE(c.downvoteCount, 0) = 0 THEN 0.0 " +
+            "ELSE (COALESCE(c.upvoteCount, 0) + 1.9208 - 1.96 * SQRT(1.0 * COALESCE(c.upvoteCount, 0) " +
+            "* COALESCE(c.downvoteCount, 0) / (COALESCE(c.upvoteCount, 0) + COALESCE(c.downvoteCount, 0)) + 0.9604)) " +
+            "/ (COALESCE(c.upvoteCount, 0) + COALESCE(c.downvoteCount, 0) + 3.8416) END";
+
     Page<AIModelComment> findByAiModelAndIsDeleted(AIModel aiModel, boolean isDeleted, Pageable pageable);
     Page<AIModelComment> findByUserAndIsDeleted(User user, boolean isDeleted, Pageable pageable);
     List<AIModelComment> findByParentCommentAndIsDeleted(AIModelComment parentComment, boolean isDeleted);
 
+    @Query("SELECT COALESCE(c.replyCount, 0) FROM AIModelComment c WHERE c.id = :id AND c.aiModel.id = :modelId")
+    Optional<Integer> findReplyCount(@Param("id") Long id, @Param("modelId") Long modelId);
+
+    @Modifying
+    @Query("UPDATE AIModelComment c SET c.replyCount = COALESCE(c.replyCount, 0) + :delta WHERE c.id = :id")
+    int addToReplyCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Comments from before the column existed
+    @Modifying
+    @Query(value = "UPDATE ai_model_comments c SET reply_count = (SELECT COUNT(*) FROM ai_model_comments r " +
+            "WHERE r.ai_model_id = c.ai_model_id AND r.parent_comment_id = c.id " +
+            "AND (r.is_deleted IS NULL OR r.is_deleted = FALSE)) " +
+            "WHERE reply_count IS NULL", nativeQuery = true)
+    int backfillReplyCounts();
+
     @Query("SELECT c FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.parentComment IS NULL AND c.isDeleted = false")
     Page<AIModelComment> findTopLevelCommentsByModel(@Param("aiModel") AIModel aiModel, Pageable pageable);
 
+    @Query("SELECT c FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.parentComment IS NULL AND c.isDeleted = false " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<AIModelComment> findTopLevelCommentSliceByModel(@Param("aiModel") AIModel aiModel, Pageable pageable);
+
+    @Query("SELECT c FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.parentComment IS NULL AND c.isDeleted = false " +
+            "AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<AIModelComment> findTopLevelCommentSliceByModelAfter(@Param("aiModel") AIModel aiModel,
+                                                               @Param("createdAt") LocalDateTime createdAt,
+                                                               @Param("id") Long id,
+                                                               Pageable pageable);
+
     @Query("SELECT COUNT(c) FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.isDeleted = false")
     long countByAiModelAndNotDeleted(@Param("aiModel") AIModel aiModel);
-}
\ No newline at end of file
+
+    // Only the call that actually flips the flag gets 1 back, so the count drops exactly once
+    @Modifying
+    @Query("UPDATE AIModelComment c SET c.isDeleted = true, c.updatedAt = :now " +
+            "WHERE c.id = :id AND (c.isDeleted = false OR c.isDeleted IS NULL)")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Query("SELECT c FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.parentComment IS NULL AND c.isDeleted = false " +
+            "ORDER BY c.wilsonScore DESC, c.id DESC")
+    Slice<AIModelComment> findBestTopLevelCommentSliceByModel(@Param("aiModel") AIModel aiModel, Pageable pageable);
+
+    @Query("SELECT c FROM AIModelComment c WHERE c.aiModel = :aiModel AND c.parentComment IS NULL AND c.isDeleted = false " +
+            "AND c.wilsonScore <= :score AND (c.wilsonScore < :score OR c.id < :id) " +
+            "ORDER BY c.wilsonScore DESC, c.id DESC")
+    Slice<AIModelComment> findBestTopLevelCommentSliceByModelAfter(@Param("aiModel") AIModel aiModel,
+                                                                   @Param("score") double score,
+                                                                   @Param("id") Long id,
+                                                                   Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE AIModelComment c SET c.upvoteCount = COALESCE(c.upvoteCount, 0) + :upDelta, " +
+            "c.downvoteCount = COALESCE(c.downvoteCount, 0) + :downDelta WHERE c.id = :id")
+    int addToVoteCounts(@Param("id") Long id, @Param("upDelta") int upDelta, @Param("downDelta") int downDelta);
+
+    /**
+     * Recomputes the Wilson score from the stored counts. Runs after {@link #addToVoteCounts}
+     * in the same transaction, whose row lock keeps the counts from changing in between.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AIModelComment c SET c.wilsonScore = " + WILSON_SCORE + " WHERE c.id = :id")
+    int updateWilsonScore(@Param("id") Long id);
+
+    // Comments from before the column existed
+    @Modifying
+    @Query("UPDATE AIModelComment c SET c.wilsonScore = " + WILSON_SCORE + " WHERE c.wilsonScore IS NULL")
+    int backfillWilsonScores();
+}
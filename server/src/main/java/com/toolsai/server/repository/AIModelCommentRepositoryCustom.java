@@ -0,0 +1,11 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.repository.projection.CommentTreeRow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AIModelCommentRepositoryCustom {
+    List<CommentTreeRow> findThread(Long modelId, Long parentCommentId, LocalDateTime afterCreatedAt, Long afterId,
+                                    int limit, int depth);
+}
@@ -0,0 +1,116 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.repository.projection.CommentTreeRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class AIModelCommentRepositoryCustomImpl implements AIModelCommentRepositoryCustom {
+
+    private static final String COLUMNS = "id, parent_comment_id, user_id, content, upvote_count, downvote_count, " +
+            "is_edited, reply_count, created_at, updated_at";
+
+    private static final String REPLY_COLUMNS = "r.id, r.parent_comment_id, r.user_id, r.content, r.upvote_count, " +
+            "r.downvote_count, r.is_edited, r.reply_count, r.created_at, r.updated_at";
+
+    private static final String LIVE = "(c.is_deleted IS NULL OR c.is_deleted = FALSE)";
+
+    // The first replies of one thread row, oldest first, read off the (model, parent, created_at, id) index
+    private static final String FIRST_REPLIES = "SELECT %s FROM ai_model_comments c " +
+            "WHERE c.ai_model_id = %d AND c.parent_comment_id = t.id AND " + LIVE + " " +
+            "ORDER BY c.created_at, c.id LIMIT %d";
+
+    // H2 has no LATERAL, so there the same replies are picked by id
+    private static final String REPLIES_LATERAL = "CROSS JOIN LATERAL (" + FIRST_REPLIES + ") r";
+    private static final String REPLIES_BY_ID = "JOIN ai_model_comments r " +
+            "ON r.parent_comment_id = t.id AND r.id IN (" + FIRST_REPLIES + ")";
+
+    /*
+     * The requested level is one keyset page, plus one comment to tell whether there are more;
+     * only the page itself is expanded. Each level below takes the first replies of the rows
+     * above it, so no comment outside the returned tree is read or ranked.
+     */
+    private static final String THREAD = "WITH RECURSIVE thread (" + COLUMNS + ", position, depth) AS (" +
+            "SELECT " + COLUMNS + ", CAST(ROW_NUMBER() OVER (ORDER BY created_at %1$s, id %1$s) AS INT), 1 FROM (" +
+            "SELECT " + COLUMNS + " FROM ai_model_comments c " +
+            "WHERE c.ai_model_id = %2$d AND %3$s AND " + LIVE + "%4$s " +
+            "ORDER BY c.created_at %1$s, c.id %1$s LIMIT %5$d" +
+            ") page " +
+            "UNION ALL " +
+            "SELECT " + REPLY_COLUMNS + ", 0, t.depth + 1 FROM thread t %6$s " +
+            "WHERE t.depth < %7$d AND t.position <= %8$d" +
+            ") " +
+            "SELECT " + COLUMNS + ", depth FROM thread ORDER BY depth, position, created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Loads a page of comments under {@code parentCommentId} (top-level comments, newest
+     * first, when null; replies oldest first otherwise) starting after the given position,
+     * and below each the first {@code limit} replies per comment down to {@code depth}
+     * levels, in one statement. Rows come parents first and in display order within each
+     * parent. One more comment of the requested level than {@code limit} is returned when
+     * there is one, without its replies. Deleted comments are left out together with their
+     * replies.
+     */
+    @Override
+    public List<CommentTreeRow> findThread(Long modelId, Long parentCommentId, LocalDateTime afterCreatedAt,
+                                           Long afterId, int limit, int depth) {
+        // Only numbers and a parsed timestamp go in, and inlined: H2 mishandles bind parameters
+        // inside recursive queries
+        String levelFilter = parentCommentId == null
+                ? "c.parent_comment_id IS NULL"
+                : "c.parent_comment_id = " + parentCommentId.longValue();
+        String direction = parentCommentId == null ? "DESC" : "ASC";
+        String keyset = "";
+        if (afterCreatedAt != null) {
+            String comparison = parentCommentId == null ? "<" : ">";
+            String createdAt = "TIMESTAMP '" + Timestamp.valueOf(afterCreatedAt) + "'";
+            keyset = String.format(" AND c.created_at %1$s= %2$s AND (c.created_at %1$s %2$s OR c.id %1$s %3$d)",
+                    comparison, createdAt, afterId.longValue());
+        }
+        String replies = String.format(isPostgres() ? REPLIES_LATERAL : REPLIES_BY_ID,
+                isPostgres() ? COLUMNS : "c.id", modelId.longValue(), limit);
+        String sql = String.format(THREAD,
+                direction, modelId.longValue(), levelFilter, keyset, limit + 1, replies, depth, limit);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toRow(rs));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    private static CommentTreeRow toRow(ResultSet rs) throws SQLException {
+        long parentId = rs.getLong("parent_comment_id");
+        Long parentCommentId = rs.wasNull() ? null : parentId;
+        return new CommentTreeRow(
+                rs.getLong("id"),
+                parentCommentId,
+                rs.getLong("user_id"),
+                rs.getString("content"),
+                rs.getInt("upvote_count"),
+                rs.getInt("downvote_count"),
+                rs.getBoolean("is_edited"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                rs.getInt("depth"),
+                rs.getInt("reply_count"));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
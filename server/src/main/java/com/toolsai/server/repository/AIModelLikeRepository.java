@@ -4,19 +4,37 @@ import com.toolsai.server.model.AIModel;
 import com.toolsai.server.model.AIModelLike;
 import com.toolsai.server.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AIModelLikeRepository extends JpaRepository<AIModelLike, Long> {
     Optional<AIModelLike> findByUserAndAiModel(User user, AIModel aiModel);
     boolean existsByUserAndAiModel(User user, AIModel aiModel);
+    boolean existsByUserIdAndAiModelId(Long userId, Long modelId);
+
+    @Query("SELECT l.aiModel.id FROM AIModelLike l WHERE l.user.id = :userId")
+    List<Long> findModelIdsByUserId(@Param("userId") Long userId);
 
     @Query("SELECT COUNT(l) FROM AIModelLike l WHERE l.aiModel = :aiModel")
     long countByAiModel(@Param("aiModel") AIModel aiModel);
 
-    void deleteByUserAndAiModel(User user, AIModel aiModel);
+    @Modifying
+    @Query("DELETE FROM AIModelLike l WHERE l.user.id = :userId AND l.aiModel.id = :modelId")
+    int deleteByUserIdAndModelId(@Param("userId") Long userId, @Param("modelId") Long modelId);
+
+    /**
+     * Returns 0 when the user already likes the model, relying on the (user, model) unique key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ai_model_likes (id, user_id, ai_model_id, created_at) " +
+            "VALUES (:id, :userId, :modelId, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("userId") Long userId, @Param("modelId") Long modelId,
+                       @Param("now") LocalDateTime now);
 }
\ No newline at end of file
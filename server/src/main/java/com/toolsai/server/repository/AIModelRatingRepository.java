@@ -3,26 +3,43 @@ package com.toolsai.server.repository;
 import com.toolsai.server.model.AIModel;
 import com.toolsai.server.model.AIModelRating;
 import com.toolsai.server.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface AIModelRatingRepository extends JpaRepository<AIModelRating, Long> {
     Optional<AIModelRating> findByUserAndAiModel(User user, AIModel aiModel);
+
+    // Locked so concurrent edits of one rating apply their star deltas one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AIModelRating r WHERE r.user = :user AND r.aiModel = :aiModel")
+    Optional<AIModelRating> findForUpdateByUserAndAiModel(@Param("user") User user, @Param("aiModel") AIModel aiModel);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM AIModelRating r WHERE r.id = :id")
+    Optional<AIModelRating> findForUpdateById(@Param("id") Long id);
+
     Page<AIModelRating> findByAiModel(AIModel aiModel, Pageable pageable);
-    Page<AIModelRating> findByUser(User user, Pageable pageable);
 
-    @Query("SELECT AVG(r.rating) FROM AIModelRating r WHERE r.aiModel = :aiModel")
-    BigDecimal findAverageRatingByAiModel(@Param("aiModel") AIModel aiModel);
+    @Query("SELECT r FROM AIModelRating r WHERE r.aiModel = :aiModel ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<AIModelRating> findSliceByAiModel(@Param("aiModel") AIModel aiModel, Pageable pageable);
 
-    @Query("SELECT COUNT(r) FROM AIModelRating r WHERE r.aiModel = :aiModel")
-    long countByAiModel(@Param("aiModel") AIModel aiModel);
+    @Query("SELECT r FROM AIModelRating r WHERE r.aiModel = :aiModel " +
+            "AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<AIModelRating> findSliceByAiModelAfter(@Param("aiModel") AIModel aiModel,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+    Page<AIModelRating> findByUser(User user, Pageable pageable);
 }
-
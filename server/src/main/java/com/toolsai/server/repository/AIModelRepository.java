@@ -7,44 +7,183 @@ import com.toolsai.server.model.enums.ModelStatus;
 import com.toolsai.server.model.enums.PricingType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AIModelRepository extends JpaRepository<AIModel, Long> {
+public interface AIModelRepository extends JpaRepository<AIModel, Long>, AIModelRepositoryCustom {
+
+    // Rating aggregates recomputed from the ratings table, for rows without running aggregates
+    String RECOMPUTE_RATING_AGGREGATES = "UPDATE ai_models SET " +
+            "rating_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id), " +
+            "rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id), " +
+            "rating_1_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id AND r.rating = 1), " +
+            "rating_2_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id AND r.rating = 2), " +
+            "rating_3_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id AND r.rating = 3), " +
+            "rating_4_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id AND r.rating = 4), " +
+            "rating_5_count = (SELECT COUNT(*) FROM ai_model_ratings r WHERE r.ai_model_id = ai_models.id AND r.rating = 5), " +
+            "average_rating = (SELECT ROUND(AVG(CAST(r.rating AS NUMERIC(10, 4))), 2) FROM ai_model_ratings r " +
+            "WHERE r.ai_model_id = ai_models.id) ";
+
     Optional<AIModel> findByModelSlug(String modelSlug);
 
+    @EntityGraph(attributePaths = {"organization", "tags"})
+    Optional<AIModel> findWithDetailsById(Long id);
+
+    @EntityGraph(attributePaths = {"organization", "tags"})
+    Optional<AIModel> findWithDetailsByModelSlug(String modelSlug);
+
+    @Override
+    @EntityGraph(attributePaths = "organization")
+    Page<AIModel> findAll(Pageable pageable);
+
+    @EntityGraph(attributePaths = "organization")
+    @Query("SELECT m FROM AIModel m ORDER BY m.createdAt DESC, m.id DESC")
+    Slice<AIModel> findFirstSlice(Pageable pageable);
+
+    @EntityGraph(attributePaths = "organization")
+    @Query("SELECT m FROM AIModel m WHERE m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.id < :id) " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    Slice<AIModel> findSliceAfter(@Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  Pageable pageable);
+
     List<AIModel> findByOrganization(Organization organization);
+
+    @EntityGraph(attributePaths = {"organization", "tags"})
+    List<AIModel> findWithDetailsByOrganizationId(Long organizationId);
     Page<AIModel> findByOrganizationAndModelStatus(Organization organization, ModelStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = "organization")
     Page<AIModel> findByModelCategory(ModelCategory category, Pageable pageable);
+
+    @EntityGraph(attributePaths = "organization")
     Page<AIModel> findByPricingType(PricingType pricingType, Pageable pageable);
+
+    @EntityGraph(attributePaths = "organization")
     Page<AIModel> findByModelStatus(ModelStatus status, Pageable pageable);
+
+    @EntityGraph(attributePaths = "organization")
     Page<AIModel> findByIsFeatured(boolean isFeatured, Pageable pageable);
 
-    @Query("SELECT m FROM AIModel m WHERE m.modelName LIKE %:query% OR m.modelDescription LIKE %:query%")
-    Page<AIModel> searchModels(@Param("query") String query, Pageable pageable);
+    @EntityGraph(attributePaths = "organization")
+    List<AIModel> findByIdIn(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"organization", "tags"})
+    List<AIModel> findWithDetailsByIdIn(Collection<? extends Long> ids);
 
+    @EntityGraph(attributePaths = "organization")
     @Query("SELECT m FROM AIModel m WHERE m.modelPrice BETWEEN :minPrice AND :maxPrice")
     Page<AIModel> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
                                    @Param("maxPrice") BigDecimal maxPrice,
                                    Pageable pageable);
 
-    @Query("SELECT m FROM AIModel m ORDER BY m.viewCount DESC")
-    List<AIModel> findMostViewedModels(Pageable pageable);
+    @Query("SELECT COUNT(m) FROM AIModel m WHERE m.organization = :organization AND m.modelStatus = 'ACTIVE'")
+    long countActiveModelsByOrganization(@Param("organization") Organization organization);
+
+    // Counter updates run as single statements so concurrent writers never lose increments
+    @Modifying
+    @Query("UPDATE AIModel m SET m.likeCount = COALESCE(m.likeCount, 0) + :delta, m.updatedAt = :now WHERE m.id = :id")
+    int addToLikeCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 
-    @Query("SELECT m FROM AIModel m ORDER BY m.likeCount DESC")
-    List<AIModel> findMostLikedModels(Pageable pageable);
+    @Modifying
+    @Query("UPDATE AIModel m SET m.commentCount = COALESCE(m.commentCount, 0) + :delta, m.updatedAt = :now " +
+            "WHERE m.id = :id")
+    int addToCommentCount(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
 
-    @Query("SELECT m FROM AIModel m ORDER BY m.averageRating DESC NULLS LAST")
-    List<AIModel> findTopRatedModels(Pageable pageable);
+    // Always moves together with the comment count, which already bumps updatedAt
+    @Modifying
+    @Query("UPDATE AIModel m SET m.topLevelCommentCount = COALESCE(m.topLevelCommentCount, 0) + :delta WHERE m.id = :id")
+    int addToTopLevelCommentCount(@Param("id") Long id, @Param("delta") int delta);
 
-    @Query("SELECT COUNT(m) FROM AIModel m WHERE m.organization = :organization AND m.modelStatus = 'ACTIVE'")
-    long countActiveModelsByOrganization(@Param("organization") Organization organization);
-}
\ No newline at end of file
+    @Query("SELECT COALESCE(m.topLevelCommentCount, 0) FROM AIModel m WHERE m.id = :id")
+    Optional<Integer> findTopLevelCommentCount(@Param("id") Long id);
+
+    // Models from before the column existed
+    @Modifying
+    @Query(value = "UPDATE ai_models m SET top_level_comment_count = (SELECT COUNT(*) FROM ai_model_comments c " +
+            "WHERE c.ai_model_id = m.id AND c.parent_comment_id IS NULL " +
+            "AND (c.is_deleted IS NULL OR c.is_deleted = FALSE)) " +
+            "WHERE top_level_comment_count IS NULL", nativeQuery = true)
+    int backfillTopLevelCommentCounts();
+
+    /**
+     * Applies one rating change in a single statement: {@code oldStars} is taken out and
+     * {@code newStars} put in, 0 meaning none. Count, sum, histogram, average and Bayesian
+     * rating all move together. Returns 0 for a model whose aggregates have not been
+     * backfilled yet.
+     */
+    @Modifying
+    @Query("UPDATE AIModel m SET " +
+            "m.ratingCount = m.ratingCount + :countDelta, " +
+            "m.ratingSum = m.ratingSum + :newStars - :oldStars, " +
+            "m.rating1Count = m.rating1Count + (CASE WHEN :newStars = 1 THEN 1 ELSE 0 END) " +
+            "- (CASE WHEN :oldStars = 1 THEN 1 ELSE 0 END), " +
+            "m.rating2Count = m.rating2Count + (CASE WHEN :newStars = 2 THEN 1 ELSE 0 END) " +
+            "- (CASE WHEN :oldStars = 2 THEN 1 ELSE 0 END), " +
+            "m.rating3Count = m.rating3Count + (CASE WHEN :newStars = 3 THEN 1 ELSE 0 END) " +
+            "- (CASE WHEN :oldStars = 3 THEN 1 ELSE 0 END), " +
+            "m.rating4Count = m.rating4Count + (CASE WHEN :newStars = 4 THEN 1 ELSE 0 END) " +
+            "- (CASE WHEN :oldStars = 4 THEN 1 ELSE 0 END), " +
+            "m.rating5Count = m.rating5Count + (CASE WHEN :newStars = 5 THEN 1 ELSE 0 END) " +
+            "- (CASE WHEN :oldStars = 5 THEN 1 ELSE 0 END), " +
+            "m.averageRating = CASE WHEN m.ratingCount + :countDelta > 0 " +
+            "THEN ROUND(CAST(m.ratingSum + :newStars - :oldStars AS BigDecimal) / (m.ratingCount + :countDelta), 2) " +
+            "ELSE NULL END, " +
+            "m.bayesianRating = CASE WHEN m.ratingCount + :countDelta > 0 " +
+            "THEN (:priorWeight * :priorMean + m.ratingSum + :newStars - :oldStars) " +
+            "/ (:priorWeight + m.ratingCount + :countDelta) ELSE NULL END, " +
+            "m.updatedAt = :now " +
+            "WHERE m.id = :id AND m.ratingSum IS NOT NULL")
+    int applyRatingChange(@Param("id") Long id, @Param("oldStars") int oldStars, @Param("newStars") int newStars,
+                          @Param("countDelta") int countDelta, @Param("priorMean") double priorMean,
+                          @Param("priorWeight") double priorWeight, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = RECOMPUTE_RATING_AGGREGATES + "WHERE id = :id", nativeQuery = true)
+    int recomputeRatingAggregates(@Param("id") Long id);
+
+    // Models from before the running aggregates existed
+    @Modifying
+    @Query(value = RECOMPUTE_RATING_AGGREGATES + "WHERE rating_sum IS NULL", nativeQuery = true)
+    int backfillRatingAggregates();
+
+    @Modifying
+    @Query("UPDATE AIModel m SET m.bayesianRating = CASE WHEN m.ratingCount > 0 " +
+            "THEN (:priorWeight * :priorMean + m.ratingSum) / (:priorWeight + m.ratingCount) ELSE NULL END " +
+            "WHERE m.id = :id AND m.ratingSum IS NOT NULL")
+    int updateBayesianRating(@Param("id") Long id, @Param("priorMean") double priorMean,
+                             @Param("priorWeight") double priorWeight);
+
+    // Rewrites every rated model's score once the prior moved
+    @Modifying
+    @Query("UPDATE AIModel m SET m.bayesianRating = CASE WHEN m.ratingCount > 0 " +
+            "THEN (:priorWeight * :priorMean + m.ratingSum) / (:priorWeight + m.ratingCount) ELSE NULL END " +
+            "WHERE m.ratingSum IS NOT NULL")
+    int updateAllBayesianRatings(@Param("priorMean") double priorMean, @Param("priorWeight") double priorWeight);
+
+    // Total sum and count of all ratings, as [sum, count]
+    @Query("SELECT COALESCE(SUM(m.ratingSum), 0), COALESCE(SUM(m.ratingCount), 0) FROM AIModel m " +
+            "WHERE m.ratingSum IS NOT NULL")
+    List<Object[]> sumAllRatings();
+
+    // Both walk an index on bayesian_rating backwards and stop after the page
+    @Query("SELECT m.id FROM AIModel m WHERE m.bayesianRating IS NOT NULL " +
+            "ORDER BY m.bayesianRating DESC, m.id DESC")
+    List<Long> findTopRatedIds(Pageable pageable);
+
+    @Query("SELECT m.id FROM AIModel m WHERE m.modelCategory = :category AND m.bayesianRating IS NOT NULL " +
+            "ORDER BY m.bayesianRating DESC, m.id DESC")
+    List<Long> findTopRatedIdsByCategory(@Param("category") ModelCategory category, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.service.search.ModelFacets;
+import com.toolsai.server.service.search.ModelSearchDocument;
+import com.toolsai.server.service.trending.ModelScores;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface AIModelRepositoryCustom {
+    int[] incrementViewCounts(Map<Long, Long> viewDeltas);
+
+    void streamSearchDocuments(Consumer<ModelSearchDocument> consumer);
+
+    void streamModelFacets(Consumer<ModelFacets> consumer);
+
+    void streamModelScores(Consumer<ModelScores> consumer);
+
+    Map<String, Long> findIdsBySlugs(Collection<String> slugs);
+
+    void insertModels(List<AIModel> models);
+
+    void insertModelTags(Map<Long, ? extends Collection<Long>> tagIdsByModelId);
+}
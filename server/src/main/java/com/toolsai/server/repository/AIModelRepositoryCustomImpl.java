@@ -0,0 +1,248 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.service.search.ModelFacets;
+import com.toolsai.server.service.search.ModelSearchDocument;
+import com.toolsai.server.service.trending.ModelScores;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class AIModelRepositoryCustomImpl implements AIModelRepositoryCustom {
+
+    private static final int SCAN_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] incrementViewCounts(Map<Long, Long> viewDeltas) {
+        List<Object[]> batchArgs = new ArrayList<>(viewDeltas.size());
+        viewDeltas.forEach((modelId, delta) -> batchArgs.add(new Object[]{delta, modelId}));
+        return jdbcTemplate.batchUpdate(
+                "UPDATE ai_models SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?", batchArgs);
+    }
+
+    /**
+     * Streams every searchable model with its organization and tag names in one pass.
+     * Rows arrive one per (model, tag) ordered by model id and are folded into documents
+     * as they go. Postgres only streams with a fetch size inside a transaction.
+     */
+    @Override
+    public void streamSearchDocuments(Consumer<ModelSearchDocument> consumer) {
+        String sql = "SELECT m.id, m.model_name, m.model_description, o.org_name, t.name AS tag_name " +
+                "FROM ai_models m " +
+                "JOIN organizations o ON o.id = m.organization_id " +
+                "LEFT JOIN ai_model_tags mt ON mt.ai_model_id = m.id " +
+                "LEFT JOIN tags t ON t.id = mt.tag_id " +
+                "WHERE m.model_status IS NULL OR m.model_status <> 'INACTIVE' " +
+                "ORDER BY m.id";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            foldSearchDocuments(rs, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Same single streamed pass as {@link #streamSearchDocuments}, for the facet attributes.
+     */
+    @Override
+    public void streamModelFacets(Consumer<ModelFacets> consumer) {
+        String sql = "SELECT m.id, m.model_category, m.pricing_type, m.model_status, m.is_featured, t.slug AS tag_slug " +
+                "FROM ai_models m " +
+                "LEFT JOIN ai_model_tags mt ON mt.ai_model_id = m.id " +
+                "LEFT JOIN tags t ON t.id = mt.tag_id " +
+                "ORDER BY m.id";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            foldModelFacets(rs, consumer);
+            return null;
+        });
+    }
+
+    @Override
+    public void streamModelScores(Consumer<ModelScores> consumer) {
+        // Deleted models are kept as INACTIVE rows but do not trend
+        String sql = "SELECT id, model_category, view_count, like_count FROM ai_models " +
+                "WHERE model_status IS NULL OR model_status <> 'INACTIVE'";
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            consumer.accept(new ModelScores(
+                    rs.getLong("id"),
+                    enumValue(ModelCategory.class, rs.getString("model_category")),
+                    rs.getLong("view_count"),
+                    rs.getLong("like_count")));
+        });
+    }
+
+    @Override
+    public Map<String, Long> findIdsBySlugs(Collection<String> slugs) {
+        Map<String, Long> ids = new HashMap<>();
+        if (slugs.isEmpty()) {
+            return ids;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(slugs.size(), "?"));
+        jdbcTemplate.query("SELECT id, model_slug FROM ai_models WHERE model_slug IN (" + placeholders + ")",
+                (ResultSet rs) -> {
+                    ids.put(rs.getString("model_slug"), rs.getLong("id"));
+                }, slugs.toArray());
+        return ids;
+    }
+
+    /**
+     * Inserts models, ids already assigned, in one JDBC batch.
+     */
+    @Override
+    public void insertModels(List<AIModel> models) {
+        String sql = "INSERT INTO ai_models (id, model_name, model_slug, model_description, model_version, " +
+                "model_category, pricing_type, model_price, currency, pricing_unit, api_url, documentation_url, " +
+                "model_image_url, model_status, is_featured, like_count, comment_count, view_count, rating_count, " +
+                "rating_sum, rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count, " +
+                "organization_id, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int[] argTypes = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, Types.DECIMAL, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+                Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.INTEGER, Types.INTEGER, Types.BIGINT, Types.INTEGER,
+                Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+                Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+
+        List<Object[]> batchArgs = new ArrayList<>(models.size());
+        for (AIModel model : models) {
+            batchArgs.add(new Object[]{
+                    model.getId(),
+                    model.getModelName(),
+                    model.getModelSlug(),
+                    model.getModelDescription(),
+                    model.getModelVersion(),
+                    enumName(model.getModelCategory()),
+                    enumName(model.getPricingType()),
+                    model.getModelPrice(),
+                    model.getCurrency(),
+                    model.getPricingUnit(),
+                    model.getApiUrl(),
+                    model.getDocumentationUrl(),
+                    model.getModelImageUrl(),
+                    enumName(model.getModelStatus()),
+                    model.getIsFeatured(),
+                    model.getLikeCount(),
+                    model.getCommentCount(),
+                    model.getViewCount(),
+                    model.getRatingCount(),
+                    model.getRatingSum(),
+                    model.getRating1Count(),
+                    model.getRating2Count(),
+                    model.getRating3Count(),
+                    model.getRating4Count(),
+                    model.getRating5Count(),
+                    model.getOrganization().getId(),
+                    Timestamp.valueOf(model.getCreatedAt()),
+                    Timestamp.valueOf(model.getUpdatedAt())});
+        }
+        jdbcTemplate.batchUpdate(sql, batchArgs, argTypes);
+    }
+
+    @Override
+    public void insertModelTags(Map<Long, ? extends Collection<Long>> tagIdsByModelId) {
+        List<Object[]> batchArgs = new ArrayList<>();
+        tagIdsByModelId.forEach((modelId, tagIds) -> tagIds.forEach(tagId -> batchArgs.add(new Object[]{modelId, tagId})));
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO ai_model_tags (ai_model_id, tag_id) VALUES (?, ?)", batchArgs);
+        }
+    }
+
+    private static void foldSearchDocuments(ResultSet rs, Consumer<ModelSearchDocument> consumer) throws SQLException {
+        long currentId = -1;
+        String modelName = null;
+        String modelDescription = null;
+        String organizationName = null;
+        List<String> tagNames = new ArrayList<>();
+
+        while (rs.next()) {
+            long id = rs.getLong("id");
+            if (id != currentId) {
+                if (currentId >= 0) {
+                    consumer.accept(new ModelSearchDocument(currentId, modelName, modelDescription, organizationName, tagNames));
+                }
+                currentId = id;
+                modelName = rs.getString("model_name");
+                modelDescription = rs.getString("model_description");
+                organizationName = rs.getString("org_name");
+                tagNames = new ArrayList<>();
+            }
+            String tagName = rs.getString("tag_name");
+            if (tagName != null) {
+                tagNames.add(tagName);
+            }
+        }
+        if (currentId >= 0) {
+            consumer.accept(new ModelSearchDocument(currentId, modelName, modelDescription, organizationName, tagNames));
+        }
+    }
+
+    private static void foldModelFacets(ResultSet rs, Consumer<ModelFacets> consumer) throws SQLException {
+        long currentId = -1;
+        ModelCategory category = null;
+        PricingType pricingType = null;
+        ModelStatus status = null;
+        boolean featured = false;
+        List<String> tagSlugs = new ArrayList<>();
+
+        while (rs.next()) {
+            long id = rs.getLong("id");
+            if (id != currentId) {
+                if (currentId >= 0) {
+                    consumer.accept(new ModelFacets(currentId, category, pricingType, status, featured, tagSlugs));
+                }
+                currentId = id;
+                category = enumValue(ModelCategory.class, rs.getString("model_category"));
+                pricingType = enumValue(PricingType.class, rs.getString("pricing_type"));
+                status = enumValue(ModelStatus.class, rs.getString("model_status"));
+                featured = rs.getBoolean("is_featured");
+                tagSlugs = new ArrayList<>();
+            }
+            String tagSlug = rs.getString("tag_slug");
+            if (tagSlug != null) {
+                tagSlugs.add(tagSlug);
+            }
+        }
+        if (currentId >= 0) {
+            consumer.accept(new ModelFacets(currentId, category, pricingType, status, featured, tagSlugs));
+        }
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.toolsai.server.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Forward-only scans over whole tables in id order for the NDJSON exports. Each scan
+ * starts after a given id so an interrupted export can resume where it stopped.
+ * Postgres only streams with a fetch size inside a transaction, so callers hold one open.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CatalogExportRepository {
+
+    private static final String MODELS_SQL = "SELECT m.id, m.model_name, m.model_slug, m.model_description, " +
+            "m.model_version, m.model_category, m.pricing_type, m.model_price, m.currency, m.pricing_unit, " +
+            "m.api_url, m.documentation_url, m.model_image_url, m.model_status, m.is_featured, m.like_count, " +
+            "m.comment_count, m.view_count, m.average_rating, m.rating_count, m.organization_id, " +
+            "m.created_at, m.updated_at, t.slug AS tag_slugs " +
+            "FROM ai_models m " +
+            "LEFT JOIN ai_model_tags mt ON mt.ai_model_id = m.id " +
+            "LEFT JOIN tags t ON t.id = mt.tag_id " +
+            "WHERE m.id > ? " +
+            "ORDER BY m.id";
+
+    private static final String RATINGS_SQL = "SELECT id, ai_model_id, user_id, rating, review, created_at, updated_at " +
+            "FROM ai_model_ratings " +
+            "WHERE id > ? " +
+            "ORDER BY id";
+
+    private static final String COMMENTS_SQL = "SELECT id, ai_model_id, user_id, parent_comment_id, content, " +
+            "upvote_count, downvote_count, is_edited, created_at, updated_at " +
+            "FROM ai_model_comments " +
+            "WHERE id > ? AND (is_deleted IS NULL OR is_deleted = FALSE) " +
+            "ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Streams models one row per (model, tag); the tag slug column is {@code tag_slugs}.
+     */
+    public void streamModels(long afterId, RowCallbackHandler handler) {
+        stream(MODELS_SQL, afterId, handler);
+    }
+
+    public void streamRatings(long afterId, RowCallbackHandler handler) {
+        stream(RATINGS_SQL, afterId, handler);
+    }
+
+    public void streamComments(long afterId, RowCallbackHandler handler) {
+        stream(COMMENTS_SQL, afterId, handler);
+    }
+
+    private void stream(String sql, long afterId, RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, afterId);
+            return statement;
+        }, handler);
+    }
+}
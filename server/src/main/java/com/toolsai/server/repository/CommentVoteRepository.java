@@ -0,0 +1,36 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.CommentVote;
+import com.toolsai.server.model.enums.VoteType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// Every write is one conditional statement; its row count says how the vote counters move
+@Repository
+public interface CommentVoteRepository extends JpaRepository<CommentVote, Long> {
+
+    /**
+     * Returns 0 when the user already voted on the comment, relying on the (user, comment) unique key.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO comment_votes (id, user_id, comment_id, vote_type, created_at) " +
+            "VALUES (:id, :userId, :commentId, :voteType, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("id") Long id, @Param("userId") Long userId, @Param("commentId") Long commentId,
+                       @Param("voteType") String voteType, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE CommentVote v SET v.voteType = :to " +
+            "WHERE v.user.id = :userId AND v.comment.id = :commentId AND v.voteType = :from")
+    int changeVoteType(@Param("userId") Long userId, @Param("commentId") Long commentId,
+                       @Param("from") VoteType from, @Param("to") VoteType to);
+
+    @Modifying
+    @Query("DELETE FROM CommentVote v WHERE v.user.id = :userId AND v.comment.id = :commentId AND v.voteType = :voteType")
+    int deleteVote(@Param("userId") Long userId, @Param("commentId") Long commentId,
+                   @Param("voteType") VoteType voteType);
+}
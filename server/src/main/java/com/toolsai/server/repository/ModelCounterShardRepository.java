@@ -0,0 +1,51 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.ModelCounterShard;
+import com.toolsai.server.model.ModelCounterShardId;
+import com.toolsai.server.model.enums.CounterMetric;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ModelCounterShardRepository extends JpaRepository<ModelCounterShard, ModelCounterShardId> {
+
+    // Another instance may have promoted the same model already; its slots are kept as they are
+    @Modifying
+    @Query(value = "INSERT INTO model_counter_shards (ai_model_id, metric, slot, delta) " +
+            "VALUES (:modelId, :metric, :slot, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertSlotIfAbsent(@Param("modelId") Long modelId, @Param("metric") String metric, @Param("slot") int slot);
+
+    @Modifying
+    @Query("UPDATE ModelCounterShard s SET s.delta = s.delta + :delta " +
+            "WHERE s.modelId = :modelId AND s.metric = :metric AND s.slot = :slot")
+    int addToSlot(@Param("modelId") Long modelId,
+                  @Param("metric") CounterMetric metric,
+                  @Param("slot") int slot,
+                  @Param("delta") long delta);
+
+    @Query("SELECT s.metric, SUM(s.delta) FROM ModelCounterShard s WHERE s.modelId = :modelId GROUP BY s.metric")
+    List<Object[]> sumDeltasByMetric(@Param("modelId") Long modelId);
+
+    // Blocks writers to these slots until the fold commits, so no increment slips between read and reset
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ModelCounterShard s WHERE s.modelId = :modelId")
+    List<ModelCounterShard> findAllByModelIdForUpdate(@Param("modelId") Long modelId);
+
+    @Query("SELECT DISTINCT s.modelId FROM ModelCounterShard s")
+    List<Long> findShardedModelIds();
+
+    @Modifying
+    @Query("UPDATE ModelCounterShard s SET s.delta = 0 WHERE s.modelId = :modelId")
+    int resetByModelId(@Param("modelId") Long modelId);
+
+    @Modifying
+    @Query("DELETE FROM ModelCounterShard s WHERE s.modelId = :modelId")
+    int deleteByModelId(@Param("modelId") Long modelId);
+}
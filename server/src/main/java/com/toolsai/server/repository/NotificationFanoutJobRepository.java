@@ -0,0 +1,41 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.NotificationFanoutJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationFanoutJobRepository extends JpaRepository<NotificationFanoutJob, Long> {
+
+    // Only the owner moves the cursor, so an instance that lost its lease cannot deliver a chunk twice
+    @Modifying
+    @Query("UPDATE NotificationFanoutJob j SET j.lastReceiverId = :lastReceiverId, j.delivered = :delivered " +
+            "WHERE j.id = :id AND j.owner = :owner")
+    int advance(@Param("id") Long id, @Param("owner") String owner,
+                @Param("lastReceiverId") Long lastReceiverId, @Param("delivered") long delivered);
+
+    @Modifying
+    @Query("DELETE FROM NotificationFanoutJob j WHERE j.id = :id AND j.owner = :owner")
+    int deleteOwned(@Param("id") Long id, @Param("owner") String owner);
+
+    @Modifying
+    @Query("UPDATE NotificationFanoutJob j SET j.leaseExpiresAt = :until WHERE j.owner = :owner")
+    int renewLeases(@Param("owner") String owner, @Param("until") LocalDateTime until);
+
+    @Query("SELECT j FROM NotificationFanoutJob j WHERE j.leaseExpiresAt < :now ORDER BY j.id")
+    List<NotificationFanoutJob> findExpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Of several instances claiming the same job, only the first sees 1
+    @Modifying
+    @Query("UPDATE NotificationFanoutJob j SET j.owner = :owner, j.leaseExpiresAt = :until " +
+            "WHERE j.id = :id AND j.leaseExpiresAt < :now")
+    int claim(@Param("id") Long id, @Param("owner") String owner,
+              @Param("until") LocalDateTime until, @Param("now") LocalDateTime now);
+}
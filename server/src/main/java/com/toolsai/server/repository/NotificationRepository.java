@@ -3,23 +3,69 @@ package com.toolsai.server.repository;
 import com.toolsai.server.model.Notification;
 import com.toolsai.server.model.User;
 import com.toolsai.server.model.enums.NotificationType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface NotificationRepository extends JpaRepository<Notification, Long> {
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
     Page<Notification> findByReceiver(User receiver, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.receiver = :receiver ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findSliceByReceiver(@Param("receiver") User receiver, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.receiver = :receiver " +
+            "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    Slice<Notification> findSliceByReceiverAfter(@Param("receiver") User receiver,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // Unread notifications created or merged into since a given time, in the order they were stamped;
+    // reads move updated_at too, but read rows drop out here
+    @Query("SELECT n FROM Notification n WHERE n.receiver.id = :receiverId AND n.isRead = false " +
+            "AND n.updatedAt >= :since ORDER BY n.updatedAt, n.id")
+    List<Notification> findUnreadByReceiverIdUpdatedSince(@Param("receiverId") Long receiverId,
+                                                          @Param("since") LocalDateTime since,
+                                                          Pageable pageable);
+
+    // Locked so events for one aggregate are merged into it one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT n FROM Notification n WHERE n.receiver.id = :receiverId AND n.type = :type " +
+            "AND n.subjectId = :subjectId AND n.isRead = false AND n.createdAt >= :since " +
+            "ORDER BY n.createdAt DESC")
+    List<Notification> findCoalescibleForUpdate(@Param("receiverId") Long receiverId,
+                                                @Param("type") NotificationType type,
+                                                @Param("subjectId") Long subjectId,
+                                                @Param("since") LocalDateTime since,
+                                                Pageable pageable);
+
     Page<Notification> findByReceiverAndIsRead(User receiver, boolean isRead, Pageable pageable);
     Page<Notification> findByReceiverAndType(User receiver, NotificationType type, Pageable pageable);
 
     List<Notification> findBySender(User sender);
 
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.receiver = :receiver AND n.isRead = false")
-    long countUnreadNotificationsByReceiver(@Param("receiver") User receiver);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.receiver.id = :receiverId AND n.isRead = false")
+    long countUnreadByReceiverId(@Param("receiverId") Long receiverId);
+
+    // Returns 0 when the notification was already read
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now WHERE n.id = :id AND n.isRead = false")
+    int markRead(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now " +
+            "WHERE n.receiver.id = :receiverId AND n.isRead = false")
+    int markAllReadByReceiverId(@Param("receiverId") Long receiverId, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.Notification;
+
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts notifications with one JDBC batch. Ids and timestamps must be set; receiver
+     * and sender are only read for their ids.
+     */
+    void insertNotifications(List<Notification> notifications);
+}
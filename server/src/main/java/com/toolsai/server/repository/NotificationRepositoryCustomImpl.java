@@ -0,0 +1,41 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertNotifications(List<Notification> notifications) {
+        String sql = "INSERT INTO notifications (id, title, message, type, is_read, action_url, data, " +
+                "receiver_id, sender_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int[] argTypes = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR,
+                Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP};
+
+        List<Object[]> batchArgs = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            batchArgs.add(new Object[]{
+                    notification.getId(),
+                    notification.getTitle(),
+                    notification.getMessage(),
+                    notification.getType().name(),
+                    notification.getIsRead(),
+                    notification.getActionUrl(),
+                    notification.getData(),
+                    notification.getReceiver().getId(),
+                    notification.getSender() != null ? notification.getSender().getId() : null,
+                    Timestamp.valueOf(notification.getCreatedAt()),
+                    Timestamp.valueOf(notification.getUpdatedAt())});
+        }
+        jdbcTemplate.batchUpdate(sql, batchArgs, argTypes);
+    }
+}
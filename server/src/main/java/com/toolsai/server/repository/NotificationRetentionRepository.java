@@ -0,0 +1,145 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.repository.projection.PurgedNotifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Deletes and partition maintenance for notification retention. Every statement commits
+ * on its own, so no purge ever holds locks for longer than one batch or one detach.
+ * Partition handling is Postgres-only and expects the layout created by
+ * {@code db/partition-notifications.sql}: monthly range partitions on {@code created_at}
+ * named {@code notifications_pYYYY_MM}, with no default partition.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRetentionRepository {
+
+    public static final String PARTITION_PREFIX = "notifications_p";
+
+    private static final String PER_RECEIVER = "SELECT receiver_id, COUNT(*), " +
+            "SUM(CASE WHEN is_read THEN 0 ELSE 1 END) FROM ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public boolean isPostgres() {
+        if (postgres == null) {
+            postgres = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+        }
+        return postgres;
+    }
+
+    public boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('notifications')",
+                Integer.class);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Partitions by name, including any left detached by a purge that failed before its drop.
+     */
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_class c WHERE c.relkind = 'r' " +
+                        "AND c.relnamespace = (SELECT relnamespace FROM pg_class WHERE oid = 'notifications'::regclass) " +
+                        "AND c.relname LIKE 'notifications\\_p%' ORDER BY c.relname",
+                String.class);
+    }
+
+    /**
+     * Creates the partition for the month starting at {@code from} if it is missing.
+     */
+    public void createMonthlyPartition(String name, LocalDate from) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF notifications FOR VALUES FROM ('%s') TO ('%s')",
+                name, from, from.plusMonths(1)));
+    }
+
+    /**
+     * Row count as of the partition's last analyze, without reading it; 0 if never analyzed.
+     */
+    public long estimateRows(String partition) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, partition);
+        return count != null ? count : 0;
+    }
+
+    public long relationSize(String relation) {
+        Long size = jdbcTemplate.queryForObject("SELECT pg_total_relation_size(to_regclass(?))", Long.class, relation);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Detaches without blocking writers to the other partitions, then drops the detached table.
+     * Waits at most {@code lockTimeoutMs} for the brief locks involved.
+     * <p>
+     * A concurrent detach runs in two transactions; if the second one fails, the partition is
+     * left pending detach and only {@code FINALIZE} can complete it. A partition that is no
+     * longer attached at all is just dropped.
+     */
+    public void detachAndDropPartition(String partition, long lockTimeoutMs) {
+        List<Boolean> pending = jdbcTemplate.queryForList(
+                "SELECT inhdetachpending FROM pg_inherits " +
+                        "WHERE inhrelid = to_regclass(?) AND inhparent = 'notifications'::regclass",
+                Boolean.class, partition);
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.execute("SET lock_timeout = " + lockTimeoutMs);
+                try {
+                    if (!pending.isEmpty()) {
+                        statement.execute("ALTER TABLE notifications DETACH PARTITION " + partition
+                                + (pending.get(0) ? " FINALIZE" : " CONCURRENTLY"));
+                    }
+                    statement.execute("DROP TABLE " + partition);
+                } finally {
+                    statement.execute("RESET lock_timeout");
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Average on-disk bytes per notification row, indexes included; 0 when unknown.
+     */
+    public double averageRowBytes() {
+        return jdbcTemplate.query(
+                "SELECT COALESCE(SUM(pg_total_relation_size(c.oid)), 0), COALESCE(SUM(GREATEST(c.reltuples, 0)), 0) " +
+                        "FROM pg_class c WHERE c.oid = 'notifications'::regclass " +
+                        "OR c.oid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = 'notifications'::regclass)",
+                rs -> {
+                    rs.next();
+                    double rows = rs.getDouble(2);
+                    return rows > 0 ? rs.getLong(1) / rows : 0;
+                });
+    }
+
+    /**
+     * Deletes up to {@code batchSize} notifications of the type created before {@code before}
+     * and returns what was deleted per receiver. The outer bound on {@code created_at} lets
+     * Postgres prune partitions for the delete too.
+     */
+    public List<PurgedNotifications> deleteBatch(NotificationType type, LocalDateTime before, int batchSize) {
+        String delete = "DELETE FROM notifications WHERE created_at < ? AND id IN (" +
+                "SELECT id FROM notifications WHERE type = ? AND created_at < ? LIMIT ?)";
+        // Postgres reads the deleted rows back through RETURNING, H2 through a delta table
+        String sql = isPostgres()
+                ? "WITH purged AS (" + delete + " RETURNING receiver_id, is_read) " + PER_RECEIVER + "purged"
+                : PER_RECEIVER + "OLD TABLE (" + delete + ")";
+        return jdbcTemplate.query(sql + " GROUP BY receiver_id",
+                (rs, rowNum) -> new PurgedNotifications(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                Timestamp.valueOf(before), type.name(), Timestamp.valueOf(before), batchSize);
+    }
+}
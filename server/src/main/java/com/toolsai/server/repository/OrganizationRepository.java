@@ -1,13 +1,16 @@
 package com.toolsai.server.repository;
 
 import com.toolsai.server.model.Organization;
+import com.toolsai.server.repository.projection.EntityVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +20,17 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     Optional<Organization> findByOrgSlug(String orgSlug);
     Optional<Organization> findByOrgUrl(String orgUrl);
 
+    @Query("SELECT o.id AS id, o.updatedAt AS updatedAt FROM Organization o WHERE o.id = :id")
+    Optional<EntityVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT o.id AS id, o.updatedAt AS updatedAt FROM Organization o WHERE o.orgSlug = :slug")
+    Optional<EntityVersion> findVersionBySlug(@Param("slug") String slug);
+
+    @Modifying
+    @Query("UPDATE Organization o SET o.totalModels = COALESCE(o.totalModels, 0) + :delta, o.updatedAt = :now " +
+            "WHERE o.id = :id")
+    int addToTotalModels(@Param("id") Long id, @Param("delta") int delta, @Param("now") LocalDateTime now);
+
     boolean existsByOrgName(String orgName);
     boolean existsByOrgSlug(String orgSlug);
     boolean existsByOrgUrl(String orgUrl);
@@ -0,0 +1,9 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.Tag;
+
+import java.util.Collection;
+
+public interface TagRepositoryCustom {
+    void insertIgnoringConflicts(Collection<Tag> tags);
+}
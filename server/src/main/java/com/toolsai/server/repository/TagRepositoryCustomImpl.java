@@ -0,0 +1,32 @@
+package com.toolsai.server.repository;
+
+import com.toolsai.server.model.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TagRepositoryCustomImpl implements TagRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Batch-inserts tags, ids already assigned, silently skipping any whose name or slug already exists, so
+     * concurrent imports creating the same tag do not fail each other.
+     */
+    @Override
+    public void insertIgnoringConflicts(Collection<Tag> tags) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(tags.size());
+        for (Tag tag : tags) {
+            batchArgs.add(new Object[]{tag.getId(), tag.getName(), tag.getSlug(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tags (id, name, slug, usage_count, created_at, updated_at) " +
+                "VALUES (?, ?, ?, 0, ?, ?) ON CONFLICT DO NOTHING", batchArgs);
+    }
+}
@@ -27,4 +27,12 @@ public interface UserOrganizationSubscriptionRepository extends JpaRepository<Us
 
     @Query("SELECT COUNT(s) FROM UserOrganizationSubscription s WHERE s.organization = :organization AND s.status = 'ACTIVE'")
     long countActiveSubscriptionsByOrganization(@Param("organization") Organization organization);
+
+    // Keyset scan over the (organization, status, user) index, for fan-out in chunks
+    @Query("SELECT DISTINCT s.user.id FROM UserOrganizationSubscription s " +
+            "WHERE s.organization.id = :organizationId AND s.status = 'ACTIVE' AND s.user.id > :afterUserId " +
+            "ORDER BY s.user.id")
+    List<Long> findActiveSubscriberIdsAfter(@Param("organizationId") Long organizationId,
+                                            @Param("afterUserId") Long afterUserId,
+                                            Pageable pageable);
 }
\ No newline at end of file
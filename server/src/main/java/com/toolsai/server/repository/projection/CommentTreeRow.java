@@ -0,0 +1,27 @@
+package com.toolsai.server.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One comment of a thread as loaded by the recursive thread query, with its place in the tree.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentTreeRow {
+    private final Long id;
+    private final Long parentCommentId;
+    private final Long userId;
+    private final String content;
+    private final Integer upvoteCount;
+    private final Integer downvoteCount;
+    private final Boolean isEdited;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    // 1 for the requested level, growing downwards
+    private final int depth;
+    // Live replies of this comment, loaded or not
+    private final int replyCount;
+}
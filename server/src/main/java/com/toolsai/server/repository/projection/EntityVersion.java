@@ -0,0 +1,12 @@
+package com.toolsai.server.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Just enough of a row to answer a conditional GET without loading the entity.
+ */
+public interface EntityVersion {
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -0,0 +1,15 @@
+package com.toolsai.server.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How many of one receiver's notifications a purge batch deleted, and how many of them were unread.
+ */
+@Getter
+@AllArgsConstructor
+public class PurgedNotifications {
+    private final Long receiverId;
+    private final long rows;
+    private final long unread;
+}
@@ -0,0 +1,309 @@
+package com.toolsai.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toolsai.server.dto.request.AIModelCreateRequest;
+import com.toolsai.server.dto.response.BulkImportResponse;
+import com.toolsai.server.dto.response.BulkImportResponse.ItemResult;
+import com.toolsai.server.dto.response.BulkImportResponse.ItemStatus;
+import com.toolsai.server.event.AIModelsImportedEvent;
+import com.toolsai.server.event.ModelImportCompletedEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.Tag;
+import com.toolsai.server.model.id.Snowflake;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.TagRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Imports model catalogs in bulk. Items are processed in chunks, each in its own
+ * transaction: slugs, organizations and tags are checked or created with one set-based
+ * query per chunk, models go in as one JDBC batch and organization totals are bumped
+ * once per organization. Invalid items are reported and skipped, not fatal.
+ * <p>
+ * Each chunk publishes one {@link AIModelsImportedEvent} carrying the inserted rows, and
+ * the import as a whole one {@link ModelImportCompletedEvent}, so subscribers get one
+ * notification per organization rather than one per model.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AIModelBulkImportService {
+
+    // Length of the tags.name column
+    private static final int MAX_TAG_NAME_LENGTH = 50;
+
+    private final AIModelRepository aiModelRepository;
+    private final OrganizationRepository organizationRepository;
+    private final TagRepository tagRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.bulk-import.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkImportResponse importModels(List<AIModelCreateRequest> requests) {
+        List<ItemResult> results = new ArrayList<>(requests.size());
+        Map<Long, List<Long>> created = new LinkedHashMap<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        for (int index = 0; index < requests.size(); index++) {
+            chunk.add(new Item(index, requests.get(index)));
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, results, created);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, results, created);
+        return complete(results, created);
+    }
+
+    /**
+     * Reads one model per line, importing as chunks fill up so the request body is never
+     * held in memory. Lines that are not valid JSON are reported like invalid items.
+     */
+    public BulkImportResponse importModels(InputStream ndjson) throws IOException {
+        List<ItemResult> results = new ArrayList<>();
+        Map<Long, List<Long>> created = new LinkedHashMap<>();
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(new Item(index, objectMapper.readValue(line, AIModelCreateRequest.class)));
+            } catch (JsonProcessingException e) {
+                results.add(failed(index, null, List.of("Malformed JSON: " + e.getOriginalMessage())));
+            }
+            index++;
+            if (chunk.size() >= chunkSize) {
+                importChunk(chunk, results, created);
+                chunk.clear();
+            }
+        }
+        importChunk(chunk, results, created);
+        return complete(results, created);
+    }
+
+    private BulkImportResponse complete(List<ItemResult> results, Map<Long, List<Long>> created) {
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new ModelImportCompletedEvent(created));
+        }
+        return toResponse(results);
+    }
+
+    private void importChunk(List<Item> chunk, List<ItemResult> results, Map<Long, List<Long>> created) {
+        List<Item> valid = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            Set<ConstraintViolation<AIModelCreateRequest>> violations = validator.validate(item.request());
+            if (violations.isEmpty()) {
+                valid.add(item);
+            } else {
+                List<String> errors = violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.toList());
+                results.add(failed(item, errors));
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<ItemResult> inserted = new TransactionTemplate(transactionManager).execute(status -> insertChunk(valid));
+            // Only counted once the chunk has committed
+            Map<Integer, Item> itemsByIndex = valid.stream().collect(Collectors.toMap(Item::index, Function.identity()));
+            for (ItemResult result : inserted) {
+                if (result.getStatus() == ItemStatus.CREATED) {
+                    created.computeIfAbsent(itemsByIndex.get(result.getIndex()).request().getOrganizationId(),
+                            id -> new ArrayList<>()).add(result.getModelId());
+                }
+            }
+            results.addAll(inserted);
+        } catch (RuntimeException e) {
+            // Typically a slug taken concurrently; the whole chunk was rolled back
+            log.warn("Bulk import of {} models failed", valid.size(), e);
+            String error = "Import failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            valid.forEach(item -> results.add(failed(item, List.of(error))));
+        }
+    }
+
+    private List<ItemResult> insertChunk(List<Item> items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ItemResult> results = new ArrayList<>(items.size());
+
+        Set<String> takenSlugs = new HashSet<>(aiModelRepository.findIdsBySlugs(
+                items.stream().map(item -> item.request().getModelSlug()).collect(Collectors.toSet())).keySet());
+        Map<Long, Organization> organizations = organizationRepository.findAllById(
+                        items.stream().map(item -> item.request().getOrganizationId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Organization::getId, Function.identity()));
+        Map<String, Tag> tags = resolveTags(items.stream()
+                .flatMap(item -> tagNames(item.request()).stream())
+                .collect(Collectors.toSet()));
+
+        List<Item> accepted = new ArrayList<>(items.size());
+        List<AIModel> models = new ArrayList<>(items.size());
+        for (Item item : items) {
+            AIModelCreateRequest request = item.request();
+            if (takenSlugs.contains(request.getModelSlug())) {
+                results.add(failed(item, List.of("Model slug already exists")));
+                continue;
+            }
+            Organization organization = organizations.get(request.getOrganizationId());
+            if (organization == null) {
+                results.add(failed(item, List.of("Organization not found")));
+                continue;
+            }
+            List<String> missingTags = tagNames(request).stream()
+                    .filter(name -> !tags.containsKey(name))
+                    .collect(Collectors.toList());
+            if (!missingTags.isEmpty()) {
+                // Too long, or its slug collides with an existing tag of another name
+                results.add(failed(item, List.of("Tags could not be created: " + String.join(", ", missingTags))));
+                continue;
+            }
+            takenSlugs.add(request.getModelSlug());
+            accepted.add(item);
+            List<Tag> modelTags = tagNames(request).stream().map(tags::get).collect(Collectors.toList());
+            models.add(toModel(request, organization, modelTags, now));
+        }
+        if (models.isEmpty()) {
+            return results;
+        }
+
+        aiModelRepository.insertModels(models);
+
+        Map<Long, List<Long>> tagIdsByModelId = new HashMap<>();
+        Map<Long, Integer> createdByOrganization = new HashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            Item item = accepted.get(i);
+            AIModel model = models.get(i);
+            tagIdsByModelId.put(model.getId(), model.getTags().stream().map(Tag::getId).collect(Collectors.toList()));
+            createdByOrganization.merge(item.request().getOrganizationId(), 1, Integer::sum);
+        }
+        aiModelRepository.insertModelTags(tagIdsByModelId);
+        createdByOrganization.forEach((organizationId, count) ->
+                organizationRepository.addToTotalModels(organizationId, count, now));
+
+        eventPublisher.publishEvent(new AIModelsImportedEvent(models));
+        for (int i = 0; i < accepted.size(); i++) {
+            Item item = accepted.get(i);
+            results.add(new ItemResult(item.index(), item.request().getModelSlug(), ItemStatus.CREATED,
+                    models.get(i).getId(), List.of()));
+        }
+        return results;
+    }
+
+    /**
+     * Looks up all tags of a chunk at once and creates the missing ones in one batch.
+     */
+    private Map<String, Tag> resolveTags(Set<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Tag> tags = tagRepository.findByNameIn(names).stream()
+                .collect(Collectors.toMap(Tag::getName, tag -> tag));
+
+        List<Tag> missing = names.stream()
+                .filter(name -> !tags.containsKey(name) && name.length() <= MAX_TAG_NAME_LENGTH)
+                .map(name -> Tag.builder().id(Snowflake.next()).name(name).slug(TagService.slugOf(name)).build())
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            tagRepository.insertIgnoringConflicts(missing);
+            tagRepository.findByNameIn(missing.stream().map(Tag::getName).collect(Collectors.toList()))
+                    .forEach(tag -> tags.put(tag.getName(), tag));
+        }
+        return tags;
+    }
+
+    private static AIModel toModel(AIModelCreateRequest request, Organization organization, List<Tag> tags,
+                                   LocalDateTime now) {
+        return AIModel.builder()
+                .id(Snowflake.next())
+                .modelName(request.getModelName())
+                .modelSlug(request.getModelSlug())
+                .modelDescription(request.getModelDescription())
+                .modelVersion(request.getModelVersion())
+                .modelCategory(request.getModelCategory())
+                .pricingType(request.getPricingType())
+                .modelPrice(request.getModelPrice())
+                .currency(request.getCurrency() != null ? request.getCurrency() : "USD")
+                .pricingUnit(request.getPricingUnit())
+                .apiUrl(request.getApiUrl())
+                .documentationUrl(request.getDocumentationUrl())
+                .modelImageUrl(request.getModelImageUrl())
+                .organization(organization)
+                .tags(tags)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static Set<String> tagNames(AIModelCreateRequest request) {
+        if (request.getTagNames() == null) {
+            return Set.of();
+        }
+        return request.getTagNames().stream()
+                .filter(Objects::nonNull)
+                .filter(name -> !name.isBlank())
+                .map(TagService::normalizeName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static ItemResult failed(Item item, List<String> errors) {
+        return failed(item.index(), item.request().getModelSlug(), errors);
+    }
+
+    private static ItemResult failed(int index, String modelSlug, List<String> errors) {
+        return new ItemResult(index, modelSlug, ItemStatus.FAILED, null, errors);
+    }
+
+    private static BulkImportResponse toResponse(List<ItemResult> results) {
+        results.sort(Comparator.comparingInt(ItemResult::getIndex));
+        BulkImportResponse response = new BulkImportResponse();
+        response.setTotal(results.size());
+        response.setCreated((int) results.stream().filter(result -> result.getStatus() == ItemStatus.CREATED).count());
+        response.setFailed(response.getTotal() - response.getCreated());
+        response.setItems(results);
+        return response;
+    }
+
+    private record Item(int index, AIModelCreateRequest request) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.toolsai.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.dto.response.ModelCacheStatsResponse;
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.AIModelsImportedEvent;
+import com.toolsai.server.event.ModelEngagementEvent;
+import com.toolsai.server.event.OrganizationChangedEvent;
+import com.toolsai.server.mapper.AIModelMapper;
+import com.toolsai.server.util.KeyGenerations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of model detail responses, addressable by id and by slug.
+ * Entries are evicted by size and TTL, and invalidated once a write to the model or its
+ * organization commits. Written-behind view counts do not invalidate; they refresh with the TTL.
+ * <p>
+ * A load that read the row before a write committed must not put it back after that
+ * write's invalidation. Loads by id go through the cache's own atomic compute, which an
+ * invalidation of the same id waits for; other loads only put a model if that model was
+ * not invalidated since they started, so invalidations of other models never hold back
+ * caching. Callers get copies, never the cached instance.
+ */
+@Component
+public class AIModelCache {
+
+    private final AIModelMapper aiModelMapper;
+    private final long maximumSize;
+    private final Cache<Long, AIModelResponse> modelsById;
+    private final Cache<String, Long> idsBySlug;
+    private final KeyGenerations invalidations = new KeyGenerations(1024);
+
+    public AIModelCache(AIModelMapper aiModelMapper,
+                        @Value("${app.model-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${app.model-cache.ttl:5m}") Duration ttl) {
+        this.aiModelMapper = aiModelMapper;
+        this.maximumSize = maximumSize;
+        this.modelsById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsBySlug = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public AIModelResponse getById(Long modelId, Function<Long, AIModelResponse> loader) {
+        return aiModelMapper.copy(modelsById.get(modelId, loader));
+    }
+
+    /**
+     * Cached responses for {@code modelIds} in the given order, loading all misses with
+     * one call to {@code loader}. Ids the loader does not return are skipped.
+     */
+    public List<AIModelResponse> getAll(List<Long> modelIds,
+                                        Function<Set<? extends Long>, Map<Long, AIModelResponse>> loader) {
+        Map<Long, AIModelResponse> found = new HashMap<>(modelsById.getAllPresent(modelIds));
+        Set<Long> missing = new LinkedHashSet<>(modelIds);
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            long[] generations = invalidations.snapshot();
+            loader.apply(missing).forEach((modelId, response) -> {
+                found.put(modelId, response);
+                putIfNotInvalidatedSince(modelId, response, generations);
+            });
+        }
+
+        List<AIModelResponse> responses = new ArrayList<>(modelIds.size());
+        for (Long modelId : modelIds) {
+            AIModelResponse response = found.get(modelId);
+            if (response != null) {
+                responses.add(aiModelMapper.copy(response));
+            }
+        }
+        return responses;
+    }
+
+    public AIModelResponse getBySlug(String slug, Function<String, AIModelResponse> loader) {
+        Long modelId = idsBySlug.getIfPresent(slug);
+        if (modelId != null) {
+            AIModelResponse cached = modelsById.getIfPresent(modelId);
+            if (cached != null) {
+                return aiModelMapper.copy(cached);
+            }
+        }
+
+        // The id is only known once loaded, so every model's generation is taken
+        long[] generations = invalidations.snapshot();
+        AIModelResponse loaded = loader.apply(slug);
+        putIfNotInvalidatedSince(loaded.getId(), loaded, generations);
+        idsBySlug.put(slug, loaded.getId());
+        return aiModelMapper.copy(loaded);
+    }
+
+    public void invalidate(Long modelId, String slug) {
+        if (modelId != null) {
+            // Serialized with putIfNotInvalidatedSince by the entry's lock
+            modelsById.asMap().compute(modelId, (id, cached) -> {
+                invalidations.bump(id);
+                return null;
+            });
+        }
+        if (slug != null) {
+            idsBySlug.invalidate(slug);
+        }
+    }
+
+    /**
+     * Drops every cached model of {@code organizationId}, whose embedded organization is
+     * now out of date. Walks the cache, which is fine for how rarely organizations change.
+     */
+    public void invalidateOrganization(Long organizationId) {
+        modelsById.asMap().forEach((modelId, cached) -> {
+            if (cached.getOrganization() != null && organizationId.equals(cached.getOrganization().getId())) {
+                invalidate(modelId, null);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelChanged(AIModelChangedEvent event) {
+        invalidate(event.getModelId(), event.getModelSlug());
+        // The organization's model count moved, and its sibling models embed it
+        if (event.getChangeType() != AIModelChangedEvent.ChangeType.UPDATED && event.getOrganizationId() != null) {
+            invalidateOrganization(event.getOrganizationId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelsImported(AIModelsImportedEvent event) {
+        // New ids are not cached yet, but their organizations' model counts moved
+        event.getModels().stream()
+                .map(model -> model.getOrganization().getId())
+                .distinct()
+                .forEach(this::invalidateOrganization);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        invalidateOrganization(event.getOrganizationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ModelEngagementEvent event) {
+        // Likes, comments and ratings are counters in the body; views are left to the TTL
+        if (event.getType() != ModelEngagementEvent.EngagementType.VIEW) {
+            invalidate(event.getModelId(), null);
+        }
+    }
+
+    private void putIfNotInvalidatedSince(Long modelId, AIModelResponse response, long[] generations) {
+        modelsById.asMap().computeIfAbsent(modelId,
+                id -> invalidations.unchangedSince(id, generations) ? response : null);
+    }
+
+    public ModelCacheStatsResponse getStats() {
+        CacheStats stats = modelsById.stats();
+        CacheStats slugStats = idsBySlug.stats();
+
+        ModelCacheStatsResponse response = new ModelCacheStatsResponse();
+        response.setSize(modelsById.estimatedSize());
+        response.setMaximumSize(maximumSize);
+        response.setHitCount(stats.hitCount());
+        response.setMissCount(stats.missCount());
+        response.setHitRate(stats.hitRate());
+        response.setEvictionCount(stats.evictionCount());
+        response.setLoadFailureCount(stats.loadFailureCount());
+        response.setAverageLoadPenaltyMs(stats.averageLoadPenalty() / 1_000_000.0);
+        response.setSlugHitCount(slugStats.hitCount());
+        response.setSlugMissCount(slugStats.missCount());
+        return response;
+    }
+}
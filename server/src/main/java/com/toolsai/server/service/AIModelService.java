@@ -2,8 +2,12 @@ package com.toolsai.server.service;
 
 import com.toolsai.server.dto.request.AIModelCreateRequest;
 import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.dto.response.CursorPage;
+import com.toolsai.server.dto.response.ModelFilterResponse;
+import com.toolsai.server.event.AIModelChangedEvent;
 import com.toolsai.server.exception.ResourceAlreadyExistsException;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.AIModelMapper;
 import com.toolsai.server.model.AIModel;
 import com.toolsai.server.model.Organization;
 import com.toolsai.server.model.Tag;
@@ -12,14 +16,28 @@ import com.toolsai.server.model.enums.ModelStatus;
 import com.toolsai.server.repository.AIModelRepository;
 import com.toolsai.server.repository.OrganizationRepository;
 import com.toolsai.server.repository.TagRepository;
+import com.toolsai.server.service.search.ModelFacetIndex;
+import com.toolsai.server.service.search.ModelFacetQuery;
+import com.toolsai.server.service.search.ModelSearchIndex;
+import com.toolsai.server.service.trending.HotModelRanking;
+import com.toolsai.server.service.trending.ModelLeaderboards;
+import com.toolsai.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +48,14 @@ public class AIModelService {
     private final OrganizationRepository organizationRepository;
     private final TagRepository tagRepository;
     private final TagService tagService;
+    private final ViewCountBuffer viewCountBuffer;
+    private final AIModelCache aiModelCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AIModelMapper aiModelMapper;
+    private final ModelSearchIndex modelSearchIndex;
+    private final ModelFacetIndex modelFacetIndex;
+    private final ModelLeaderboards modelLeaderboards;
+    private final HotModelRanking hotModelRanking;
 
     @Transactional
     public AIModelResponse createAIModel(AIModelCreateRequest request) {
@@ -66,79 +92,147 @@ public class AIModelService {
 
         AIModel savedModel = aiModelRepository.save(aiModel);
 
-        // Update organization total models count
-        organization.setTotalModels(organization.getTotalModels() + 1);
-        organizationRepository.save(organization);
+        organizationRepository.addToTotalModels(organization.getId(), 1, LocalDateTime.now());
 
-        return convertToResponse(savedModel);
+        eventPublisher.publishEvent(new AIModelChangedEvent(
+                savedModel.getId(), savedModel.getModelSlug(), savedModel.getOrganization().getId(),
+                AIModelChangedEvent.ChangeType.CREATED));
+
+        return aiModelMapper.toResponse(savedModel);
     }
 
     public AIModelResponse getAIModelById(Long modelId) {
-        AIModel aiModel = aiModelRepository.findById(modelId)
-                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+        AIModelResponse model = aiModelCache.getById(modelId, this::loadAIModel);
+        recordView(model.getId());
+        return model;
+    }
 
-        // Increment view count
-        aiModel.setViewCount(aiModel.getViewCount() + 1);
-        aiModelRepository.save(aiModel);
+    public AIModelResponse getAIModelBySlug(String slug) {
+        AIModelResponse model = aiModelCache.getBySlug(slug, this::loadAIModelBySlug);
+        recordView(model.getId());
+        return model;
+    }
 
-        return convertToResponse(aiModel);
+    public void recordView(Long modelId) {
+        // View count is written behind in batches, not per request
+        viewCountBuffer.recordView(modelId);
     }
 
-    public AIModelResponse getAIModelBySlug(String slug) {
-        AIModel aiModel = aiModelRepository.findByModelSlug(slug)
+    private AIModelResponse loadAIModel(Long modelId) {
+        return aiModelRepository.findWithDetailsById(modelId)
+                .map(aiModelMapper::toResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+    }
 
-        // Increment view count
-        aiModel.setViewCount(aiModel.getViewCount() + 1);
-        aiModelRepository.save(aiModel);
-
-        return convertToResponse(aiModel);
+    private AIModelResponse loadAIModelBySlug(String slug) {
+        return aiModelRepository.findWithDetailsByModelSlug(slug)
+                .map(aiModelMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
     }
 
+    @Transactional(readOnly = true)
     public Page<AIModelResponse> getAllAIModels(Pageable pageable) {
         return aiModelRepository.findAll(pageable)
-                .map(this::convertToResponse);
+                .map(aiModelMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<AIModelResponse> scrollAIModels(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<AIModel> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = aiModelRepository.findFirstSlice(pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = aiModelRepository.findSliceAfter(position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPage.of(slice, aiModelMapper::toResponse,
+                model -> new KeysetCursor(model.getCreatedAt(), model.getId()));
+    }
+
+    @Transactional(readOnly = true)
     public Page<AIModelResponse> getAIModelsByCategory(ModelCategory category, Pageable pageable) {
         return aiModelRepository.findByModelCategory(category, pageable)
-                .map(this::convertToResponse);
+                .map(aiModelMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<AIModelResponse> getAIModelsByStatus(ModelStatus status, Pageable pageable) {
         return aiModelRepository.findByModelStatus(status, pageable)
-                .map(this::convertToResponse);
+                .map(aiModelMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<AIModelResponse> getFeaturedAIModels(Pageable pageable) {
         return aiModelRepository.findByIsFeatured(true, pageable)
-                .map(this::convertToResponse);
+                .map(aiModelMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
     public Page<AIModelResponse> searchAIModels(String query, Pageable pageable) {
-        return aiModelRepository.searchModels(query, pageable)
-                .map(this::convertToResponse);
-    }
+        // Ranked by relevance from the in-memory index; only the page itself is loaded
+        ModelSearchIndex.SearchHits hits = modelSearchIndex.search(
+                query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits.getModelIds().isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, hits.getTotalHits());
+        }
 
-    public List<AIModelResponse> getMostViewedModels(int limit) {
-        return aiModelRepository.findMostViewedModels(Pageable.ofSize(limit))
-                .stream()
-                .map(this::convertToResponse)
+        Map<Long, AIModel> modelsById = aiModelRepository.findByIdIn(hits.getModelIds()).stream()
+                .collect(Collectors.toMap(AIModel::getId, Function.identity()));
+        List<AIModelResponse> content = hits.getModelIds().stream()
+                .map(modelsById::get)
+                .filter(Objects::nonNull)
+                .map(aiModelMapper::toResponse)
                 .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
     }
 
-    public List<AIModelResponse> getMostLikedModels(int limit) {
-        return aiModelRepository.findMostLikedModels(Pageable.ofSize(limit))
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public ModelFilterResponse filterAIModels(ModelFacetQuery query, Pageable pageable) {
+        ModelFacetIndex.FilterResult result = modelFacetIndex.filter(
+                query, (int) pageable.getOffset(), pageable.getPageSize());
+
+        ModelFilterResponse response = new ModelFilterResponse();
+        response.setTotalElements(result.getTotalHits());
+        response.setPage(pageable.getPageNumber());
+        response.setSize(pageable.getPageSize());
+        response.setModelIds(result.getModelIds());
+        response.setFacets(result.getFacetCounts());
+        return response;
     }
 
-    public List<AIModelResponse> getTopRatedModels(int limit) {
-        return aiModelRepository.findTopRatedModels(Pageable.ofSize(limit))
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    public List<AIModelResponse> getMostViewedModels(int limit, ModelCategory category) {
+        return getLeaderboard(ModelLeaderboards.Metric.VIEWS, category, limit);
+    }
+
+    public List<AIModelResponse> getMostLikedModels(int limit, ModelCategory category) {
+        return getLeaderboard(ModelLeaderboards.Metric.LIKES, category, limit);
+    }
+
+    /**
+     * Ranked by Bayesian rating, so a handful of perfect scores does not outrank a high
+     * average over thousands of ratings.
+     */
+    public List<AIModelResponse> getTopRatedModels(int limit, ModelCategory category) {
+        Pageable page = PageRequest.of(0, Math.min(Math.max(limit, 1), modelLeaderboards.getCapacity()));
+        List<Long> modelIds = category == null
+                ? aiModelRepository.findTopRatedIds(page)
+                : aiModelRepository.findTopRatedIdsByCategory(category, page);
+        return getCachedModels(modelIds);
+    }
+
+    public List<AIModelResponse> getHotModels(int limit) {
+        List<Long> modelIds = hotModelRanking.top(Math.min(Math.max(limit, 1), modelLeaderboards.getCapacity()));
+        return getCachedModels(modelIds);
+    }
+
+    private List<AIModelResponse> getLeaderboard(ModelLeaderboards.Metric metric, ModelCategory category, int limit) {
+        int boundedLimit = Math.min(Math.max(limit, 1), modelLeaderboards.getCapacity());
+        return getCachedModels(modelLeaderboards.top(metric, category, boundedLimit));
+    }
+
+    private List<AIModelResponse> getCachedModels(List<Long> modelIds) {
+        return aiModelCache.getAll(modelIds, missing -> aiModelRepository.findWithDetailsByIdIn(missing).stream()
+                .collect(Collectors.toMap(AIModel::getId, aiModelMapper::toResponse)));
     }
 
     @Transactional
@@ -158,7 +252,12 @@ public class AIModelService {
         aiModel.setModelImageUrl(request.getModelImageUrl());
 
         AIModel savedModel = aiModelRepository.save(aiModel);
-        return convertToResponse(savedModel);
+
+        eventPublisher.publishEvent(new AIModelChangedEvent(
+                savedModel.getId(), savedModel.getModelSlug(), savedModel.getOrganization().getId(),
+                AIModelChangedEvent.ChangeType.UPDATED));
+
+        return aiModelMapper.toResponse(savedModel);
     }
 
     @Transactional
@@ -167,12 +266,9 @@ public class AIModelService {
                 .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
         aiModel.setModelStatus(ModelStatus.INACTIVE);
         aiModelRepository.save(aiModel);
-    }
 
-    private AIModelResponse convertToResponse(AIModel aiModel) {
-        AIModelResponse response = new AIModelResponse();
-        BeanUtils.copyProperties(aiModel, response);
-        // Handle nested objects conversion here if needed
-        return response;
+        eventPublisher.publishEvent(new AIModelChangedEvent(
+                aiModel.getId(), aiModel.getModelSlug(), aiModel.getOrganization().getId(),
+                AIModelChangedEvent.ChangeType.DELETED));
     }
 }
\ No newline at end of file
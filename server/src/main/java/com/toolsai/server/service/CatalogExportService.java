@@ -0,0 +1,68 @@
+package com.toolsai.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toolsai.server.repository.CatalogExportRepository;
+import com.toolsai.server.util.NdjsonRowWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streams whole tables as NDJSON in id order. Memory use does not depend on table size:
+ * rows go from a server-side cursor straight to the output stream.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogExportService {
+
+    public enum Dataset {
+        MODELS,
+        RATINGS,
+        COMMENTS
+    }
+
+    private final CatalogExportRepository catalogExportRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Writes every row with an id greater than {@code afterId}. A client that lost its
+     * connection resumes by passing the id of the last complete line it received.
+     */
+    public void export(Dataset dataset, long afterId, OutputStream out) {
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        long rows = transactionTemplate.execute(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are already separated by the row writer
+                generator.setRootValueSeparator(null);
+                NdjsonRowWriter writer = switch (dataset) {
+                    case MODELS -> new NdjsonRowWriter(generator, "tag_slugs");
+                    case RATINGS, COMMENTS -> new NdjsonRowWriter(generator);
+                };
+                switch (dataset) {
+                    case MODELS -> catalogExportRepository.streamModels(afterId, writer);
+                    case RATINGS -> catalogExportRepository.streamRatings(afterId, writer);
+                    case COMMENTS -> catalogExportRepository.streamComments(afterId, writer);
+                }
+                writer.finish();
+                return writer.getRowsWritten();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} {} rows after id {} in {} ms",
+                rows, dataset.name().toLowerCase(), afterId, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,87 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.AIModelsImportedEvent;
+import com.toolsai.server.event.OrganizationChangedEvent;
+import com.toolsai.server.util.ETags;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A version counter per resource collection, bumped after a catalog write commits. List
+ * endpoints answer conditional GETs from it without running their query.
+ * <p>
+ * Versions live in memory, so tags carry a per-process id: a restart or another instance
+ * yields a different tag and the client just gets a full response. There is deliberately
+ * no Last-Modified, because a per-process timestamp could match on another instance and
+ * produce a wrong 304. Engagement counters shown in listings do not bump the version and
+ * may lag until the next catalog change; lists ordered by engagement send no tag at all.
+ */
+@Component
+public class CollectionVersions {
+
+    public enum Resource {
+        MODELS,
+        ORGANIZATIONS,
+        TAGS
+    }
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Resource, AtomicLong> versions = new EnumMap<>(Resource.class);
+
+    public CollectionVersions() {
+        for (Resource resource : Resource.values()) {
+            versions.put(resource, new AtomicLong());
+        }
+    }
+
+    /**
+     * Sets the ETag for a listing of {@code resource} and returns true when the client's
+     * copy is current, in which case the caller should return no body.
+     */
+    public boolean checkNotModified(Resource resource, WebRequest webRequest) {
+        // Different pages, filters and sorts of one collection are different representations
+        HttpServletRequest request = webRequest instanceof NativeWebRequest nativeRequest
+                ? nativeRequest.getNativeRequest(HttpServletRequest.class)
+                : null;
+        String requestKey = request != null ? request.getRequestURI() + "?" + request.getQueryString() : "";
+
+        String eTag = ETags.of(resource.name().toLowerCase(Locale.ROOT), instanceId,
+                versions.get(resource).get(), Integer.toHexString(requestKey.hashCode()));
+        return webRequest.checkNotModified(eTag);
+    }
+
+    public void bump(Resource resource) {
+        versions.get(resource).incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelChanged(AIModelChangedEvent event) {
+        // A model write can create tags and changes its organization's model count
+        bump(Resource.MODELS);
+        bump(Resource.ORGANIZATIONS);
+        bump(Resource.TAGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelsImported(AIModelsImportedEvent event) {
+        bump(Resource.MODELS);
+        bump(Resource.ORGANIZATIONS);
+        bump(Resource.TAGS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        // Model listings embed their organization
+        bump(Resource.ORGANIZATIONS);
+        bump(Resource.MODELS);
+    }
+}
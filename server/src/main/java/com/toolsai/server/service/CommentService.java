@@ -1,28 +1,62 @@
 package com.toolsai.server.service;
 
 import com.toolsai.server.dto.request.CommentCreateRequest;
+import com.toolsai.server.dto.response.CommentNodeResponse;
 import com.toolsai.server.dto.response.CommentResponse;
+import com.toolsai.server.dto.response.CommentThreadResponse;
+import com.toolsai.server.dto.response.CursorPage;
+import com.toolsai.server.dto.response.UserResponse;
+import com.toolsai.server.event.ModelEngagementEvent;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.CommentMapper;
+import com.toolsai.server.mapper.UserMapper;
 import com.toolsai.server.model.AIModel;
 import com.toolsai.server.model.AIModelComment;
 import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.CounterMetric;
+import com.toolsai.server.model.enums.VoteType;
+import com.toolsai.server.model.id.Snowflake;
 import com.toolsai.server.repository.AIModelCommentRepository;
 import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.CommentVoteRepository;
 import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.repository.projection.CommentTreeRow;
+import com.toolsai.server.service.counter.ModelCounters;
+import com.toolsai.server.util.KeysetCursor;
+import com.toolsai.server.util.ScoreCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CommentService {
 
     private final AIModelCommentRepository commentRepository;
+    private final CommentVoteRepository voteRepository;
     private final AIModelRepository aiModelRepository;
     private final UserRepository userRepository;
+    private final ModelCounters modelCounters;
+    private final CommentMapper commentMapper;
+    private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public CommentResponse createComment(Long modelId, Long userId, CommentCreateRequest request) {
@@ -47,11 +81,12 @@ public class CommentService {
 
         AIModelComment savedComment = commentRepository.save(comment);
 
-        // Update model comment count
-        aiModel.setCommentCount(aiModel.getCommentCount() + 1);
-        aiModelRepository.save(aiModel);
+        LocalDateTime now = LocalDateTime.now();
+        modelCounters.add(modelId, CounterMetric.COMMENTS, 1, now);
+        addToThreadCount(modelId, request.getParentCommentId(), 1, now);
+        eventPublisher.publishEvent(ModelEngagementEvent.comment(modelId, 1));
 
-        return convertToResponse(savedComment);
+        return commentMapper.toResponse(savedComment);
     }
 
     public Page<CommentResponse> getCommentsByModel(Long modelId, Pageable pageable) {
@@ -59,7 +94,103 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
 
         return commentRepository.findTopLevelCommentsByModel(aiModel, pageable)
-                .map(this::convertToResponse);
+                .map(commentMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> scrollCommentsByModel(Long modelId, String cursor, int size) {
+        AIModel aiModel = aiModelRepository.findById(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<AIModelComment> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = commentRepository.findTopLevelCommentSliceByModel(aiModel, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = commentRepository.findTopLevelCommentSliceByModelAfter(
+                    aiModel, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPage.of(slice, commentMapper::toResponse,
+                comment -> new KeysetCursor(comment.getCreatedAt(), comment.getId()));
+    }
+
+    /**
+     * Top-level comments ordered by Wilson score, best first. Reads the
+     * (model, score, id) index in order, so no page needs a sort.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getBestCommentsByModel(Long modelId, String cursor, int size) {
+        AIModel aiModel = aiModelRepository.findById(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<AIModelComment> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = commentRepository.findBestTopLevelCommentSliceByModel(aiModel, pageable);
+        } else {
+            ScoreCursor position = ScoreCursor.decode(cursor);
+            slice = commentRepository.findBestTopLevelCommentSliceByModelAfter(
+                    aiModel, position.getScore(), position.getId(), pageable);
+        }
+        return CursorPage.of(slice, commentMapper::toResponse,
+                comment -> new ScoreCursor(comment.getWilsonScore(), comment.getId()));
+    }
+
+    /**
+     * A page of comments under {@code parentCommentId}, or of top-level comments when null,
+     * each with up to {@code limit} replies per level down to {@code depth} levels. The
+     * whole tree is one query and its authors a second one; the level's total comes from
+     * the stored counters.
+     */
+    public CommentThreadResponse getThread(Long modelId, Long parentCommentId, int depth, int limit, String cursor) {
+        int totalCount;
+        if (parentCommentId == null) {
+            totalCount = aiModelRepository.findTopLevelCommentCount(modelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"))
+                    + (int) modelCounters.pending(modelId, CounterMetric.TOP_LEVEL_COMMENTS);
+        } else {
+            totalCount = commentRepository.findReplyCount(parentCommentId, modelId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        }
+        KeysetCursor after = cursor == null || cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+
+        List<CommentTreeRow> rows = commentRepository.findThread(modelId, parentCommentId,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, limit, depth);
+        Set<Long> authorIds = rows.stream().map(CommentTreeRow::getUserId).collect(Collectors.toSet());
+        Map<Long, UserResponse> authors = userRepository.findAllById(authorIds).stream()
+                .collect(Collectors.toMap(User::getId, userMapper::toResponse));
+
+        // Parents arrive before their replies, in display order
+        Map<Long, CommentNodeResponse> nodes = new HashMap<>();
+        List<CommentNodeResponse> comments = new ArrayList<>();
+        boolean hasMore = false;
+        CommentTreeRow last = null;
+        for (CommentTreeRow row : rows) {
+            if (row.getDepth() == 1 && comments.size() == limit) {
+                hasMore = true; // The lookahead row, loaded without replies
+                continue;
+            }
+            CommentNodeResponse node = commentMapper.toNode(row, authors.get(row.getUserId()));
+            nodes.put(row.getId(), node);
+            if (row.getDepth() == 1) {
+                comments.add(node);
+                last = row;
+            } else {
+                nodes.get(row.getParentCommentId()).getReplies().add(node);
+            }
+        }
+
+        CommentThreadResponse response = new CommentThreadResponse();
+        response.setComments(comments);
+        response.setLimit(limit);
+        response.setDepth(depth);
+        response.setTotalCount(totalCount);
+        response.setHasMore(hasMore);
+        if (hasMore) {
+            response.setNextCursor(new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return response;
     }
 
     public Page<CommentResponse> getCommentsByUser(Long userId, Pageable pageable) {
@@ -67,7 +198,7 @@ public class CommentService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         return commentRepository.findByUserAndIsDeleted(user, false, pageable)
-                .map(this::convertToResponse);
+                .map(commentMapper::toResponse);
     }
 
     @Transactional
@@ -83,7 +214,7 @@ public class CommentService {
         comment.setIsEdited(true);
 
         AIModelComment savedComment = commentRepository.save(comment);
-        return convertToResponse(savedComment);
+        return commentMapper.toResponse(savedComment);
     }
 
     @Transactional
@@ -95,21 +226,105 @@ public class CommentService {
             throw new IllegalStateException("You can only delete your own comments");
         }
 
-        comment.setIsDeleted(true);
-        commentRepository.save(comment);
+        LocalDateTime now = LocalDateTime.now();
+        if (commentRepository.markDeleted(commentId, now) == 0) {
+            return; // Already deleted
+        }
 
-        // Update model comment count
-        AIModel aiModel = comment.getAiModel();
-        aiModel.setCommentCount(aiModel.getCommentCount() - 1);
-        aiModelRepository.save(aiModel);
+        Long modelId = comment.getAiModel().getId();
+        modelCounters.add(modelId, CounterMetric.COMMENTS, -1, now);
+        addToThreadCount(modelId, comment.getParentComment() != null ? comment.getParentComment().getId() : null,
+                -1, now);
+        eventPublisher.publishEvent(ModelEngagementEvent.comment(modelId, -1));
     }
 
-    private CommentResponse convertToResponse(AIModelComment comment) {
-        CommentResponse response = new CommentResponse();
-        BeanUtils.copyProperties(comment, response);
-        if (comment.getParentComment() != null) {
-            response.setParentCommentId(comment.getParentComment().getId());
+    /**
+     * Casts or switches the user's vote. The vote row and the counters change together:
+     * each step is one conditional statement whose row count says whether it applied, so
+     * concurrent or repeated votes by the same user are never counted twice.
+     */
+    @Transactional
+    public CommentResponse vote(Long modelId, Long commentId, Long userId, VoteType voteType) {
+        requireVotableComment(modelId, commentId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+
+        if (voteRepository.changeVoteType(userId, commentId, voteType.opposite(), voteType) > 0) {
+            applyVoteChange(commentId, voteType, 1);
+            applyVoteChange(commentId, voteType.opposite(), -1);
+        } else if (voteRepository.insertIfAbsent(
+                Snowflake.next(), userId, commentId, voteType.name(), LocalDateTime.now()) > 0) {
+            applyVoteChange(commentId, voteType, 1);
         }
-        return response;
+        // Otherwise the user already voted this way
+
+        return refreshedComment(commentId);
+    }
+
+    @Transactional
+    public CommentResponse unvote(Long modelId, Long commentId, Long userId) {
+        requireVotableComment(modelId, commentId);
+
+        for (VoteType voteType : VoteType.values()) {
+            if (voteRepository.deleteVote(userId, commentId, voteType) > 0) {
+                applyVoteChange(commentId, voteType, -1);
+                break;
+            }
+        }
+        return refreshedComment(commentId);
+    }
+
+    // Comments from before the score column existed get theirs from their counts
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillWilsonScores() {
+        int backfilled = commentRepository.backfillWilsonScores();
+        if (backfilled > 0) {
+            log.info("Backfilled Wilson scores of {} comments", backfilled);
+        }
+    }
+
+    // Comments and models from before the thread counters existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillThreadCounts() {
+        int comments = commentRepository.backfillReplyCounts();
+        int models = aiModelRepository.backfillTopLevelCommentCounts();
+        if (comments > 0 || models > 0) {
+            log.info("Backfilled reply counts of {} comments and top-level comment counts of {} models",
+                    comments, models);
+        }
+    }
+
+    // The count of comments on the new or deleted comment's level, what a thread page reports as its total
+    private void addToThreadCount(Long modelId, Long parentCommentId, int delta, LocalDateTime now) {
+        if (parentCommentId == null) {
+            modelCounters.add(modelId, CounterMetric.TOP_LEVEL_COMMENTS, delta, now);
+        } else {
+            commentRepository.addToReplyCount(parentCommentId, delta);
+        }
+    }
+
+    private void requireVotableComment(Long modelId, Long commentId) {
+        AIModelComment comment = commentRepository.findById(commentId)
+                .filter(found -> found.getAiModel().getId().equals(modelId))
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+        if (Boolean.TRUE.equals(comment.getIsDeleted())) {
+            throw new IllegalStateException("Cannot vote on a deleted comment");
+        }
+    }
+
+    private void applyVoteChange(Long commentId, VoteType voteType, int delta) {
+        commentRepository.addToVoteCounts(commentId,
+                voteType == VoteType.UP ? delta : 0, voteType == VoteType.DOWN ? delta : 0);
+        commentRepository.updateWilsonScore(commentId);
+    }
+
+    private CommentResponse refreshedComment(Long commentId) {
+        // The updates cleared the persistence context, so this reads the new counts
+        return commentRepository.findById(commentId)
+                .map(commentMapper::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,23 @@
 package com.toolsai.server.service;
 
+import com.toolsai.server.event.LikeToggledEvent;
+import com.toolsai.server.event.ModelEngagementEvent;
 import com.toolsai.server.exception.ResourceNotFoundException;
 import com.toolsai.server.model.AIModel;
-import com.toolsai.server.model.AIModelLike;
-import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.CounterMetric;
+import com.toolsai.server.model.id.Snowflake;
 import com.toolsai.server.repository.AIModelLikeRepository;
 import com.toolsai.server.repository.AIModelRepository;
 import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.counter.ModelCounters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class LikeService {
@@ -18,47 +25,67 @@ public class LikeService {
     private final AIModelLikeRepository likeRepository;
     private final AIModelRepository aiModelRepository;
     private final UserRepository userRepository;
+    private final ModelCounters modelCounters;
+    private final UserLikesCache userLikesCache;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Removes the like if there is one, otherwise adds it. The delete goes first and the
+     * counter moves only by what the like table actually changed, so concurrent toggles
+     * cannot drift the count or create duplicate likes.
+     */
     @Transactional
     public boolean toggleLike(Long modelId, Long userId) {
-        AIModel aiModel = aiModelRepository.findById(modelId)
-                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (!aiModelRepository.existsById(modelId)) {
+            throw new ResourceNotFoundException("AI Model not found");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
-        if (likeRepository.existsByUserAndAiModel(user, aiModel)) {
-            likeRepository.deleteByUserAndAiModel(user, aiModel);
-            aiModel.setLikeCount(aiModel.getLikeCount() - 1);
-            aiModelRepository.save(aiModel);
+        LocalDateTime now = LocalDateTime.now();
+        if (likeRepository.deleteByUserIdAndModelId(userId, modelId) > 0) {
+            modelCounters.add(modelId, CounterMetric.LIKES, -1, now);
+            eventPublisher.publishEvent(ModelEngagementEvent.like(modelId, -1));
+            eventPublisher.publishEvent(new LikeToggledEvent(userId, modelId));
             return false; // Like removed
-        } else {
-            AIModelLike like = AIModelLike.builder()
-                    .user(user)
-                    .aiModel(aiModel)
-                    .build();
-            likeRepository.save(like);
+        }
 
-            aiModel.setLikeCount(aiModel.getLikeCount() + 1);
-            aiModelRepository.save(aiModel);
-            return true; // Like added
+        if (likeRepository.insertIfAbsent(Snowflake.next(), userId, modelId, now) > 0) {
+            modelCounters.add(modelId, CounterMetric.LIKES, 1, now);
+            eventPublisher.publishEvent(ModelEngagementEvent.like(modelId, 1));
+            eventPublisher.publishEvent(new LikeToggledEvent(userId, modelId));
         }
+        return true; // Like added
     }
 
     public boolean isLikedByUser(Long modelId, Long userId) {
-        AIModel aiModel = aiModelRepository.findById(modelId)
-                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+        if (!aiModelRepository.existsById(modelId)) {
+            throw new ResourceNotFoundException("AI Model not found");
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return userLikesCache.isLiked(userId, modelId);
+    }
+
+    /**
+     * The subset of {@code modelIds} the user likes, for marking a whole listing page at
+     * once. Unknown model ids are simply not liked.
+     */
+    public List<Long> getLikedModelIds(Long userId, List<Long> modelIds) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
-        return likeRepository.existsByUserAndAiModel(user, aiModel);
+        return userLikesCache.filterLiked(userId, modelIds);
     }
 
     public long getLikeCount(Long modelId) {
         AIModel aiModel = aiModelRepository.findById(modelId)
                 .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
 
-        return likeRepository.countByAiModel(aiModel);
+        return aiModel.getLikeCount() + modelCounters.pending(modelId, CounterMetric.LIKES);
     }
 }
\ No newline at end of file
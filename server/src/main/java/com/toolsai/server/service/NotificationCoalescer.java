@@ -0,0 +1,193 @@
+package com.toolsai.server.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toolsai.server.dto.response.NotificationCoalescingStatsResponse;
+import com.toolsai.server.dto.response.NotificationResponse;
+import com.toolsai.server.event.NotificationsCreatedEvent;
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
+import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.NotificationMapper;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Notification;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.repository.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges repeated activity on one model into a single notification per receiver. An event
+ * finds the receiver's unread notification of the same type about the same model created
+ * within {@code window}, and rewrites it in place with one more actor; only when there is
+ * none is a row inserted. The row keeps the actor count and the latest actors in its data;
+ * an actor who returns after dropping out of the latest ones is counted again.
+ * <p>
+ * Two first events racing for an aggregate that does not exist yet may both insert; every
+ * later event in the window merges into the newest of them.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private static final Map<NotificationType, String> VERBS = Map.of(
+            NotificationType.MODEL_LIKED, "liked",
+            NotificationType.MODEL_COMMENTED, "commented on",
+            NotificationType.MODEL_RATED, "rated");
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final AIModelRepository aiModelRepository;
+    private final NotificationMapper notificationMapper;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration window;
+    private final int maxActors;
+
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong rowsInserted = new AtomicLong();
+    private final AtomicLong rowsMerged = new AtomicLong();
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 UserRepository userRepository,
+                                 AIModelRepository aiModelRepository,
+                                 NotificationMapper notificationMapper,
+                                 ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.notifications.coalescing.window:1h}") Duration window,
+                                 @Value("${app.notifications.coalescing.max-actors:5}") int maxActors) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.aiModelRepository = aiModelRepository;
+        this.notificationMapper = notificationMapper;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.window = window;
+        this.maxActors = maxActors;
+    }
+
+    /**
+     * Records that {@code actorId} liked, commented on or rated the model, for {@code receiverId}.
+     * <p>
+     * Nothing calls this yet: models belong to organizations, which have no member users to
+     * receive these notifications. The like, comment and rating paths are meant to call it
+     * once a model has an owning user.
+     */
+    @Transactional
+    public NotificationResponse notifyModelActivity(Long receiverId, NotificationType type, Long modelId, Long actorId) {
+        String verb = VERBS.get(type);
+        if (verb == null) {
+            throw new IllegalArgumentException("Notifications of type " + type + " are not coalesced");
+        }
+        User actor = userRepository.findById(actorId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        AIModel model = aiModelRepository.findById(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+        events.incrementAndGet();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> open = notificationRepository.findCoalescibleForUpdate(
+                receiverId, type, modelId, now.minus(window), PageRequest.of(0, 1));
+
+        Notification notification;
+        Actors actors;
+        if (open.isEmpty()) {
+            notification = Notification.builder()
+                    .type(type)
+                    .subjectId(modelId)
+                    .actionUrl("/models/" + model.getModelSlug())
+                    .receiver(userRepository.findById(receiverId)
+                            .orElseThrow(() -> new ResourceNotFoundException("Receiver not found")))
+                    .build();
+            actors = new Actors(modelId, 0, new ArrayList<>());
+        } else {
+            notification = open.get(0);
+            actors = readActors(notification);
+        }
+
+        // A repeat actor moves to the front without counting twice
+        if (!actors.getLatestActorIds().remove(actorId)) {
+            actors.setActorCount(actors.getActorCount() + 1);
+        }
+        actors.getLatestActorIds().add(0, actorId);
+        if (actors.getLatestActorIds().size() > maxActors) {
+            actors.getLatestActorIds().subList(maxActors, actors.getLatestActorIds().size()).clear();
+        }
+
+        int others = actors.getActorCount() - 1;
+        String who = others == 0 ? actor.getUsername()
+                : actor.getUsername() + " and " + others + (others == 1 ? " other" : " others");
+        notification.setTitle(truncate(who + " " + verb + " " + model.getModelName(), 200));
+        notification.setMessage(truncate(who + " " + verb + " your model " + model.getModelName(), 1000));
+        notification.setSender(actor);
+        notification.setData(writeActors(actors));
+        notification.setUpdatedAt(now);
+
+        Notification saved = notificationRepository.save(notification);
+        if (open.isEmpty()) {
+            rowsInserted.incrementAndGet();
+            eventPublisher.publishEvent(new UnreadNotificationsChangedEvent(receiverId, 1));
+        } else {
+            rowsMerged.incrementAndGet();
+        }
+        // Streams get merged notifications again under the same id
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(saved)));
+        return notificationMapper.toResponse(saved);
+    }
+
+    public NotificationCoalescingStatsResponse getStats() {
+        long total = events.get();
+        NotificationCoalescingStatsResponse stats = new NotificationCoalescingStatsResponse();
+        stats.setWindow(window);
+        stats.setEvents(total);
+        stats.setRowsInserted(rowsInserted.get());
+        stats.setRowsMerged(rowsMerged.get());
+        stats.setRowReduction(total == 0 ? 0 : (double) rowsMerged.get() / total);
+        return stats;
+    }
+
+    private Actors readActors(Notification notification) {
+        try {
+            return objectMapper.readValue(notification.getData(), Actors.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new IllegalStateException("Malformed data of notification " + notification.getId(), e);
+        }
+    }
+
+    private String writeActors(Actors actors) {
+        try {
+            return objectMapper.writeValueAsString(actors);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Lengths of the notifications.title and message columns
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    // Shape of Notification.data for coalesced notifications
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Actors {
+        private Long modelId;
+        private int actorCount;
+        private List<Long> latestActorIds;
+    }
+}
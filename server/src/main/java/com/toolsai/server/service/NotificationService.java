@@ -1,18 +1,29 @@
 package com.toolsai.server.service;
 
+import com.toolsai.server.dto.response.CursorPage;
 import com.toolsai.server.dto.response.NotificationResponse;
+import com.toolsai.server.event.NotificationsCreatedEvent;
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.NotificationMapper;
 import com.toolsai.server.model.Notification;
 import com.toolsai.server.model.User;
 import com.toolsai.server.model.enums.NotificationType;
 import com.toolsai.server.repository.NotificationRepository;
 import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +31,10 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationMapper notificationMapper;
+    private final UnreadNotificationCounts unreadCounts;
+    private final NotificationStreams notificationStreams;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public NotificationResponse createNotification(Long receiverId, String title, String message,
@@ -42,7 +57,9 @@ public class NotificationService {
                 .build();
 
         Notification savedNotification = notificationRepository.save(notification);
-        return convertToResponse(savedNotification);
+        eventPublisher.publishEvent(new UnreadNotificationsChangedEvent(receiverId, 1));
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(List.of(savedNotification)));
+        return notificationMapper.toResponse(savedNotification);
     }
 
     public Page<NotificationResponse> getNotificationsByUser(Long userId, Pageable pageable) {
@@ -50,22 +67,47 @@ public class NotificationService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         return notificationRepository.findByReceiver(user, pageable)
-                .map(this::convertToResponse);
+                .map(notificationMapper::toResponse);
     }
 
-    public Page<NotificationResponse> getUnreadNotifications(Long userId, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationResponse> scrollNotificationsByUser(Long userId, String cursor, int size) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return notificationRepository.findByReceiverAndIsRead(user, false, pageable)
-                .map(this::convertToResponse);
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<Notification> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = notificationRepository.findSliceByReceiver(user, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = notificationRepository.findSliceByReceiverAfter(
+                    user, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPage.of(slice, notificationMapper::toResponse,
+                notification -> new KeysetCursor(notification.getCreatedAt(), notification.getId()));
     }
 
-    public long getUnreadNotificationCount(Long userId) {
+    public Page<NotificationResponse> getUnreadNotifications(Long userId, Pageable pageable) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        return notificationRepository.countUnreadNotificationsByReceiver(user);
+        return notificationRepository.findByReceiverAndIsRead(user, false, pageable)
+                .map(notificationMapper::toResponse);
+    }
+
+    public SseEmitter streamNotifications(Long userId, String lastEventId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return notificationStreams.open(userId, lastEventId);
+    }
+
+    public long getUnreadNotificationCount(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
+        return unreadCounts.get(userId);
     }
 
     @Transactional
@@ -77,25 +119,20 @@ public class NotificationService {
             throw new IllegalStateException("You can only mark your own notifications as read");
         }
 
-        notification.setIsRead(true);
-        notificationRepository.save(notification);
+        if (notificationRepository.markRead(notificationId, LocalDateTime.now()) > 0) {
+            eventPublisher.publishEvent(new UnreadNotificationsChangedEvent(userId, -1));
+        }
     }
 
     @Transactional
     public void markAllNotificationsAsRead(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        Page<Notification> unreadNotifications = notificationRepository.findByReceiverAndIsRead(
-                user, false, Pageable.unpaged());
-
-        unreadNotifications.forEach(notification -> notification.setIsRead(true));
-        notificationRepository.saveAll(unreadNotifications);
-    }
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found");
+        }
 
-    private NotificationResponse convertToResponse(Notification notification) {
-        NotificationResponse response = new NotificationResponse();
-        BeanUtils.copyProperties(notification, response);
-        return response;
+        int marked = notificationRepository.markAllReadByReceiverId(userId, LocalDateTime.now());
+        if (marked > 0) {
+            eventPublisher.publishEvent(new UnreadNotificationsChangedEvent(userId, -marked));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.event.NotificationsCreatedEvent;
+import com.toolsai.server.mapper.NotificationMapper;
+import com.toolsai.server.model.Notification;
+import com.toolsai.server.model.id.Snowflake;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.util.KeysetCursor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open Server-Sent Events streams per user. Notifications are queued on their receiver's
+ * streams once committed and written out by a small pool of sender threads, so neither the
+ * committing thread nor a fan-out worker ever waits on a client. A stream whose queue fills
+ * up is closed; the client reconnects and catches up through the replay.
+ * <p>
+ * Event ids are the notification's (updatedAt, id) position. A client reconnecting with
+ * {@code Last-Event-ID} first gets every unread notification created or merged into since a
+ * little before that position, read back from the table: {@code updated_at} is stamped before
+ * commit, so rows can become visible out of order by up to the commit time, and the overlap
+ * covers that. Reads move {@code updated_at} as well, which is why read rows are left out.
+ * When more changed than {@code replay-limit}, the oldest are replayed and followed by a
+ * {@code refetch} event, telling the client to reload its list rather than trust the stream.
+ * Notifications inside the overlap may arrive twice; clients keep them by id. A merged
+ * notification is sent again under its id, at its new position, both live and on replay.
+ * <p>
+ * Streams are async requests, so an idle one holds no servlet thread, only its emitter.
+ * Comment-only heartbeats keep proxies from closing idle streams and detect dead clients.
+ */
+@Component
+@Slf4j
+public class NotificationStreams {
+
+    // Events a sender thread writes to one stream before letting the other streams go
+    private static final int SEND_BATCH = 32;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationMapper notificationMapper;
+    private final Duration timeout;
+    private final int replayLimit;
+    private final Duration replayOverlap;
+    private final int maxStreamsPerUser;
+    private final int sendQueueSize;
+    private final ExecutorService sender;
+
+    private final ConcurrentHashMap<Long, List<Stream>> streamsByUser = new ConcurrentHashMap<>();
+
+    public NotificationStreams(NotificationRepository notificationRepository,
+                               NotificationMapper notificationMapper,
+                               @Value("${app.notifications.stream.timeout:30m}") Duration timeout,
+                               @Value("${app.notifications.stream.replay-limit:100}") int replayLimit,
+                               @Value("${app.notifications.stream.replay-overlap:30s}") Duration replayOverlap,
+                               @Value("${app.notifications.stream.max-streams-per-user:5}") int maxStreamsPerUser,
+                               @Value("${app.notifications.stream.send-queue-size:256}") int sendQueueSize,
+                               @Value("${app.notifications.stream.sender-threads:4}") int senderThreads) {
+        this.notificationRepository = notificationRepository;
+        this.notificationMapper = notificationMapper;
+        this.timeout = timeout;
+        this.replayLimit = replayLimit;
+        this.replayOverlap = replayOverlap;
+        this.maxStreamsPerUser = maxStreamsPerUser;
+        this.sendQueueSize = sendQueueSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "notification-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens a stream for the user, replaying what changed since {@code lastEventId} if given.
+     * Ids from before event ids were positions are plain notification ids and still accepted.
+     * Past the per-user limit the oldest stream is closed; clients reconnect on their own.
+     */
+    public SseEmitter open(Long userId, String lastEventId) {
+        LocalDateTime since = lastEventId != null ? positionOf(lastEventId).minus(replayOverlap) : null;
+
+        Stream stream = new Stream(userId, new SseEmitter(timeout.toMillis()));
+        stream.emitter.onCompletion(() -> remove(stream));
+        stream.emitter.onTimeout(() -> remove(stream));
+        stream.emitter.onError(error -> remove(stream));
+
+        // Registered before the replay is read, so nothing committed in between is missed;
+        // live events wait in the queue until the replay is in front of them
+        List<Stream> streams = streamsByUser.compute(userId, (id, current) -> {
+            List<Stream> registered = current != null ? current : new CopyOnWriteArrayList<>();
+            registered.add(stream);
+            return registered;
+        });
+        if (streams.size() > maxStreamsPerUser) {
+            streams.get(0).close();
+        }
+
+        List<Event> replay = new ArrayList<>();
+        if (since != null) {
+            List<Notification> missed = notificationRepository.findUnreadByReceiverIdUpdatedSince(
+                    userId, since, PageRequest.of(0, replayLimit + 1));
+            missed.stream().limit(replayLimit).map(this::toEvent).forEach(replay::add);
+            if (missed.size() > replayLimit) {
+                replay.add(new Event(null, SseEmitter.event().name("refetch").data(replayLimit)));
+            }
+        }
+        stream.start(replay);
+        return stream.emitter;
+    }
+
+    public int getOpenStreams() {
+        return streamsByUser.values().stream().mapToInt(List::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsCreated(NotificationsCreatedEvent event) {
+        for (Notification notification : event.getNotifications()) {
+            List<Stream> streams = streamsByUser.get(notification.getReceiver().getId());
+            if (streams == null) {
+                continue;
+            }
+            // Event builders hold their own buffer, so each stream gets its own
+            for (Stream stream : streams) {
+                stream.enqueue(toEvent(notification));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.stream.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        streamsByUser.values().forEach(streams -> streams.forEach(stream ->
+                stream.enqueue(new Event(null, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    private Event toEvent(Notification notification) {
+        LocalDateTime updatedAt = notification.getUpdatedAt() != null
+                ? notification.getUpdatedAt() : notification.getCreatedAt();
+        Version version = new Version(notification.getId(), updatedAt.truncatedTo(ChronoUnit.MICROS));
+        return new Event(version, SseEmitter.event()
+                .id(new KeysetCursor(updatedAt, notification.getId()).encode())
+                .name("notification")
+                .data(notificationMapper.toResponse(notification)));
+    }
+
+    private static LocalDateTime positionOf(String lastEventId) {
+        if (!lastEventId.isEmpty() && lastEventId.chars().allMatch(Character::isDigit)) {
+            long timestamp = Snowflake.timestampOf(Long.parseLong(lastEventId));
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+        }
+        return KeysetCursor.decode(lastEventId).getCreatedAt();
+    }
+
+    private void remove(Stream stream) {
+        streamsByUser.computeIfPresent(stream.userId, (userId, streams) -> {
+            streams.remove(stream);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    // A notification event, or a heartbeat or refetch when there is no version
+    private record Event(Version version, SseEmitter.SseEventBuilder builder) {
+    }
+
+    // Merged notifications come again under the same id, so only an equal updatedAt is a repeat;
+    // kept to the microseconds the database stores
+    private record Version(Long id, LocalDateTime updatedAt) {
+    }
+
+    /*
+     * The monitor guards the queue and flags only; sends happen outside it, by at most one
+     * sender thread at a time per stream since emitters are not safe for concurrent sends.
+     */
+    private final class Stream {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private final Set<Version> replayed = new HashSet<>();
+        // Held until the replay is queued, so live events cannot overtake it
+        private boolean draining = true;
+        private boolean closed;
+
+        private Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        private void start(List<Event> replay) {
+            synchronized (this) {
+                ArrayDeque<Event> live = new ArrayDeque<>(queue);
+                queue.clear();
+                for (Event event : replay) {
+                    if (event.version() != null) {
+                        replayed.add(event.version());
+                    }
+                    queue.add(event);
+                }
+                // The replay may already hold what was pushed while it was read
+                for (Event event : live) {
+                    if (event.version() == null || !replayed.remove(event.version())) {
+                        queue.add(event);
+                    }
+                }
+            }
+            schedule();
+        }
+
+        private void enqueue(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (event.version() != null && replayed.remove(event.version())) {
+                    return;
+                }
+                if (queue.size() >= sendQueueSize) {
+                    log.debug("Notification stream of user {} fell {} events behind, closing it", userId, queue.size());
+                    closeLocked();
+                } else {
+                    queue.add(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        // Completion also goes through the sender, as it waits for a send in progress
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closeLocked();
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void closeLocked() {
+            closed = true;
+            queue.clear();
+            remove(this);
+        }
+
+        private void schedule() {
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                remove(this);
+            }
+        }
+
+        private void drain() {
+            for (int sent = 0; ; sent++) {
+                Event next = null;
+                boolean complete;
+                synchronized (this) {
+                    complete = closed;
+                    if (closed) {
+                        draining = false;
+                    } else if (sent < SEND_BATCH) {
+                        next = queue.poll();
+                        draining = next != null;
+                    }
+                }
+                if (complete) {
+                    emitter.complete();
+                    return;
+                }
+                if (next == null) {
+                    // Still draining after a full batch: go to the back of the line
+                    if (sent == SEND_BATCH) {
+                        schedule();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(next.builder());
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Closing notification stream of user {}", userId, e);
+                    synchronized (this) {
+                        closeLocked();
+                        draining = false;
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.toolsai.server.service;
 
 import com.toolsai.server.dto.request.OrganizationCreateRequest;
 import com.toolsai.server.dto.response.OrganizationResponse;
+import com.toolsai.server.event.OrganizationChangedEvent;
 import com.toolsai.server.exception.ResourceAlreadyExistsException;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.OrganizationMapper;
 import com.toolsai.server.model.Organization;
 import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.projection.EntityVersion;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,6 +24,8 @@ import java.util.UUID;
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final OrganizationMapper organizationMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public OrganizationResponse createOrganization(OrganizationCreateRequest request) {
@@ -47,29 +52,40 @@ public class OrganizationService {
                 .build();
 
         Organization savedOrganization = organizationRepository.save(organization);
-        return convertToResponse(savedOrganization);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(savedOrganization.getId()));
+        return organizationMapper.toResponse(savedOrganization);
+    }
+
+    public EntityVersion getOrganizationVersionById(Long organizationId) {
+        return organizationRepository.findVersionById(organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found"));
+    }
+
+    public EntityVersion getOrganizationVersionBySlug(String slug) {
+        return organizationRepository.findVersionBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found"));
     }
 
     public OrganizationResponse getOrganizationById(Long organizationId) {
         Organization organization = organizationRepository.findById(organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found"));
-        return convertToResponse(organization);
+        return organizationMapper.toResponse(organization);
     }
 
     public OrganizationResponse getOrganizationBySlug(String slug) {
         Organization organization = organizationRepository.findByOrgSlug(slug)
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found"));
-        return convertToResponse(organization);
+        return organizationMapper.toResponse(organization);
     }
 
     public Page<OrganizationResponse> getAllOrganizations(Pageable pageable) {
         return organizationRepository.findAll(pageable)
-                .map(this::convertToResponse);
+                .map(organizationMapper::toResponse);
     }
 
     public Page<OrganizationResponse> searchOrganizations(String query, Pageable pageable) {
         return organizationRepository.searchByNameOrDescription(query, query, pageable)
-                .map(this::convertToResponse);
+                .map(organizationMapper::toResponse);
     }
 
     @Transactional
@@ -81,7 +97,8 @@ public class OrganizationService {
         organization.setLogoUrl(request.getLogoUrl());
 
         Organization savedOrganization = organizationRepository.save(organization);
-        return convertToResponse(savedOrganization);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(savedOrganization.getId()));
+        return organizationMapper.toResponse(savedOrganization);
     }
 
     @Transactional
@@ -90,11 +107,6 @@ public class OrganizationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found"));
         organization.setIsActive(false);
         organizationRepository.save(organization);
-    }
-
-    private OrganizationResponse convertToResponse(Organization organization) {
-        OrganizationResponse response = new OrganizationResponse();
-        BeanUtils.copyProperties(organization, response);
-        return response;
+        eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
     }
 }
\ No newline at end of file
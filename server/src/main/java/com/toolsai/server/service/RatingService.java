@@ -1,32 +1,46 @@
 package com.toolsai.server.service;
 
 import com.toolsai.server.dto.request.RatingCreateRequest;
+import com.toolsai.server.dto.response.CursorPage;
 import com.toolsai.server.dto.response.RatingResponse;
+import com.toolsai.server.dto.response.RatingSummaryResponse;
+import com.toolsai.server.event.ModelEngagementEvent;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.RatingMapper;
 import com.toolsai.server.model.AIModel;
 import com.toolsai.server.model.AIModelRating;
 import com.toolsai.server.model.User;
 import com.toolsai.server.repository.AIModelRatingRepository;
 import com.toolsai.server.repository.AIModelRepository;
 import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.trending.BayesianRatingPrior;
+import com.toolsai.server.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RatingService {
 
     private final AIModelRatingRepository ratingRepository;
     private final AIModelRepository aiModelRepository;
     private final UserRepository userRepository;
+    private final RatingMapper ratingMapper;
+    private final BayesianRatingPrior ratingPrior;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RatingResponse createOrUpdateRating(Long modelId, Long userId, RatingCreateRequest request) {
@@ -36,7 +50,8 @@ public class RatingService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        Optional<AIModelRating> existingRating = ratingRepository.findByUserAndAiModel(user, aiModel);
+        Optional<AIModelRating> existingRating = ratingRepository.findForUpdateByUserAndAiModel(user, aiModel);
+        int oldStars = existingRating.map(AIModelRating::getRating).orElse(0);
 
         AIModelRating rating;
         if (existingRating.isPresent()) {
@@ -54,10 +69,17 @@ public class RatingService {
 
         AIModelRating savedRating = ratingRepository.save(rating);
 
-        // Update model rating statistics
-        updateModelRatingStatistics(aiModel);
+        applyRatingChange(modelId, oldStars, savedRating.getRating());
+        eventPublisher.publishEvent(ModelEngagementEvent.rating(modelId, existingRating.isPresent() ? 0 : 1));
 
-        return convertToResponse(savedRating);
+        return ratingMapper.toResponse(savedRating);
+    }
+
+    public RatingSummaryResponse getRatingSummary(Long modelId) {
+        AIModel aiModel = aiModelRepository.findById(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+
+        return ratingMapper.toSummary(aiModel);
     }
 
     public Page<RatingResponse> getRatingsByModel(Long modelId, Pageable pageable) {
@@ -65,7 +87,25 @@ public class RatingService {
                 .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
 
         return ratingRepository.findByAiModel(aiModel, pageable)
-                .map(this::convertToResponse);
+                .map(ratingMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<RatingResponse> scrollRatingsByModel(Long modelId, String cursor, int size) {
+        AIModel aiModel = aiModelRepository.findById(modelId)
+                .orElseThrow(() -> new ResourceNotFoundException("AI Model not found"));
+
+        Pageable pageable = PageRequest.of(0, size);
+        Slice<AIModelRating> slice;
+        if (cursor == null || cursor.isBlank()) {
+            slice = ratingRepository.findSliceByAiModel(aiModel, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            slice = ratingRepository.findSliceByAiModelAfter(
+                    aiModel, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return CursorPage.of(slice, ratingMapper::toResponse,
+                rating -> new KeysetCursor(rating.getCreatedAt(), rating.getId()));
     }
 
     public Page<RatingResponse> getRatingsByUser(Long userId, Pageable pageable) {
@@ -73,39 +113,48 @@ public class RatingService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         return ratingRepository.findByUser(user, pageable)
-                .map(this::convertToResponse);
+                .map(ratingMapper::toResponse);
     }
 
     @Transactional
     public void deleteRating(Long ratingId, Long userId) {
-        AIModelRating rating = ratingRepository.findById(ratingId)
+        AIModelRating rating = ratingRepository.findForUpdateById(ratingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rating not found"));
 
         if (!rating.getUser().getId().equals(userId)) {
             throw new IllegalStateException("You can only delete your own ratings");
         }
 
-        AIModel aiModel = rating.getAiModel();
+        Long modelId = rating.getAiModel().getId();
         ratingRepository.delete(rating);
 
-        // Update model rating statistics
-        updateModelRatingStatistics(aiModel);
+        applyRatingChange(modelId, rating.getRating(), 0);
+        eventPublisher.publishEvent(ModelEngagementEvent.rating(modelId, -1));
     }
 
-    private void updateModelRatingStatistics(AIModel aiModel) {
-        long ratingCount = ratingRepository.countByAiModel(aiModel);
-        BigDecimal averageRating = ratingRepository.findAverageRatingByAiModel(aiModel);
-
-        aiModel.setRatingCount((int) ratingCount);
-        aiModel.setAverageRating(averageRating != null ?
-                averageRating.setScale(2, RoundingMode.HALF_UP) : null);
-
-        aiModelRepository.save(aiModel);
+    /**
+     * Fills in running rating aggregates for models that predate them; until then their
+     * rating changes fall back to a per-model recompute. Then scores all models against
+     * the current rating prior.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillRatingAggregates() {
+        int backfilled = aiModelRepository.backfillRatingAggregates();
+        if (backfilled > 0) {
+            log.info("Backfilled rating aggregates of {} models", backfilled);
+        }
+        ratingPrior.refresh();
     }
 
-    private RatingResponse convertToResponse(AIModelRating rating) {
-        RatingResponse response = new RatingResponse();
-        BeanUtils.copyProperties(rating, response);
-        return response;
+    private void applyRatingChange(Long modelId, int oldStars, int newStars) {
+        int countDelta = (newStars > 0 ? 1 : 0) - (oldStars > 0 ? 1 : 0);
+        double priorMean = ratingPrior.getMean();
+        double priorWeight = ratingPrior.getWeight();
+        if (aiModelRepository.applyRatingChange(modelId, oldStars, newStars, countDelta,
+                priorMean, priorWeight, LocalDateTime.now()) == 0) {
+            aiModelRepository.recomputeRatingAggregates(modelId);
+            aiModelRepository.updateBayesianRating(modelId, priorMean, priorWeight);
+        }
     }
-}
\ No newline at end of file
+}
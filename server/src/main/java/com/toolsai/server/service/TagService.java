@@ -1,10 +1,10 @@
 package com.toolsai.server.service;
 
 import com.toolsai.server.dto.response.TagResponse;
+import com.toolsai.server.mapper.TagMapper;
 import com.toolsai.server.model.Tag;
 import com.toolsai.server.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,39 +18,43 @@ import java.util.stream.Collectors;
 public class TagService {
 
     private final TagRepository tagRepository;
+    private final TagMapper tagMapper;
 
     @Transactional
     public Tag getOrCreateTag(String tagName) {
-        return tagRepository.findByName(tagName.toLowerCase())
+        String name = normalizeName(tagName);
+        return tagRepository.findByName(name)
                 .orElseGet(() -> {
                     Tag tag = Tag.builder()
-                            .name(tagName.toLowerCase())
-                            .slug(tagName.toLowerCase().replaceAll("[^a-z0-9]", "-"))
+                            .name(name)
+                            .slug(slugOf(name))
                             .build();
                     return tagRepository.save(tag);
                 });
     }
 
+    static String normalizeName(String tagName) {
+        return tagName.toLowerCase();
+    }
+
+    static String slugOf(String normalizedName) {
+        return normalizedName.replaceAll("[^a-z0-9]", "-");
+    }
+
     public Page<TagResponse> getAllTags(Pageable pageable) {
         return tagRepository.findAll(pageable)
-                .map(this::convertToResponse);
+                .map(tagMapper::toResponse);
     }
 
     public List<TagResponse> getMostUsedTags(int limit) {
         return tagRepository.findMostUsedTags(Pageable.ofSize(limit))
                 .stream()
-                .map(this::convertToResponse)
+                .map(tagMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     public Page<TagResponse> searchTags(String query, Pageable pageable) {
         return tagRepository.searchTags(query, pageable)
-                .map(this::convertToResponse);
-    }
-
-    private TagResponse convertToResponse(Tag tag) {
-        TagResponse response = new TagResponse();
-        BeanUtils.copyProperties(tag, response);
-        return response;
+                .map(tagMapper::toResponse);
     }
 }
\ No newline at end of file
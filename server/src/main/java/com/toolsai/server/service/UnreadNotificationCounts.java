@@ -0,0 +1,93 @@
+package com.toolsai.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.util.KeyGenerations;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Unread notification count per user, counted once on first use and then kept in step by
+ * the deltas of committed creates, reads and purges, so polling the count costs no query.
+ * <p>
+ * A count must not be installed if a delta it may already include is applied on top of it.
+ * Deltas are announced while their transaction is still open and settled once it ends, in
+ * per-user counters; a count is only installed if no delta was open when it started and
+ * none was announced or settled while it ran. Deltas published outside a transaction have
+ * already committed, so they drop the user's count instead of adjusting it.
+ */
+@Component
+public class UnreadNotificationCounts {
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, Long> unreadByUser;
+    private final KeyGenerations announced = new KeyGenerations(4096);
+    private final KeyGenerations settled = new KeyGenerations(4096);
+
+    public UnreadNotificationCounts(NotificationRepository notificationRepository,
+                                    @Value("${app.notifications.unread-counts.maximum-size:100000}") long maximumSize,
+                                    @Value("${app.notifications.unread-counts.ttl:10m}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.unreadByUser = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public long get(Long userId) {
+        Long cached = unreadByUser.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long announcedBefore = announced.get(userId);
+        long settledBefore = settled.get(userId);
+        long count = notificationRepository.countUnreadByReceiverId(userId);
+        if (announcedBefore == settledBefore) {
+            unreadByUser.asMap().computeIfAbsent(userId, id ->
+                    announced.get(id) == announcedBefore && settled.get(id) == settledBefore ? count : null);
+        }
+        return count;
+    }
+
+    /**
+     * Forgets every cached count, for changes made without per-user deltas.
+     */
+    public void invalidateAll() {
+        unreadByUser.invalidateAll();
+    }
+
+    // Runs when the event is published, inside the writing transaction if there is one
+    @EventListener
+    public void onUnreadNotificationsChanged(UnreadNotificationsChangedEvent event) {
+        Long userId = event.getUserId();
+        announced.bump(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            settle(userId, null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                settle(userId, status == STATUS_COMMITTED ? event.getDelta() : 0);
+            }
+        });
+    }
+
+    // Users not cached are counted afresh on their next poll; a null delta drops the count
+    private void settle(Long userId, Long delta) {
+        unreadByUser.asMap().compute(userId, (id, count) -> {
+            settled.bump(id);
+            if (count == null || delta == null) {
+                return null;
+            }
+            return Math.max(0, count + delta);
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.toolsai.server.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.toolsai.server.event.LikeToggledEvent;
+import com.toolsai.server.repository.AIModelLikeRepository;
+import com.toolsai.server.util.KeyGenerations;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compressed bitmap of liked model ids per user, loaded with one query on first use.
+ * The cache is bounded by the bitmaps' serialized size, so heavy likers are evicted first
+ * when it fills up. Toggles on this instance are applied as they commit; every bitmap is
+ * dropped {@code ttl} after it was loaded, which bounds how long toggles made on other
+ * instances go unseen.
+ * <p>
+ * Bitmaps are never mutated once cached: a toggle replaces the user's bitmap with an
+ * updated copy, so readers need no locking. A load that read the likes before a toggle
+ * committed is not installed: every toggle bumps the user's generation, and a load is
+ * only installed if the generation it started with is unchanged.
+ */
+@Component
+public class UserLikesCache {
+
+    // Rough per-entry overhead on top of the bitmap itself
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final AIModelLikeRepository likeRepository;
+    private final Cache<Long, Roaring64Bitmap> likedModelsByUser;
+    private final KeyGenerations generations = new KeyGenerations(4096);
+
+    public UserLikesCache(AIModelLikeRepository likeRepository,
+                          @Value("${app.user-likes.max-memory:64MB}") DataSize maxMemory,
+                          @Value("${app.user-likes.ttl:10m}") Duration ttl) {
+        this.likeRepository = likeRepository;
+        this.likedModelsByUser = Caffeine.newBuilder()
+                .maximumWeight(maxMemory.toBytes())
+                .weigher((Long userId, Roaring64Bitmap bitmap) ->
+                        (int) Math.min(Integer.MAX_VALUE, bitmap.serializedSizeInBytes() + ENTRY_OVERHEAD_BYTES))
+                // Counted from the load; applying a toggle does not extend it
+                .expireAfter(new Expiry<Long, Roaring64Bitmap>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Roaring64Bitmap bitmap, long currentTime) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Roaring64Bitmap bitmap, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Roaring64Bitmap bitmap, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public boolean isLiked(Long userId, Long modelId) {
+        return bitmap(userId).contains(modelId);
+    }
+
+    /**
+     * The ids among {@code modelIds} the user likes, in request order without duplicates.
+     */
+    public List<Long> filterLiked(Long userId, List<Long> modelIds) {
+        Roaring64Bitmap liked = bitmap(userId);
+        Roaring64Bitmap seen = new Roaring64Bitmap();
+        List<Long> result = new ArrayList<>();
+        for (Long modelId : modelIds) {
+            if (liked.contains(modelId) && !seen.contains(modelId)) {
+                seen.addLong(modelId);
+                result.add(modelId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Re-reads the one like that changed, if the user is cached. The query runs outside the
+     * entry's compute so a slow read never blocks loads and toggles of other users sharing
+     * the map bin; only the bitmap swap runs inside it. Every swap installs a new bitmap, so
+     * if the entry is no longer the one seen before the query, another toggle or a reload
+     * raced this one and the entry is dropped rather than overwritten with an older read.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeToggled(LikeToggledEvent event) {
+        Long modelId = event.getModelId();
+        generations.bump(event.getUserId());
+        Roaring64Bitmap seen = likedModelsByUser.getIfPresent(event.getUserId());
+        if (seen == null) {
+            // A load may be installing right now with a check made before the bump; this
+            // waits for it and drops what it installed
+            likedModelsByUser.asMap().computeIfPresent(event.getUserId(), (userId, bitmap) -> null);
+            return;
+        }
+        boolean liked = likeRepository.existsByUserIdAndAiModelId(event.getUserId(), modelId);
+        likedModelsByUser.asMap().computeIfPresent(event.getUserId(), (userId, bitmap) -> {
+            if (bitmap != seen) {
+                return null;
+            }
+            Roaring64Bitmap updated = bitmap.clone();
+            if (liked) {
+                updated.addLong(modelId);
+            } else {
+                updated.removeLong(modelId);
+            }
+            updated.runOptimize();
+            return updated;
+        });
+    }
+
+    private Roaring64Bitmap bitmap(Long userId) {
+        Roaring64Bitmap cached = likedModelsByUser.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.get(userId);
+        Roaring64Bitmap loaded = load(userId);
+        Roaring64Bitmap installed = likedModelsByUser.asMap().computeIfAbsent(userId,
+                id -> generations.get(id) == generation ? loaded : null);
+        return installed != null ? installed : loaded;
+    }
+
+    private Roaring64Bitmap load(Long userId) {
+        Roaring64Bitmap bitmap = new Roaring64Bitmap();
+        likeRepository.findModelIdsByUserId(userId).forEach(bitmap::addLong);
+        bitmap.runOptimize();
+        return bitmap;
+    }
+}
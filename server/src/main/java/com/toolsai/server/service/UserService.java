@@ -5,10 +5,10 @@ import com.toolsai.server.dto.request.UserRegistrationRequest;
 import com.toolsai.server.dto.response.UserResponse;
 import com.toolsai.server.exception.ResourceAlreadyExistsException;
 import com.toolsai.server.exception.ResourceNotFoundException;
+import com.toolsai.server.mapper.UserMapper;
 import com.toolsai.server.model.User;
 import com.toolsai.server.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +25,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserMapper userMapper;
 
     @Transactional
     public UserResponse registerUser(UserRegistrationRequest request) {
@@ -46,7 +47,7 @@ public class UserService {
                 .build();
 
         User savedUser = userRepository.save(user);
-        return convertToResponse(savedUser);
+        return userMapper.toResponse(savedUser);
     }
 
     public UserResponse authenticateUser(UserLoginRequest request) {
@@ -64,24 +65,24 @@ public class UserService {
         user.setLastLoginAt(LocalDateTime.now());
         userRepository.save(user);
 
-        return convertToResponse(user);
+        return userMapper.toResponse(user);
     }
 
     public UserResponse getUserById(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return convertToResponse(user);
+        return userMapper.toResponse(user);
     }
 
     public UserResponse getUserByUsername(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        return convertToResponse(user);
+        return userMapper.toResponse(user);
     }
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
         return userRepository.findAll(pageable)
-                .map(this::convertToResponse);
+                .map(userMapper::toResponse);
     }
 
     @Transactional
@@ -93,7 +94,7 @@ public class UserService {
         user.setBio(request.getBio());
 
         User savedUser = userRepository.save(user);
-        return convertToResponse(savedUser);
+        return userMapper.toResponse(savedUser);
     }
 
     @Transactional
@@ -113,12 +114,6 @@ public class UserService {
         user.setVerificationToken(null);
 
         User savedUser = userRepository.save(user);
-        return convertToResponse(savedUser);
-    }
-
-    private UserResponse convertToResponse(User user) {
-        UserResponse response = new UserResponse();
-        BeanUtils.copyProperties(user, response);
-        return response;
+        return userMapper.toResponse(savedUser);
     }
 }
\ No newline at end of file
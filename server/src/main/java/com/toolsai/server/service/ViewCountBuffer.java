@@ -0,0 +1,158 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.response.ViewCountStatsResponse;
+import com.toolsai.server.event.ModelEngagementEvent;
+import com.toolsai.server.repository.AIModelRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects model view increments in memory and writes them to the database in batches,
+ * so that detail reads never have to update the model row themselves.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    private final AIModelRepository aiModelRepository;
+    private final TaskScheduler taskScheduler;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedViews = new AtomicLong();
+    private final AtomicLong failedFlushCount = new AtomicLong();
+    private final AtomicLong lastFlushDurationMs = new AtomicLong();
+    private final AtomicLong maxFlushDurationMs = new AtomicLong();
+    private final AtomicLong totalFlushDurationMs = new AtomicLong();
+
+    @Value("${app.views.flush-threshold:1000}")
+    private long flushThreshold;
+
+    public void recordView(Long modelId) {
+        add(modelId, 1);
+        pendingTotal.increment();
+
+        if (pendingTotal.sum() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        flushScheduled.set(false);
+        flushLock.lock();
+        try {
+            Map<Long, Long> deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            long startedAt = System.nanoTime();
+            try {
+                aiModelRepository.incrementViewCounts(deltas);
+            } catch (RuntimeException ex) {
+                // Put the views back so they are retried on the next flush
+                deltas.forEach(this::restore);
+                failedFlushCount.incrementAndGet();
+                log.error("Failed to flush {} model view counters", deltas.size(), ex);
+                return;
+            }
+
+            long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+            flushCount.incrementAndGet();
+            flushedViews.addAndGet(deltas.values().stream().mapToLong(Long::longValue).sum());
+            lastFlushDurationMs.set(durationMs);
+            totalFlushDurationMs.addAndGet(durationMs);
+            maxFlushDurationMs.accumulateAndGet(durationMs, Math::max);
+
+            deltas.forEach((modelId, views) -> eventPublisher.publishEvent(ModelEngagementEvent.views(modelId, views)));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending model views before shutdown", pendingTotal.sum());
+        flush();
+    }
+
+    public ViewCountStatsResponse getStats() {
+        long flushes = flushCount.get();
+        ViewCountStatsResponse stats = new ViewCountStatsResponse();
+        stats.setPendingViews(pendingTotal.sum());
+        stats.setPendingModels(pendingViews.size());
+        stats.setFlushCount(flushes);
+        stats.setFailedFlushCount(failedFlushCount.get());
+        stats.setFlushedViews(flushedViews.get());
+        stats.setLastFlushDurationMs(lastFlushDurationMs.get());
+        stats.setMaxFlushDurationMs(maxFlushDurationMs.get());
+        stats.setAverageFlushDurationMs(flushes == 0 ? 0 : (double) totalFlushDurationMs.get() / flushes);
+        return stats;
+    }
+
+    private Map<Long, Long> drain() {
+        // Counters that saw no views since the last flush are removed, the others stay for
+        // the next views of their model
+        Map<Long, Long> deltas = new HashMap<>();
+        pendingViews.forEach((modelId, counter) -> {
+            long views = take(counter);
+            if (views == 0 && pendingViews.remove(modelId, counter)) {
+                // Views that landed between the take and the removal
+                views = take(counter);
+            }
+            if (views > 0) {
+                deltas.put(modelId, views);
+                pendingTotal.add(-views);
+            }
+        });
+        return deltas;
+    }
+
+    private void restore(Long modelId, Long views) {
+        add(modelId, views);
+        pendingTotal.add(views);
+    }
+
+    private void add(Long modelId, long views) {
+        while (views > 0) {
+            LongAdder counter = pendingViews.computeIfAbsent(modelId, id -> new LongAdder());
+            counter.add(views);
+            if (pendingViews.get(modelId) == counter) {
+                return;
+            }
+            // A flush removed the counter as idle before the views landed in it
+            views = take(counter);
+        }
+    }
+
+    // Subtracting what was read, unlike sumThenReset, keeps views added during the read
+    private static long take(LongAdder counter) {
+        synchronized (counter) {
+            long views = counter.sum();
+            counter.add(-views);
+            return views;
+        }
+    }
+}
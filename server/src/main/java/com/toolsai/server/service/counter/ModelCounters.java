@@ -0,0 +1,236 @@
+package com.toolsai.server.service.counter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.toolsai.server.dto.response.ModelCounterStatsResponse;
+import com.toolsai.server.model.ModelCounterShard;
+import com.toolsai.server.model.enums.CounterMetric;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.ModelCounterShardRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Like and comment counters of models. An increment is normally one atomic UPDATE of the
+ * model row, which serializes writers on that row once a model goes viral.
+ * <p>
+ * A model whose counter writes cross {@code promote-writes-per-second} is promoted to
+ * sharded mode: increments go to a random one of N slots in {@code model_counter_shards},
+ * so writers contend on N rows instead of one. Every tick the slots are folded back into
+ * the model row, which therefore lags by at most one interval, like buffered view counts.
+ * A sharded model writing at or below {@code demote-writes-per-second} is folded one last
+ * time and demoted.
+ */
+@Component
+@Slf4j
+public class ModelCounters {
+
+    private final AIModelRepository aiModelRepository;
+    private final ModelCounterShardRepository shardRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int shards;
+    private final double promoteWritesPerSecond;
+    private final double demoteWritesPerSecond;
+
+    private final Set<Long> shardedModels = ConcurrentHashMap.newKeySet();
+    private final Cache<Long, Map<CounterMetric, Long>> pendingDeltas;
+
+    // Counter writes per model since the last evaluation
+    private volatile ConcurrentHashMap<Long, LongAdder> writes = new ConcurrentHashMap<>();
+    private volatile long windowStartNanos = System.nanoTime();
+
+    private final AtomicLong promotions = new AtomicLong();
+    private final AtomicLong demotions = new AtomicLong();
+    private final AtomicLong folds = new AtomicLong();
+    private final AtomicLong failedFolds = new AtomicLong();
+
+    public ModelCounters(AIModelRepository aiModelRepository,
+                         ModelCounterShardRepository shardRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.counters.shards:16}") int shards,
+                         @Value("${app.counters.promote-writes-per-second:20}") double promoteWritesPerSecond,
+                         @Value("${app.counters.demote-writes-per-second:2}") double demoteWritesPerSecond,
+                         @Value("${app.counters.read-cache-ttl:1s}") Duration readCacheTtl) {
+        this.aiModelRepository = aiModelRepository;
+        this.shardRepository = shardRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.promoteWritesPerSecond = promoteWritesPerSecond;
+        this.demoteWritesPerSecond = demoteWritesPerSecond;
+        this.pendingDeltas = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(readCacheTtl)
+                .build();
+    }
+
+    /**
+     * Picks up models left sharded by a previous run; the first tick folds them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadShardedModels() {
+        shardedModels.addAll(shardRepository.findShardedModelIds());
+        if (!shardedModels.isEmpty()) {
+            log.info("Resuming sharded counters for {} models", shardedModels.size());
+        }
+    }
+
+    /**
+     * Adds {@code delta} to a model's counter, as part of the caller's transaction.
+     */
+    public void add(Long modelId, CounterMetric metric, int delta, LocalDateTime now) {
+        writes.computeIfAbsent(modelId, id -> new LongAdder()).increment();
+
+        if (shardedModels.contains(modelId)) {
+            int slot = ThreadLocalRandom.current().nextInt(shards);
+            if (shardRepository.addToSlot(modelId, metric, slot, delta) > 0) {
+                return;
+            }
+            // Demoted since the check and the slots are gone, so the row takes it
+        }
+        addToRow(modelId, metric, delta, now);
+    }
+
+    /**
+     * Increments not yet folded into the model row; always zero for unsharded models.
+     */
+    public long pending(Long modelId, CounterMetric metric) {
+        if (!shardedModels.contains(modelId)) {
+            return 0;
+        }
+        return pendingDeltas.get(modelId, this::loadPendingDeltas).getOrDefault(metric, 0L);
+    }
+
+    public boolean isSharded(Long modelId) {
+        return shardedModels.contains(modelId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.counters.evaluate-interval-ms:5000}")
+    public synchronized void evaluate() {
+        ConcurrentHashMap<Long, LongAdder> window = writes;
+        writes = new ConcurrentHashMap<>();
+        long nowNanos = System.nanoTime();
+        double seconds = Math.max(0.001, (nowNanos - windowStartNanos) / 1e9);
+        windowStartNanos = nowNanos;
+
+        for (Long modelId : new ArrayList<>(shardedModels)) {
+            LongAdder count = window.get(modelId);
+            double rate = count != null ? count.sum() / seconds : 0;
+            fold(modelId, rate <= demoteWritesPerSecond);
+        }
+        window.forEach((modelId, count) -> {
+            if (!shardedModels.contains(modelId) && count.sum() / seconds >= promoteWritesPerSecond) {
+                promote(modelId);
+            }
+        });
+    }
+
+    public ModelCounterStatsResponse getStats() {
+        ModelCounterStatsResponse stats = new ModelCounterStatsResponse();
+        stats.setShardedModels(shardedModels.size());
+        stats.setShardsPerModel(shards);
+        stats.setPromotions(promotions.get());
+        stats.setDemotions(demotions.get());
+        stats.setFolds(folds.get());
+        stats.setFailedFolds(failedFolds.get());
+        return stats;
+    }
+
+    private void promote(Long modelId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (CounterMetric metric : CounterMetric.values()) {
+                    for (int slot = 0; slot < shards; slot++) {
+                        shardRepository.insertSlotIfAbsent(modelId, metric.name(), slot);
+                    }
+                }
+            });
+            // Only once the slots are committed, so writers never miss them
+            shardedModels.add(modelId);
+            promotions.incrementAndGet();
+            log.info("Sharded counters for model {}", modelId);
+        } catch (RuntimeException e) {
+            log.warn("Could not shard counters for model {}", modelId, e);
+        }
+    }
+
+    /**
+     * Moves the slots' deltas into the model row, then zeroes the slots or, when demoting,
+     * deletes them. The slots stay locked from read to commit, so a concurrent increment
+     * either lands before the read or waits and applies after the reset.
+     */
+    private void fold(Long modelId, boolean demote) {
+        if (demote) {
+            shardedModels.remove(modelId);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ModelCounterShard> slots = shardRepository.findAllByModelIdForUpdate(modelId);
+                Map<CounterMetric, Long> totals = new EnumMap<>(CounterMetric.class);
+                slots.forEach(slot -> totals.merge(slot.getMetric(), slot.getDelta(), Long::sum));
+
+                LocalDateTime now = LocalDateTime.now();
+                boolean moved = false;
+                for (Map.Entry<CounterMetric, Long> total : totals.entrySet()) {
+                    if (total.getValue() != 0) {
+                        addToRow(modelId, total.getKey(), Math.toIntExact(total.getValue()), now);
+                        moved = true;
+                    }
+                }
+
+                if (demote) {
+                    shardRepository.deleteByModelId(modelId);
+                } else if (moved) {
+                    shardRepository.resetByModelId(modelId);
+                }
+            });
+            folds.incrementAndGet();
+            if (demote) {
+                demotions.incrementAndGet();
+                log.info("Unsharded counters for model {}", modelId);
+            }
+        } catch (RuntimeException e) {
+            failedFolds.incrementAndGet();
+            log.warn("Could not fold sharded counters for model {}", modelId, e);
+            if (demote) {
+                // The slots are still there, keep writing to them until the next try
+                shardedModels.add(modelId);
+            }
+        } finally {
+            pendingDeltas.invalidate(modelId);
+        }
+    }
+
+    private void addToRow(Long modelId, CounterMetric metric, int delta, LocalDateTime now) {
+        switch (metric) {
+            case LIKES -> aiModelRepository.addToLikeCount(modelId, delta, now);
+            case COMMENTS -> aiModelRepository.addToCommentCount(modelId, delta, now);
+            case TOP_LEVEL_COMMENTS -> aiModelRepository.addToTopLevelCommentCount(modelId, delta);
+        }
+    }
+
+    private Map<CounterMetric, Long> loadPendingDeltas(Long modelId) {
+        Map<CounterMetric, Long> deltas = new EnumMap<>(CounterMetric.class);
+        for (Object[] row : shardRepository.sumDeltasByMetric(modelId)) {
+            deltas.put((CounterMetric) row[0], ((Number) row[1]).longValue());
+        }
+        return deltas;
+    }
+}
@@ -0,0 +1,512 @@
+package com.toolsai.server.service.fanout;
+
+import com.toolsai.server.dto.response.NotificationFanoutStatsResponse;
+import com.toolsai.server.dto.response.NotificationFanoutStatsResponse.JobProgress;
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.ModelImportCompletedEvent;
+import com.toolsai.server.event.NotificationsCreatedEvent;
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Notification;
+import com.toolsai.server.model.NotificationFanoutJob;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.model.id.Snowflake;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.NotificationFanoutJobRepository;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.repository.UserOrganizationSubscriptionRepository;
+import com.toolsai.server.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notifies an organization's active subscribers when it publishes or updates a model.
+ * <p>
+ * Each model change becomes a job in its organization's queue; a bulk import becomes one
+ * job per organization announcing all of its new models. A worker turn delivers one
+ * chunk of the head job of one organization: it reads the next subscribers off the
+ * subscription index and inserts their notifications with one JDBC batch, in its own
+ * transaction. The organization then goes to the back of the line, so an organization
+ * with a million followers gets one chunk per round like everyone else and cannot starve
+ * small ones. Only one turn per organization is ever queued, so the executor queue is
+ * bounded by the number of organizations with pending jobs. A failed chunk is retried
+ * after an exponentially growing delay, during which the organization sits out.
+ * <p>
+ * Jobs are kept in {@code notification_fanout_jobs}, and a chunk moves the job's cursor
+ * in the same transaction as its notifications, so every subscriber is notified once
+ * however the process stops. Each instance holds a renewed lease on its jobs; jobs whose
+ * lease ran out are claimed by whichever instance looks first, this one after a restart
+ * included, and carry on after the last subscriber reached. What can still be lost is a
+ * change whose job row was not written yet: the moments between the change committing
+ * and the job insert, or a job whose insert failed (logged).
+ * <p>
+ * Backpressure: past {@code max-pending-jobs} new jobs are rejected and counted, and a
+ * change to a model whose previous job has not started yet is folded into it.
+ */
+@Component
+@Slf4j
+public class NotificationFanout {
+
+    // Orphaned jobs claimed per lease renewal
+    private static final int CLAIM_BATCH = 100;
+
+    private final AIModelRepository aiModelRepository;
+    private final UserOrganizationSubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationFanoutJobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    // Job rows are written from after-commit listeners, whose transaction is already done
+    private final TransactionTemplate newTransactionTemplate;
+    private final int workers;
+    private final int chunkSize;
+    private final int maxPendingJobs;
+    private final int maxAttempts;
+    private final Duration retryInitialDelay;
+    private final Duration retryMaxDelay;
+    private final Duration lease;
+    private final ScheduledExecutorService executor;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<Long, OrganizationQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong abandonedJobs = new AtomicLong();
+    private final AtomicLong rejectedJobs = new AtomicLong();
+    private final AtomicLong coalescedJobs = new AtomicLong();
+    private final AtomicLong resumedJobs = new AtomicLong();
+    private final AtomicLong deliveredChunks = new AtomicLong();
+    private final AtomicLong failedChunks = new AtomicLong();
+    private final AtomicLong deliveredNotifications = new AtomicLong();
+
+    public NotificationFanout(AIModelRepository aiModelRepository,
+                              UserOrganizationSubscriptionRepository subscriptionRepository,
+                              UserRepository userRepository,
+                              NotificationRepository notificationRepository,
+                              NotificationFanoutJobRepository jobRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.notifications.fanout.workers:2}") int workers,
+                              @Value("${app.notifications.fanout.chunk-size:1000}") int chunkSize,
+                              @Value("${app.notifications.fanout.max-pending-jobs:10000}") int maxPendingJobs,
+                              @Value("${app.notifications.fanout.max-attempts:3}") int maxAttempts,
+                              @Value("${app.notifications.fanout.retry-initial-delay:1s}") Duration retryInitialDelay,
+                              @Value("${app.notifications.fanout.retry-max-delay:1m}") Duration retryMaxDelay,
+                              @Value("${app.notifications.fanout.lease:30s}") Duration lease) {
+        this.aiModelRepository = aiModelRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.maxPendingJobs = maxPendingJobs;
+        this.maxAttempts = maxAttempts;
+        this.retryInitialDelay = retryInitialDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.lease = lease;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, "notification-fanout-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelChanged(AIModelChangedEvent event) {
+        switch (event.getChangeType()) {
+            case CREATED -> submit(event.getModelId(), event.getOrganizationId(), NotificationType.MODEL_PUBLISHED);
+            case UPDATED -> submit(event.getModelId(), event.getOrganizationId(), NotificationType.MODEL_UPDATED);
+            case DELETED -> {
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelImportCompleted(ModelImportCompletedEvent event) {
+        // One announcement per organization, however many models it imported
+        event.getModelIdsByOrganization().forEach((organizationId, modelIds) ->
+                enqueue(modelIds.get(0), organizationId, NotificationType.MODEL_PUBLISHED, modelIds.size()));
+    }
+
+    /**
+     * Queues a fan-out to the organization's subscribers. Returns false when the job was
+     * rejected because too many are pending.
+     */
+    public boolean submit(Long modelId, Long organizationId, NotificationType type) {
+        return enqueue(modelId, organizationId, type, 1);
+    }
+
+    // A job with modelCount > 1 announces a batch of models, of which modelId is the first
+    private boolean enqueue(Long modelId, Long organizationId, NotificationType type, int modelCount) {
+        if (pendingJobs.incrementAndGet() > maxPendingJobs) {
+            pendingJobs.decrementAndGet();
+            rejectedJobs.incrementAndGet();
+            log.warn("Notification fan-out backlog full, dropped {} of model {}", type, modelId);
+            return false;
+        }
+
+        FanoutJob job = new FanoutJob(modelId, organizationId, type, modelCount, LocalDateTime.now());
+        persist(job);
+        if (!schedule(job, true)) {
+            forget(job);
+        }
+        return true;
+    }
+
+    /**
+     * Extends the leases of this instance's jobs, then claims jobs whose lease ran out,
+     * left by a stopped instance or by this one's previous run.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.fanout.lease-renew-interval-ms:10000}")
+    public void renewLeases() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime until = now.plus(lease);
+            transactionTemplate.executeWithoutResult(status -> jobRepository.renewLeases(instanceId, until));
+
+            for (NotificationFanoutJob orphan : jobRepository.findExpired(now, PageRequest.of(0, CLAIM_BATCH))) {
+                if (pendingJobs.get() >= maxPendingJobs) {
+                    break;
+                }
+                Integer claimed = transactionTemplate.execute(status ->
+                        jobRepository.claim(orphan.getId(), instanceId, until, now));
+                if (claimed != null && claimed > 0) {
+                    pendingJobs.incrementAndGet();
+                    resumedJobs.incrementAndGet();
+                    schedule(FanoutJob.resumed(orphan), false);
+                    log.info("Resumed notification fan-out of model {} after {} subscribers",
+                            orphan.getModelId(), orphan.getDelivered());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew notification fan-out leases", e);
+        }
+    }
+
+    public NotificationFanoutStatsResponse getStats() {
+        List<JobProgress> activeJobs = new ArrayList<>();
+        queues.values().forEach(queue -> {
+            FanoutJob job = queue.jobs.peekFirst();
+            if (job != null && job.started) {
+                activeJobs.add(new JobProgress(job.modelId, job.organizationId, job.type, job.delivered, job.queuedAt));
+            }
+        });
+
+        NotificationFanoutStatsResponse stats = new NotificationFanoutStatsResponse();
+        stats.setWorkers(workers);
+        stats.setPendingJobs(pendingJobs.get());
+        stats.setMaxPendingJobs(maxPendingJobs);
+        stats.setOrganizationsWaiting(queues.size());
+        stats.setCompletedJobs(completedJobs.get());
+        stats.setAbandonedJobs(abandonedJobs.get());
+        stats.setRejectedJobs(rejectedJobs.get());
+        stats.setCoalescedJobs(coalescedJobs.get());
+        stats.setResumedJobs(resumedJobs.get());
+        stats.setDeliveredChunks(deliveredChunks.get());
+        stats.setFailedChunks(failedChunks.get());
+        stats.setDeliveredNotifications(deliveredNotifications.get());
+        stats.setActiveJobs(activeJobs);
+        return stats;
+    }
+
+    /**
+     * Stops the workers. A chunk cut short rolls back with its cursor, and the unfinished
+     * jobs stay in the table for whichever instance claims them once the lease runs out.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Adds the job to its organization's queue and schedules a turn if none is queued.
+     * Returns false when the job was folded into an equal one that has not started.
+     */
+    private boolean schedule(FanoutJob job, boolean coalesce) {
+        // An organization is in the map exactly while one turn of it is queued or running
+        boolean[] added = {true};
+        boolean[] schedule = new boolean[1];
+        queues.compute(job.organizationId, (id, queue) -> {
+            if (queue == null) {
+                queue = new OrganizationQueue();
+                schedule[0] = true;
+            }
+            if (coalesce) {
+                for (FanoutJob queued : queue.jobs) {
+                    if (!queued.started && queued.modelId.equals(job.modelId) && queued.type == job.type
+                            && queued.modelCount == 1 && job.modelCount == 1) {
+                        pendingJobs.decrementAndGet();
+                        coalescedJobs.incrementAndGet();
+                        added[0] = false;
+                        return queue;
+                    }
+                }
+            }
+            queue.jobs.addLast(job);
+            return queue;
+        });
+        if (schedule[0]) {
+            executor.execute(() -> runTurn(job.organizationId));
+        }
+        return added[0];
+    }
+
+    /**
+     * Delivers one chunk of the organization's head job, then requeues the organization
+     * behind the others if it has work left. The job's position only moves once the
+     * chunk is committed, so a failed chunk is retried from the same subscriber, after a
+     * delay that doubles with every failure in a row.
+     */
+    private void runTurn(Long organizationId) {
+        FanoutJob job = queues.get(organizationId).jobs.peekFirst();
+        job.started = true;
+
+        boolean finished;
+        long delayMillis = 0;
+        try {
+            List<Long> receiverIds = transactionTemplate.execute(status -> deliverChunk(job));
+            job.attempts = 0;
+            if (!receiverIds.isEmpty()) {
+                job.lastReceiverId = receiverIds.get(receiverIds.size() - 1);
+                job.delivered += receiverIds.size();
+                deliveredChunks.incrementAndGet();
+                deliveredNotifications.addAndGet(receiverIds.size());
+            }
+            finished = receiverIds.size() < chunkSize;
+            if (finished) {
+                completedJobs.incrementAndGet();
+            }
+        } catch (LostJobException e) {
+            finished = true;
+            log.warn("Notification fan-out of model {} was taken over by another instance", job.modelId);
+        } catch (RuntimeException e) {
+            failedChunks.incrementAndGet();
+            job.attempts++;
+            finished = job.attempts >= maxAttempts;
+            if (finished) {
+                abandonedJobs.incrementAndGet();
+                forget(job);
+                log.error("Gave up notifying subscribers of organization {} about model {} after {} of them",
+                        organizationId, job.modelId, job.delivered, e);
+            } else {
+                delayMillis = retryDelay(job.attempts).toMillis();
+                log.warn("Notification fan-out chunk failed for model {}, will retry in {} ms",
+                        job.modelId, delayMillis, e);
+            }
+        }
+
+        boolean done = finished;
+        boolean[] reschedule = new boolean[1];
+        queues.compute(organizationId, (id, queue) -> {
+            if (done) {
+                queue.jobs.pollFirst();
+                pendingJobs.decrementAndGet();
+            }
+            if (queue.jobs.isEmpty()) {
+                return null;
+            }
+            reschedule[0] = true;
+            return queue;
+        });
+        if (reschedule[0]) {
+            executor.schedule(() -> runTurn(organizationId), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    Duration retryDelay(int attempts) {
+        Duration delay = retryInitialDelay.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    /**
+     * Notifies the next chunk of subscribers, moves the job's cursor past them and returns
+     * their ids; fewer than a chunk means the job is done and its row is removed.
+     */
+    private List<Long> deliverChunk(FanoutJob job) {
+        List<Long> receiverIds = notifyNextChunk(job);
+        if (job.id != null) {
+            int updated = receiverIds.size() < chunkSize
+                    ? jobRepository.deleteOwned(job.id, instanceId)
+                    : jobRepository.advance(job.id, instanceId, receiverIds.get(receiverIds.size() - 1),
+                    job.delivered + receiverIds.size());
+            if (updated == 0 && !receiverIds.isEmpty()) {
+                // Rolls the chunk back: the instance that claimed the job delivers it
+                throw new LostJobException();
+            }
+        }
+        return receiverIds;
+    }
+
+    private List<Long> notifyNextChunk(FanoutJob job) {
+        if (job.title == null) {
+            AIModel model = aiModelRepository.findById(job.modelId).orElse(null);
+            if (model == null || model.getModelStatus() == ModelStatus.INACTIVE) {
+                return List.of();
+            }
+            describe(job, model);
+        }
+
+        List<Long> receiverIds = subscriptionRepository.findActiveSubscriberIdsAfter(
+                job.organizationId, job.lastReceiverId, PageRequest.of(0, chunkSize));
+        if (receiverIds.isEmpty()) {
+            return receiverIds;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>(receiverIds.size());
+        for (Long receiverId : receiverIds) {
+            notifications.add(Notification.builder()
+                    .id(Snowflake.next())
+                    .title(job.title)
+                    .message(job.message)
+                    .type(job.type)
+                    .actionUrl(job.actionUrl)
+                    .data(job.data)
+                    .receiver(userRepository.getReferenceById(receiverId))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        notificationRepository.insertNotifications(notifications);
+        receiverIds.forEach(receiverId -> eventPublisher.publishEvent(new UnreadNotificationsChangedEvent(receiverId, 1)));
+        eventPublisher.publishEvent(new NotificationsCreatedEvent(notifications));
+        return receiverIds;
+    }
+
+    // Without a row the job still runs, but a restart loses it
+    private void persist(FanoutJob job) {
+        try {
+            NotificationFanoutJob saved = newTransactionTemplate.execute(status -> jobRepository.save(
+                    NotificationFanoutJob.builder()
+                            .modelId(job.modelId)
+                            .organizationId(job.organizationId)
+                            .type(job.type)
+                            .modelCount(job.modelCount)
+                            .queuedAt(job.queuedAt)
+                            .owner(instanceId)
+                            .leaseExpiresAt(LocalDateTime.now().plus(lease))
+                            .build()));
+            job.id = saved.getId();
+        } catch (RuntimeException e) {
+            log.warn("Could not record notification fan-out of model {}; it will not survive a restart",
+                    job.modelId, e);
+        }
+    }
+
+    private void forget(FanoutJob job) {
+        if (job.id == null) {
+            return;
+        }
+        try {
+            newTransactionTemplate.executeWithoutResult(status -> jobRepository.deleteOwned(job.id, instanceId));
+        } catch (RuntimeException e) {
+            log.warn("Could not remove notification fan-out job {}", job.id, e);
+        }
+    }
+
+    private static void describe(FanoutJob job, AIModel model) {
+        String organization = model.getOrganization().getOrgName();
+        if (job.modelCount > 1) {
+            job.title = truncate(organization + " published " + job.modelCount + " new models", 200);
+            job.message = truncate(organization + " published " + job.modelCount + " new models, including "
+                    + model.getModelName() + " " + model.getModelVersion(), 1000);
+            job.actionUrl = "/organizations/" + model.getOrganization().getOrgSlug();
+            job.data = "{\"organizationId\":" + job.organizationId + ",\"modelCount\":" + job.modelCount + "}";
+            return;
+        }
+        if (job.type == NotificationType.MODEL_PUBLISHED) {
+            job.title = organization + " published " + model.getModelName();
+            job.message = organization + " published a new model: " + model.getModelName() + " " + model.getModelVersion();
+        } else {
+            job.title = organization + " updated " + model.getModelName();
+            job.message = model.getModelName() + " " + model.getModelVersion() + " by " + organization + " was updated";
+        }
+        job.title = truncate(job.title, 200);
+        job.message = truncate(job.message, 1000);
+        job.actionUrl = "/models/" + model.getModelSlug();
+        job.data = "{\"modelId\":" + model.getId() + ",\"organizationId\":" + job.organizationId + "}";
+    }
+
+    // Lengths of the notifications.title and message columns
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    // Changed only inside queues.compute; concurrent so stats and turns can peek at it
+    private static final class OrganizationQueue {
+        private final ConcurrentLinkedDeque<FanoutJob> jobs = new ConcurrentLinkedDeque<>();
+    }
+
+    // Mutated only by the turn that owns its organization, read by stats
+    private static final class FanoutJob {
+        private final Long modelId;
+        private final Long organizationId;
+        private final NotificationType type;
+        private final int modelCount;
+        private final LocalDateTime queuedAt;
+        // Row in notification_fanout_jobs, null if it could not be written
+        private volatile Long id;
+        private volatile boolean started;
+        private volatile long delivered;
+        private volatile long lastReceiverId;
+        private int attempts;
+        private String title;
+        private String message;
+        private String actionUrl;
+        private String data;
+
+        private FanoutJob(Long modelId, Long organizationId, NotificationType type, int modelCount,
+                          LocalDateTime queuedAt) {
+            this.modelId = modelId;
+            this.organizationId = organizationId;
+            this.type = type;
+            this.modelCount = modelCount;
+            this.queuedAt = queuedAt;
+        }
+
+        private static FanoutJob resumed(NotificationFanoutJob row) {
+            FanoutJob job = new FanoutJob(row.getModelId(), row.getOrganizationId(), row.getType(),
+                    row.getModelCount(), row.getQueuedAt());
+            job.id = row.getId();
+            job.started = row.getDelivered() > 0;
+            job.delivered = row.getDelivered();
+            job.lastReceiverId = row.getLastReceiverId();
+            return job;
+        }
+    }
+
+    // The job's row is gone or owned by another instance
+    private static final class LostJobException extends RuntimeException {
+    }
+}
@@ -0,0 +1,267 @@
+package com.toolsai.server.service.retention;
+
+import com.toolsai.server.dto.response.NotificationRetentionStatsResponse;
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.repository.NotificationRetentionRepository;
+import com.toolsai.server.repository.projection.PurgedNotifications;
+import com.toolsai.server.service.UnreadNotificationCounts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces how long notifications are kept, per {@link NotificationType}.
+ * <p>
+ * On Postgres with a partitioned {@code notifications} table, partitions for the coming
+ * months are created ahead of time, and a month past the longest retention is detached
+ * and dropped whole, which reclaims its space at once. Anything else that has expired is
+ * deleted per type in small batches, each its own statement and transaction, with a pause
+ * in between so writers and vacuum keep up. Running on several instances at once is
+ * harmless: batches simply find less to delete and a partition is only dropped once.
+ * <p>
+ * Partitions are monthly for all types together, so a type kept for less than the longest
+ * retention is always reclaimed by batched deletes.
+ * <p>
+ * Unread notifications deleted in batches move their receivers' unread counts like reads
+ * do. Dropped partitions are not read, so cached unread counts are all reloaded after one.
+ */
+@Component
+@Slf4j
+public class NotificationPurger {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final NotificationRetentionRepository retentionRepository;
+    private final UnreadNotificationCounts unreadNotificationCounts;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration defaultRetention;
+    private final Map<NotificationType, Duration> retentionByType;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int premadeMonths;
+    private final long lockTimeoutMs;
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong totalPartitionsDropped = new AtomicLong();
+    private final AtomicLong totalRowsReclaimed = new AtomicLong();
+    private final AtomicLong totalBytesReclaimed = new AtomicLong();
+    private volatile boolean partitioned;
+    private volatile Run lastRun;
+
+    public NotificationPurger(NotificationRetentionRepository retentionRepository,
+                              UnreadNotificationCounts unreadNotificationCounts,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.notifications.retention.default:90d}") Duration defaultRetention,
+                              @Value("${app.notifications.retention.per-type:}") String perType,
+                              @Value("${app.notifications.retention.batch-size:1000}") int batchSize,
+                              @Value("${app.notifications.retention.batch-pause:50ms}") Duration batchPause,
+                              @Value("${app.notifications.retention.premade-months:3}") int premadeMonths,
+                              @Value("${app.notifications.retention.lock-timeout-ms:2000}") long lockTimeoutMs) {
+        this.retentionRepository = retentionRepository;
+        this.unreadNotificationCounts = unreadNotificationCounts;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultRetention = defaultRetention;
+        this.retentionByType = parseRetentions(perType);
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.premadeMonths = premadeMonths;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.retention.purge-interval-ms:3600000}",
+            initialDelayString = "${app.notifications.retention.initial-delay-ms:60000}")
+    public synchronized void purge() {
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        Run run = new Run(now);
+        try {
+            boolean postgres = retentionRepository.isPostgres();
+            partitioned = postgres && retentionRepository.isPartitioned();
+            if (partitioned) {
+                createUpcomingPartitions(now.toLocalDate());
+                dropExpiredPartitions(now, run);
+            }
+            double rowBytes = postgres ? retentionRepository.averageRowBytes() : 0;
+            for (NotificationType type : NotificationType.values()) {
+                deleteExpired(type, now.minus(retentionOf(type)), rowBytes, run);
+            }
+            log.info("Notification purge reclaimed {} rows ({} partitions, ~{} bytes)",
+                    run.rows, run.partitionsDropped, run.bytes);
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            log.error("Notification purge failed after {} rows", run.rows, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            run.durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+            runs.incrementAndGet();
+            totalPartitionsDropped.addAndGet(run.partitionsDropped);
+            totalRowsReclaimed.addAndGet(run.rows);
+            totalBytesReclaimed.addAndGet(run.bytes);
+            lastRun = run;
+        }
+    }
+
+    public Duration retentionOf(NotificationType type) {
+        return retentionByType.getOrDefault(type, defaultRetention);
+    }
+
+    public NotificationRetentionStatsResponse getStats() {
+        NotificationRetentionStatsResponse stats = new NotificationRetentionStatsResponse();
+        stats.setPartitioned(partitioned);
+        stats.setDefaultRetention(defaultRetention);
+        stats.setRetentionByType(retentionByType);
+        stats.setRuns(runs.get());
+        stats.setFailedRuns(failedRuns.get());
+        stats.setTotalPartitionsDropped(totalPartitionsDropped.get());
+        stats.setTotalRowsReclaimed(totalRowsReclaimed.get());
+        stats.setTotalBytesReclaimed(totalBytesReclaimed.get());
+        Run run = lastRun;
+        if (run != null) {
+            stats.setLastRunAt(run.startedAt);
+            stats.setLastRunDurationMs(run.durationMs);
+            stats.setLastPartitionsDropped(run.partitionsDropped);
+            stats.setLastRowsReclaimed(run.rows);
+            stats.setLastBytesReclaimed(run.bytes);
+            stats.setLastRowsDeletedByType(run.rowsByType);
+        }
+        return stats;
+    }
+
+    private void createUpcomingPartitions(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        for (int i = 0; i <= premadeMonths; i++) {
+            LocalDate from = month.plusMonths(i);
+            retentionRepository.createMonthlyPartition(partitionName(from), from);
+        }
+    }
+
+    /**
+     * Drops the monthly partitions whose every row is past the longest retention.
+     */
+    private void dropExpiredPartitions(LocalDateTime now, Run run) {
+        Duration longest = retentionByType.values().stream()
+                .reduce(defaultRetention, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        LocalDate cutoff = now.minus(longest).toLocalDate();
+        for (String partition : retentionRepository.findPartitionNames()) {
+            LocalDate from = monthOf(partition);
+            if (from == null || from.plusMonths(1).isAfter(cutoff)) {
+                continue;
+            }
+            long rows = retentionRepository.estimateRows(partition);
+            long bytes = retentionRepository.relationSize(partition);
+            try {
+                retentionRepository.detachAndDropPartition(partition, lockTimeoutMs);
+            } catch (RuntimeException e) {
+                // Typically the lock timeout; batched deletes still run and the next run retries
+                log.warn("Could not drop notification partition {}", partition, e);
+                continue;
+            }
+            run.partitionsDropped++;
+            run.rows += rows;
+            run.bytes += bytes;
+            log.info("Dropped notification partition {} (~{} rows, {} bytes)", partition, rows, bytes);
+        }
+        if (run.partitionsDropped > 0) {
+            unreadNotificationCounts.invalidateAll();
+        }
+    }
+
+    private void deleteExpired(NotificationType type, LocalDateTime before, double rowBytes, Run run)
+            throws InterruptedException {
+        long deleted = 0;
+        long batch;
+        do {
+            // The unread deltas go out with the batch's transaction, so cached counts are
+            // adjusted rather than dropped
+            batch = transactionTemplate.execute(status -> {
+                long rows = 0;
+                for (PurgedNotifications purged : retentionRepository.deleteBatch(type, before, batchSize)) {
+                    rows += purged.getRows();
+                    if (purged.getUnread() > 0) {
+                        eventPublisher.publishEvent(
+                                new UnreadNotificationsChangedEvent(purged.getReceiverId(), -purged.getUnread()));
+                    }
+                }
+                return rows;
+            });
+            deleted += batch;
+            if (batch == batchSize && !batchPause.isZero()) {
+                Thread.sleep(batchPause.toMillis());
+            }
+        } while (batch == batchSize);
+
+        if (deleted > 0) {
+            run.rows += deleted;
+            run.bytes += Math.round(deleted * rowBytes);
+            run.rowsByType.put(type, deleted);
+        }
+    }
+
+    private static String partitionName(LocalDate month) {
+        return NotificationRetentionRepository.PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    // Null for partitions not named by this class
+    private static LocalDate monthOf(String partition) {
+        if (!partition.startsWith(NotificationRetentionRepository.PARTITION_PREFIX)) {
+            return null;
+        }
+        String suffix = partition.substring(NotificationRetentionRepository.PARTITION_PREFIX.length());
+        try {
+            return LocalDate.parse(suffix + "_01", DateTimeFormatter.ofPattern("yyyy_MM_dd"));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses {@code TYPE=duration} pairs separated by commas, e.g. {@code MODEL_UPDATED=30d}.
+     */
+    private static Map<NotificationType, Duration> parseRetentions(String perType) {
+        Map<NotificationType, Duration> retentions = new EnumMap<>(NotificationType.class);
+        for (String entry : perType.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid notification retention: " + entry);
+            }
+            retentions.put(NotificationType.valueOf(parts[0].trim()), DurationStyle.detectAndParse(parts[1].trim()));
+        }
+        return Collections.unmodifiableMap(retentions);
+    }
+
+    private static final class Run {
+        private final LocalDateTime startedAt;
+        private final Map<NotificationType, Long> rowsByType = new EnumMap<>(NotificationType.class);
+        private int partitionsDropped;
+        private long rows;
+        private long bytes;
+        private long durationMs;
+
+        private Run(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Compressed bitmaps of model ids per facet value (category, pricing type, status,
+ * featured, tag). Filters are bitmap AND/OR, and facet counts are intersection
+ * cardinalities, so one call answers both without touching the database.
+ */
+@Component
+public class ModelFacetIndex {
+
+    public static final String CATEGORY = "category";
+    public static final String PRICING_TYPE = "pricingType";
+    public static final String STATUS = "status";
+    public static final String FEATURED = "featured";
+    public static final String TAG = "tag";
+
+    private static final int MAX_TAG_FACETS = 50;
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class FilterResult {
+        private final long totalHits;
+        private final List<Long> modelIds;
+        private final Map<String, Map<String, Long>> facetCounts;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    // Changes that arrive while a rebuild is scanning; replayed onto the new segment (null = removed)
+    private Map<Long, ModelFacets> changesDuringRebuild;
+
+    public void upsert(ModelFacets facets) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(facets.getModelId());
+            segment.add(facets);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(facets.getModelId(), facets);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long modelId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(modelId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(modelId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int rebuild(Consumer<Consumer<ModelFacets>> scan) {
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("Facet index rebuild already in progress");
+            }
+            changesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            scan.accept(facets -> {
+                rebuilt.remove(facets.getModelId());
+                rebuilt.add(facets);
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach((modelId, facets) -> {
+                rebuilt.remove(modelId);
+                if (facets != null) {
+                    rebuilt.add(facets);
+                }
+            });
+            changesDuringRebuild = null;
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuilt.models.size();
+    }
+
+    /**
+     * Matching ids, newest first, plus disjunctive facet counts: each facet is counted
+     * against every other selection but not its own, so clients can widen a selection.
+     */
+    public FilterResult filter(ModelFacetQuery query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return segment.filter(query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Segment {
+
+        private final Dimension<ModelCategory> categories = new Dimension<>(CATEGORY, Integer.MAX_VALUE);
+        private final Dimension<PricingType> pricingTypes = new Dimension<>(PRICING_TYPE, Integer.MAX_VALUE);
+        private final Dimension<ModelStatus> statuses = new Dimension<>(STATUS, Integer.MAX_VALUE);
+        private final Dimension<Boolean> featured = new Dimension<>(FEATURED, Integer.MAX_VALUE);
+        private final Dimension<String> tags = new Dimension<>(TAG, MAX_TAG_FACETS);
+        private final Roaring64Bitmap all = new Roaring64Bitmap();
+        private final Map<Long, ModelFacets> models = new HashMap<>();
+
+        void add(ModelFacets facets) {
+            long id = facets.getModelId();
+            all.addLong(id);
+            categories.add(facets.getModelCategory(), id);
+            pricingTypes.add(facets.getPricingType(), id);
+            statuses.add(facets.getModelStatus(), id);
+            featured.add(facets.isFeatured(), id);
+            if (facets.getTagSlugs() != null) {
+                facets.getTagSlugs().forEach(slug -> tags.add(slug, id));
+            }
+            models.put(id, facets);
+        }
+
+        void remove(Long modelId) {
+            ModelFacets facets = models.remove(modelId);
+            if (facets == null) {
+                return;
+            }
+            long id = modelId;
+            all.removeLong(id);
+            categories.remove(facets.getModelCategory(), id);
+            pricingTypes.remove(facets.getPricingType(), id);
+            statuses.remove(facets.getModelStatus(), id);
+            featured.remove(facets.isFeatured(), id);
+            if (facets.getTagSlugs() != null) {
+                facets.getTagSlugs().forEach(slug -> tags.remove(slug, id));
+            }
+        }
+
+        FilterResult filter(ModelFacetQuery query, int offset, int limit) {
+            List<Dimension<?>> dimensions = List.of(categories, pricingTypes, statuses, featured, tags);
+            Roaring64Bitmap[] selections = {
+                    categories.union(query.getCategories()),
+                    pricingTypes.union(query.getPricingTypes()),
+                    statuses.union(query.getStatuses()),
+                    featured.union(query.getFeatured() == null ? null : List.of(query.getFeatured())),
+                    tags.union(query.getTagSlugs())
+            };
+
+            Roaring64Bitmap matches = intersect(selections, -1);
+            Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+            for (int i = 0; i < dimensions.size(); i++) {
+                facetCounts.put(dimensions.get(i).name, dimensions.get(i).counts(intersect(selections, i)));
+            }
+
+            long total = matches.getLongCardinality();
+            List<Long> modelIds = new ArrayList<>(limit);
+            for (long rank = total - 1 - offset; rank >= 0 && modelIds.size() < limit; rank--) {
+                modelIds.add(matches.select(rank));
+            }
+            return new FilterResult(total, modelIds, facetCounts);
+        }
+
+        private Roaring64Bitmap intersect(Roaring64Bitmap[] selections, int skip) {
+            Roaring64Bitmap result = null;
+            for (int i = 0; i < selections.length; i++) {
+                if (i == skip || selections[i] == null) {
+                    continue;
+                }
+                if (result == null) {
+                    result = selections[i].clone();
+                } else {
+                    result.and(selections[i]);
+                }
+            }
+            // Callers only read the result, so the unconstrained case can share the live bitmap
+            return result != null ? result : all;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static final class Dimension<K> {
+
+        private final String name;
+        private final int maxCounts;
+        private final Map<K, Roaring64Bitmap> bitmaps = new HashMap<>();
+
+        void add(K value, long id) {
+            if (value != null) {
+                bitmaps.computeIfAbsent(value, v -> new Roaring64Bitmap()).addLong(id);
+            }
+        }
+
+        void remove(K value, long id) {
+            Roaring64Bitmap bitmap = value != null ? bitmaps.get(value) : null;
+            if (bitmap != null) {
+                bitmap.removeLong(id);
+                if (bitmap.getLongCardinality() == 0) {
+                    bitmaps.remove(value);
+                }
+            }
+        }
+
+        Roaring64Bitmap union(Collection<K> values) {
+            if (values == null || values.isEmpty()) {
+                return null;
+            }
+            Roaring64Bitmap union = new Roaring64Bitmap();
+            for (K value : values) {
+                Roaring64Bitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    union.or(bitmap);
+                }
+            }
+            return union;
+        }
+
+        Map<String, Long> counts(Roaring64Bitmap base) {
+            List<Map.Entry<String, Long>> counts = new ArrayList<>();
+            bitmaps.forEach((value, bitmap) -> {
+                long count = Roaring64Bitmap.andCardinality(base, bitmap);
+                if (count > 0) {
+                    counts.add(Map.entry(String.valueOf(value), count));
+                }
+            });
+            counts.sort(Map.Entry.<String, Long>comparingByValue(Collections.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Map.Entry<String, Long> entry : counts.subList(0, Math.min(maxCounts, counts.size()))) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Selected facet values. Values within one facet are OR-ed, facets are AND-ed;
+ * an empty or null selection leaves that facet unconstrained.
+ */
+@Getter
+@Builder
+public class ModelFacetQuery {
+
+    private final Set<ModelCategory> categories;
+    private final Set<PricingType> pricingTypes;
+    private final Set<ModelStatus> statuses;
+    private final Boolean featured;
+    private final Set<String> tagSlugs;
+}
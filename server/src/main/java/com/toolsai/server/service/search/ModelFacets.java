@@ -0,0 +1,24 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The filterable attributes of one model, as fed to {@link ModelFacetIndex}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ModelFacets {
+
+    private final Long modelId;
+    private final ModelCategory modelCategory;
+    private final PricingType pricingType;
+    private final ModelStatus modelStatus;
+    private final boolean featured;
+    private final List<String> tagSlugs;
+}
@@ -0,0 +1,20 @@
+package com.toolsai.server.service.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The searchable text of one model, as fed to {@link ModelSearchIndex}.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ModelSearchDocument {
+
+    private final Long modelId;
+    private final String modelName;
+    private final String modelDescription;
+    private final String organizationName;
+    private final List<String> tagNames;
+}
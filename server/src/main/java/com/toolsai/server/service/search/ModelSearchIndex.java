@@ -0,0 +1,471 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.dto.response.ModelSearchStatsResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over model name, tags, organization name and description,
+ * ranked with BM25F.
+ * <p>
+ * Each term's postings are kept ordered by impact, the term's BM25F weight in the model,
+ * and a search reads them best first and stops as soon as no model it has not met could
+ * still make the requested page. A common term then costs about as much as a rare one:
+ * the work follows {@code offset + limit} and how evenly the terms' impacts spread, not how
+ * many models match. Impacts use field length averages that are only refreshed once they
+ * are off by more than 10%, so scores can differ that little from exact BM25F.
+ * <p>
+ * The total hit count is exact for a single term. For several terms it is exact while the
+ * shorter lists can be checked against the longer ones within a fixed number of lookups,
+ * and a lower bound past that. Deep pages cost more, as every model before them is ranked.
+ */
+@Component
+public class ModelSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final double AVERAGE_DRIFT = 0.1;
+    private static final int COUNT_BUDGET = 10_000;
+
+    enum Field {
+        NAME(3.0, 0.5),
+        TAGS(2.0, 0.3),
+        ORGANIZATION(1.5, 0.3),
+        DESCRIPTION(1.0, 0.75);
+
+        private final double weight;
+        private final double lengthNormalization;
+
+        Field(double weight, double lengthNormalization) {
+            this.weight = weight;
+            this.lengthNormalization = lengthNormalization;
+        }
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchHits {
+        private final long totalHits;
+        private final List<Long> modelIds;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+
+    // Changes that arrive while a rebuild is scanning; replayed onto the new segment (null = removed)
+    private Map<Long, ModelSearchDocument> changesDuringRebuild;
+
+    private final AtomicLong searchCount = new AtomicLong();
+    private final AtomicLong totalSearchNanos = new AtomicLong();
+    private final AtomicLong maxSearchNanos = new AtomicLong();
+    private volatile long rebuildCount;
+    private volatile long lastRebuildDurationMs;
+
+    public void upsert(ModelSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(document.getModelId());
+            segment.add(document);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(document.getModelId(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long modelId) {
+        lock.writeLock().lock();
+        try {
+            segment.remove(modelId);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(modelId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh segment from {@code scan} while searches keep using the current one,
+     * then swaps it in. Writes made during the scan are replayed so none are lost.
+     */
+    public int rebuild(Consumer<Consumer<ModelSearchDocument>> scan) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            if (changesDuringRebuild != null) {
+                throw new IllegalStateException("Search index rebuild already in progress");
+            }
+            changesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            scan.accept(document -> {
+                rebuilt.remove(document.getModelId());
+                rebuilt.add(document);
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild.forEach((modelId, document) -> {
+                rebuilt.remove(modelId);
+                if (document != null) {
+                    rebuilt.add(document);
+                }
+            });
+            changesDuringRebuild = null;
+            segment = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        rebuildCount++;
+        lastRebuildDurationMs = (System.nanoTime() - start) / 1_000_000;
+        return rebuilt.documentCount();
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        long start = System.nanoTime();
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return new SearchHits(0, Collections.emptyList());
+        }
+
+        SearchHits hits;
+        lock.readLock().lock();
+        try {
+            hits = segment.search(terms, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        searchCount.incrementAndGet();
+        totalSearchNanos.addAndGet(elapsed);
+        maxSearchNanos.accumulateAndGet(elapsed, Math::max);
+        return hits;
+    }
+
+    public ModelSearchStatsResponse getStats() {
+        ModelSearchStatsResponse response = new ModelSearchStatsResponse();
+        lock.readLock().lock();
+        try {
+            response.setDocumentCount(segment.documentCount());
+            response.setTermCount(segment.termCount());
+        } finally {
+            lock.readLock().unlock();
+        }
+        long searches = searchCount.get();
+        response.setSearchCount(searches);
+        response.setAverageSearchMicros(searches == 0 ? 0 : totalSearchNanos.get() / 1_000.0 / searches);
+        response.setMaxSearchMicros(maxSearchNanos.get() / 1_000.0);
+        response.setRebuildCount(rebuildCount);
+        response.setLastRebuildDurationMs(lastRebuildDurationMs);
+        return response;
+    }
+
+    /**
+     * Postings, per-document field lengths and the totals BM25 needs. Not thread-safe on its
+     * own; guarded by the index lock once installed.
+     */
+    private static final class Segment {
+
+        private final Map<String, TermPostings> postings = new HashMap<>();
+        private final Map<Long, IndexedDocument> documents = new HashMap<>();
+        private final long[] totalFieldLengths = new long[FIELDS.length];
+        // What impacts were computed against; moved only when the live averages drift away
+        private final double[] averageFieldLengths = new double[FIELDS.length];
+
+        Segment() {
+            Arrays.fill(averageFieldLengths, 1.0);
+        }
+
+        void add(ModelSearchDocument document) {
+            Map<String, int[]> frequencies = new HashMap<>();
+            int[] fieldLengths = new int[FIELDS.length];
+            addField(frequencies, fieldLengths, Field.NAME, document.getModelName());
+            addField(frequencies, fieldLengths, Field.ORGANIZATION, document.getOrganizationName());
+            addField(frequencies, fieldLengths, Field.DESCRIPTION, document.getModelDescription());
+            if (document.getTagNames() != null) {
+                for (String tagName : document.getTagNames()) {
+                    addField(frequencies, fieldLengths, Field.TAGS, tagName);
+                }
+            }
+
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalFieldLengths[f] += fieldLengths[f];
+            }
+            documents.put(document.getModelId(),
+                    new IndexedDocument(frequencies.keySet().toArray(new String[0]), fieldLengths));
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new TermPostings())
+                    .add(new Posting(document.getModelId(), tf, impact(tf, fieldLengths))));
+            refreezeIfDrifted();
+        }
+
+        void remove(Long modelId) {
+            IndexedDocument indexed = documents.remove(modelId);
+            if (indexed == null) {
+                return;
+            }
+            for (String term : indexed.terms) {
+                TermPostings posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(modelId);
+                    if (posting.byId.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            for (int f = 0; f < FIELDS.length; f++) {
+                totalFieldLengths[f] -= indexed.fieldLengths[f];
+            }
+            refreezeIfDrifted();
+        }
+
+        /*
+         * Threshold algorithm: the query terms' postings are read best impact first, one from
+         * each in turn, and every model met is scored in full by looking it up in the other
+         * terms. No model not met yet can score above the sum of the impacts just read, so
+         * reading stops once the top offset + limit all score at least that much.
+         */
+        SearchHits search(Set<String> terms, int offset, int limit) {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new SearchHits(0, Collections.emptyList());
+            }
+
+            List<TermPostings> matched = new ArrayList<>();
+            List<Double> idfs = new ArrayList<>();
+            int used = 0;
+            for (String term : terms) {
+                if (used++ == MAX_QUERY_TERMS) {
+                    break;
+                }
+                TermPostings posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double df = posting.byId.size();
+                matched.add(posting);
+                idfs.add(Math.log(1 + (documentCount - df + 0.5) / (df + 0.5)));
+            }
+            if (matched.isEmpty()) {
+                return new SearchHits(0, Collections.emptyList());
+            }
+
+            // The best offset + limit so far, worst first; ties go to the newer (higher) id
+            int wanted = offset + limit;
+            PriorityQueue<ScoredModel> top = new PriorityQueue<>(wanted + 1, (a, b) -> a.score == b.score
+                    ? Long.compare(a.modelId, b.modelId)
+                    : Double.compare(a.score, b.score));
+            List<Iterator<Posting>> cursors = new ArrayList<>(matched.size());
+            double[] lastImpacts = new double[matched.size()];
+            for (TermPostings posting : matched) {
+                cursors.add(posting.byImpact.iterator());
+            }
+            Set<Long> scored = new HashSet<>();
+
+            boolean more = true;
+            while (more) {
+                more = false;
+                double threshold = 0;
+                for (int t = 0; t < cursors.size(); t++) {
+                    Iterator<Posting> cursor = cursors.get(t);
+                    if (!cursor.hasNext()) {
+                        continue;
+                    }
+                    more = true;
+                    Posting next = cursor.next();
+                    lastImpacts[t] = next.impact;
+                    threshold += idfs.get(t) * next.impact;
+                    if (scored.add(next.modelId)) {
+                        double score = 0;
+                        for (int u = 0; u < matched.size(); u++) {
+                            Posting other = u == t ? next : matched.get(u).byId.get(next.modelId);
+                            if (other != null) {
+                                score += idfs.get(u) * other.impact;
+                            }
+                        }
+                        top.offer(new ScoredModel(next.modelId, score));
+                        if (top.size() > wanted) {
+                            top.poll();
+                        }
+                    }
+                }
+                if (more && top.size() == wanted && top.peek().score >= threshold) {
+                    break;
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().modelId);
+            }
+            Collections.reverse(ranked);
+            List<Long> page = offset >= ranked.size()
+                    ? Collections.emptyList()
+                    : new ArrayList<>(ranked.subList(offset, ranked.size()));
+            return new SearchHits(countMatches(matched), page);
+        }
+
+        int documentCount() {
+            return documents.size();
+        }
+
+        int termCount() {
+            return postings.size();
+        }
+
+        /*
+         * Models matching any of the terms: the longest list counts as is, and each shorter one
+         * adds the models the lists before it lack. Past COUNT_BUDGET lookups it stops, so the
+         * count is then a lower bound.
+         */
+        private static long countMatches(List<TermPostings> matched) {
+            List<TermPostings> lists = new ArrayList<>(matched);
+            lists.sort(Comparator.comparingInt((TermPostings posting) -> posting.byId.size()).reversed());
+            long total = lists.get(0).byId.size();
+            int budget = COUNT_BUDGET;
+            for (int i = 1; i < lists.size(); i++) {
+                for (Long modelId : lists.get(i).byId.keySet()) {
+                    if (budget-- == 0) {
+                        return total;
+                    }
+                    boolean counted = false;
+                    for (int j = 0; j < i && !counted; j++) {
+                        counted = lists.get(j).byId.containsKey(modelId);
+                    }
+                    if (!counted) {
+                        total++;
+                    }
+                }
+            }
+            return total;
+        }
+
+        // The BM25F term weight of one posting, before the term's idf
+        private double impact(int[] tf, int[] fieldLengths) {
+            double weightedTf = 0;
+            for (int f = 0; f < FIELDS.length; f++) {
+                if (tf[f] == 0) {
+                    continue;
+                }
+                Field field = FIELDS[f];
+                double norm = 1 - field.lengthNormalization
+                        + field.lengthNormalization * fieldLengths[f] / averageFieldLengths[f];
+                weightedTf += field.weight * tf[f] / norm;
+            }
+            return weightedTf / (K1 + weightedTf);
+        }
+
+        /*
+         * Impacts depend on the average field lengths, so keeping postings ordered means
+         * recomputing all of them when the averages move. That is only done once some average
+         * is off by more than AVERAGE_DRIFT, which happens less and less as the catalog grows.
+         */
+        private void refreezeIfDrifted() {
+            int documentCount = Math.max(1, documents.size());
+            double[] live = new double[FIELDS.length];
+            boolean drifted = false;
+            for (int f = 0; f < FIELDS.length; f++) {
+                live[f] = Math.max(1.0, (double) totalFieldLengths[f] / documentCount);
+                drifted |= Math.abs(live[f] - averageFieldLengths[f]) > AVERAGE_DRIFT * averageFieldLengths[f];
+            }
+            if (!drifted) {
+                return;
+            }
+            System.arraycopy(live, 0, averageFieldLengths, 0, FIELDS.length);
+            for (TermPostings posting : postings.values()) {
+                List<Posting> rescored = new ArrayList<>(posting.byId.size());
+                for (Posting old : posting.byId.values()) {
+                    rescored.add(new Posting(old.modelId, old.tf,
+                            impact(old.tf, documents.get(old.modelId).fieldLengths)));
+                }
+                posting.byId.clear();
+                posting.byImpact.clear();
+                rescored.forEach(posting::add);
+            }
+        }
+
+        private static void addField(Map<String, int[]> frequencies, int[] fieldLengths, Field field, String text) {
+            for (String term : TextAnalyzer.analyze(text)) {
+                frequencies.computeIfAbsent(term, t -> new int[FIELDS.length])[field.ordinal()]++;
+                fieldLengths[field.ordinal()]++;
+            }
+        }
+    }
+
+    // One term's postings, by model id and best impact first (newer models first on ties)
+    private static final class TermPostings {
+        private final Map<Long, Posting> byId = new HashMap<>();
+        private final TreeSet<Posting> byImpact = new TreeSet<>(Comparator
+                .comparingDouble((Posting posting) -> posting.impact).reversed()
+                .thenComparing(posting -> posting.modelId, Comparator.reverseOrder()));
+
+        void add(Posting posting) {
+            byId.put(posting.modelId, posting);
+            byImpact.add(posting);
+        }
+
+        void remove(Long modelId) {
+            Posting posting = byId.remove(modelId);
+            if (posting != null) {
+                byImpact.remove(posting);
+            }
+        }
+    }
+
+    // Term frequency per field, and the impact computed from it
+    @RequiredArgsConstructor
+    private static final class Posting {
+        private final Long modelId;
+        private final int[] tf;
+        private final double impact;
+    }
+
+    @RequiredArgsConstructor
+    private static final class ScoredModel {
+        private final long modelId;
+        private final double score;
+    }
+
+    @RequiredArgsConstructor
+    private static final class IndexedDocument {
+        private final String[] terms;
+        private final int[] fieldLengths;
+    }
+}
@@ -0,0 +1,110 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.AIModelsImportedEvent;
+import com.toolsai.server.event.OrganizationChangedEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Tag;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.repository.AIModelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@link ModelSearchIndex} and {@link ModelFacetIndex} in step with the database:
+ * a full streamed rebuild at startup, then one model or import chunk at a time as writes
+ * commit. Models also carry their organization's name, so an organization write
+ * reindexes its models.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModelSearchIndexer {
+
+    private final AIModelRepository aiModelRepository;
+    private final ModelSearchIndex modelSearchIndex;
+    private final ModelFacetIndex modelFacetIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        int documents = modelSearchIndex.rebuild(aiModelRepository::streamSearchDocuments);
+        log.info("Built model search index with {} models in {} ms", documents, System.currentTimeMillis() - start);
+
+        start = System.currentTimeMillis();
+        int facets = modelFacetIndex.rebuild(aiModelRepository::streamModelFacets);
+        log.info("Built model facet index with {} models in {} ms", facets, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelChanged(AIModelChangedEvent event) {
+        Optional<AIModel> model = aiModelRepository.findWithDetailsById(event.getModelId());
+        if (model.isEmpty()) {
+            modelSearchIndex.remove(event.getModelId());
+            modelFacetIndex.remove(event.getModelId());
+            return;
+        }
+        reindex(model.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelsImported(AIModelsImportedEvent event) {
+        // Imported rows arrive with their organization and tags, nothing to read back
+        event.getModels().forEach(this::reindex);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationChanged(OrganizationChangedEvent event) {
+        List<AIModel> models = aiModelRepository.findWithDetailsByOrganizationId(event.getOrganizationId());
+        models.forEach(this::reindex);
+        if (!models.isEmpty()) {
+            log.debug("Reindexed {} models of organization {}", models.size(), event.getOrganizationId());
+        }
+    }
+
+    private void reindex(AIModel model) {
+        // Deleted models stay filterable by status but drop out of text search
+        if (model.getModelStatus() == ModelStatus.INACTIVE) {
+            modelSearchIndex.remove(model.getId());
+        } else {
+            modelSearchIndex.upsert(toDocument(model));
+        }
+        modelFacetIndex.upsert(toFacets(model));
+    }
+
+    private static ModelSearchDocument toDocument(AIModel model) {
+        List<String> tagNames = model.getTags() == null
+                ? Collections.emptyList()
+                : model.getTags().stream().map(Tag::getName).collect(Collectors.toList());
+        return new ModelSearchDocument(
+                model.getId(),
+                model.getModelName(),
+                model.getModelDescription(),
+                model.getOrganization().getOrgName(),
+                tagNames);
+    }
+
+    private static ModelFacets toFacets(AIModel model) {
+        List<String> tagSlugs = model.getTags() == null
+                ? Collections.emptyList()
+                : model.getTags().stream().map(Tag::getSlug).collect(Collectors.toList());
+        return new ModelFacets(
+                model.getId(),
+                model.getModelCategory(),
+                model.getPricingType(),
+                model.getModelStatus(),
+                Boolean.TRUE.equals(model.getIsFeatured()),
+                tagSlugs);
+    }
+}
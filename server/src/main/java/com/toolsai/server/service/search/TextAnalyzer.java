@@ -0,0 +1,117 @@
+package com.toolsai.server.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns free text into index terms: lower-cased alphanumeric tokens, stop words dropped,
+ * and a light suffix-stripping stemmer so "models", "modeling" and "modeled" meet.
+ * Documents and queries must go through the same analyzer.
+ */
+public final class TextAnalyzer {
+
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean tokenChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                addTerm(terms, lower.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String token) {
+        if (STOP_WORDS.contains(token)) {
+            return;
+        }
+        terms.add(stem(token));
+    }
+
+    static String stem(String token) {
+        // Short tokens and anything with digits ("gpt4", "v2") are usually names, leave them alone
+        if (token.length() <= 3 || !isAlphabetic(token)) {
+            return token;
+        }
+
+        String word = token;
+        if (word.endsWith("sses")) {
+            word = word.substring(0, word.length() - 2);
+        } else if (word.endsWith("ies")) {
+            word = word.substring(0, word.length() - 3) + "y";
+        } else if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            word = word.substring(0, word.length() - 1);
+        }
+
+        if (word.endsWith("ing") && hasVowel(word, word.length() - 3)) {
+            word = undouble(word.substring(0, word.length() - 3));
+        } else if (word.endsWith("ed") && hasVowel(word, word.length() - 2)) {
+            word = undouble(word.substring(0, word.length() - 2));
+        }
+
+        word = replaceSuffix(word, "ization", "ize");
+        word = replaceSuffix(word, "ational", "ate");
+        word = replaceSuffix(word, "ation", "ate");
+        word = replaceSuffix(word, "ness", "");
+        word = replaceSuffix(word, "ful", "");
+        word = replaceSuffix(word, "ly", "");
+
+        if (word.endsWith("e") && word.length() > 4) {
+            word = word.substring(0, word.length() - 1);
+        }
+        return word.length() >= 2 ? word : token;
+    }
+
+    private static String replaceSuffix(String word, String suffix, String replacement) {
+        if (word.endsWith(suffix) && word.length() - suffix.length() >= 3) {
+            return word.substring(0, word.length() - suffix.length()) + replacement;
+        }
+        return word;
+    }
+
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n >= 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+
+    private static boolean hasVowel(String word, int end) {
+        for (int i = 0; i < end; i++) {
+            if ("aeiouy".indexOf(word.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAlphabetic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,72 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.repository.AIModelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Prior of the Bayesian rating that top-rated models are ranked by:
+ * {@code (weight * mean + sum of stars) / (weight + number of ratings)}. A model with few
+ * ratings stays close to the catalog-wide mean; one with many ratings converges to its own
+ * average.
+ * <p>
+ * Rating changes apply the current prior to their model. The mean is recomputed from the
+ * stored rating sums on a schedule, and only when it has moved are all scores rewritten.
+ */
+@Component
+@Slf4j
+public class BayesianRatingPrior {
+
+    // Used until the first refresh, and while nothing is rated
+    private static final double DEFAULT_MEAN = 3.0;
+    private static final double MIN_MEAN_CHANGE = 0.01;
+
+    private final AIModelRepository aiModelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final double weight;
+
+    private volatile double mean = DEFAULT_MEAN;
+    private volatile boolean refreshed;
+
+    public BayesianRatingPrior(AIModelRepository aiModelRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.ratings.prior-weight:10}") double weight) {
+        this.aiModelRepository = aiModelRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.weight = weight;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    @Scheduled(fixedDelayString = "${app.ratings.prior-refresh-interval-ms:3600000}",
+            initialDelayString = "${app.ratings.prior-refresh-interval-ms:3600000}")
+    public synchronized void refresh() {
+        List<Object[]> totals = aiModelRepository.sumAllRatings();
+        long sum = ((Number) totals.get(0)[0]).longValue();
+        long count = ((Number) totals.get(0)[1]).longValue();
+        double newMean = count > 0 ? (double) sum / count : DEFAULT_MEAN;
+        if (refreshed && Math.abs(newMean - mean) < MIN_MEAN_CHANGE) {
+            return;
+        }
+
+        // Switched first, so rating changes racing the rewrite already score with the new prior
+        mean = newMean;
+        long start = System.currentTimeMillis();
+        int updated = transactionTemplate.execute(status -> aiModelRepository.updateAllBayesianRatings(newMean, weight));
+        refreshed = true;
+        log.info("Rating prior mean is now {} over {} ratings; rescored {} models in {} ms",
+                String.format("%.3f", newMean), count, updated, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,192 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.event.ModelEngagementEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * "Hot" models: recent engagement with exponential time decay over a sliding window.
+ * <p>
+ * Each model keeps a ring of per-bucket engagement weights covering the window. Its score
+ * is the sum of bucket weights times 2^(-age / halfLife). Rather than decaying every
+ * score as time passes, scores are kept as log2 of the sum relative to a fixed epoch:
+ * decay then multiplies all scores by the same factor, so the skip-list order never
+ * changes on its own and only moves when engagement arrives or a bucket leaves the window.
+ */
+@Component
+public class HotModelRanking {
+
+    // How much one unit of each kind of engagement counts towards heat
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 4.0;
+    private static final double COMMENT_WEIGHT = 6.0;
+    private static final double RATING_WEIGHT = 8.0;
+
+    private static final long EMPTY_BUCKET = -1;
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final double halfLifeMillis;
+    private final Clock clock;
+    private final long epochMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Heat> heatByModel = new HashMap<>();
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>(
+            Comparator.comparingDouble(Ranked::logScore).reversed()
+                    .thenComparing(Comparator.comparingLong(Ranked::modelId).reversed()));
+
+    @Autowired
+    public HotModelRanking(@Value("${app.hot.window:72h}") Duration window,
+                           @Value("${app.hot.half-life:24h}") Duration halfLife,
+                           @Value("${app.hot.bucket:1h}") Duration bucket) {
+        this(window, halfLife, bucket, Clock.systemUTC());
+    }
+
+    HotModelRanking(Duration window, Duration halfLife, Duration bucket, Clock clock) {
+        this.bucketMillis = bucket.toMillis();
+        this.bucketCount = (int) Math.max(1, (window.toMillis() + bucketMillis - 1) / bucketMillis);
+        this.halfLifeMillis = halfLife.toMillis();
+        this.clock = clock;
+        this.epochMillis = clock.millis();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ModelEngagementEvent event) {
+        double weight = switch (event.getType()) {
+            case VIEW -> VIEW_WEIGHT * event.getDelta();
+            case LIKE -> LIKE_WEIGHT * event.getDelta();
+            case COMMENT -> COMMENT_WEIGHT * event.getDelta();
+            // A changed rating is fresh engagement too, only removals carry a negative delta
+            case RATING -> event.getDelta() >= 0 ? RATING_WEIGHT : 0;
+        };
+        // Unlikes and deleted comments do not take heat back; they just stop adding to it
+        if (weight > 0) {
+            record(event.getModelId(), weight, clock.millis());
+        }
+    }
+
+    void record(Long modelId, double weight, long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        lock.lock();
+        try {
+            Heat heat = heatByModel.computeIfAbsent(modelId, Heat::new);
+            int slot = (int) (bucket % bucketCount);
+            if (heat.bucketIds[slot] == bucket) {
+                heat.weights[slot] += weight;
+                heat.reposition(logAddExp(heat.logScore, Math.log(weight) / Math.log(2) + exponent(bucket)));
+            } else {
+                // The slot still holds a bucket that has left the window
+                heat.bucketIds[slot] = bucket;
+                heat.weights[slot] = weight;
+                heat.reposition(heat.recompute(bucket));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops buckets that have slid out of the window and forgets models with none left.
+     */
+    @Scheduled(fixedDelayString = "${app.hot.sweep-interval-ms:60000}")
+    public void expire() {
+        long currentBucket = clock.millis() / bucketMillis;
+        lock.lock();
+        try {
+            Iterator<Heat> iterator = heatByModel.values().iterator();
+            while (iterator.hasNext()) {
+                Heat heat = iterator.next();
+                double logScore = heat.recompute(currentBucket);
+                if (logScore == Double.NEGATIVE_INFINITY) {
+                    ranking.remove(heat.ranked);
+                    iterator.remove();
+                } else if (logScore != heat.logScore) {
+                    heat.reposition(logScore);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Long> top(int limit) {
+        List<Long> modelIds = new ArrayList<>(limit);
+        Iterator<Ranked> iterator = ranking.iterator();
+        while (iterator.hasNext() && modelIds.size() < limit) {
+            modelIds.add(iterator.next().modelId());
+        }
+        return modelIds;
+    }
+
+    // Bucket midpoint, in half-lives since the epoch
+    private double exponent(long bucket) {
+        return (bucket * bucketMillis + bucketMillis / 2.0 - epochMillis) / halfLifeMillis;
+    }
+
+    private static double logAddExp(double a, double b) {
+        if (a == Double.NEGATIVE_INFINITY) {
+            return b;
+        }
+        double max = Math.max(a, b);
+        double min = Math.min(a, b);
+        return max + Math.log1p(Math.pow(2, min - max)) / Math.log(2);
+    }
+
+    private record Ranked(double logScore, long modelId) {
+    }
+
+    private final class Heat {
+
+        private final long modelId;
+        private final long[] bucketIds = new long[bucketCount];
+        private final double[] weights = new double[bucketCount];
+        private double logScore = Double.NEGATIVE_INFINITY;
+        private Ranked ranked;
+
+        Heat(Long modelId) {
+            this.modelId = modelId;
+            Arrays.fill(bucketIds, EMPTY_BUCKET);
+        }
+
+        double recompute(long currentBucket) {
+            double result = Double.NEGATIVE_INFINITY;
+            for (int slot = 0; slot < bucketCount; slot++) {
+                if (bucketIds[slot] == EMPTY_BUCKET) {
+                    continue;
+                }
+                if (bucketIds[slot] <= currentBucket - bucketCount) {
+                    bucketIds[slot] = EMPTY_BUCKET;
+                    weights[slot] = 0;
+                    continue;
+                }
+                result = logAddExp(result, Math.log(weights[slot]) / Math.log(2) + exponent(bucketIds[slot]));
+            }
+            return result;
+        }
+
+        void reposition(double newLogScore) {
+            if (ranked != null) {
+                ranking.remove(ranked);
+            }
+            logScore = newLogScore;
+            ranked = new Ranked(newLogScore, modelId);
+            ranking.add(ranked);
+        }
+    }
+}
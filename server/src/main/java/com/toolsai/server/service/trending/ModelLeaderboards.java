@@ -0,0 +1,333 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.AIModelsImportedEvent;
+import com.toolsai.server.event.ModelEngagementEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.repository.AIModelRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded top-K leaderboards of models by views and likes, overall and per category.
+ * They are kept current from engagement events, so trending reads cost O(K).
+ * <p>
+ * Each board tracks up to {@code capacity + reserve} ids, and every model it does not
+ * track ranks at or below its floor, the best of the ids it gave up. A member whose score
+ * falls below the floor leaves the board, and a model outside it only enters by ranking
+ * above the floor, so the tracked ids are always the true top. Only once departures eat
+ * through the whole reserve does the board have to be refilled from the score table.
+ */
+@Component
+@Slf4j
+public class ModelLeaderboards {
+
+    public enum Metric {
+        VIEWS,
+        LIKES
+    }
+
+    private final AIModelRepository aiModelRepository;
+    private final int capacity;
+    private final int reserve;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ModelScores> scores = new HashMap<>();
+    private final Map<Metric, Leaderboard> overall = new EnumMap<>(Metric.class);
+    private final Map<Metric, Map<ModelCategory, Leaderboard>> byCategory = new EnumMap<>(Metric.class);
+    private long refillCount;
+
+    public ModelLeaderboards(AIModelRepository aiModelRepository,
+                             @Value("${app.leaderboards.capacity:100}") int capacity,
+                             @Value("${app.leaderboards.reserve:50}") int reserve) {
+        this.aiModelRepository = aiModelRepository;
+        this.capacity = capacity;
+        this.reserve = reserve;
+        for (Metric metric : Metric.values()) {
+            overall.put(metric, new Leaderboard(metric));
+            Map<ModelCategory, Leaderboard> boards = new EnumMap<>(ModelCategory.class);
+            for (ModelCategory category : ModelCategory.values()) {
+                boards.put(category, new Leaderboard(metric, category));
+            }
+            byCategory.put(metric, boards);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Full scans of the score table since startup
+    public long getRefillCount() {
+        lock.readLock().lock();
+        try {
+            return refillCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            scores.clear();
+            aiModelRepository.streamModelScores(modelScores -> scores.put(modelScores.getModelId(), modelScores));
+            allBoards().forEach(Leaderboard::refill);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built model leaderboards over {} models in {} ms", scores.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Up to {@code limit} model ids, best first. {@code category} may be null for the overall board.
+     */
+    public List<Long> top(Metric metric, ModelCategory category, int limit) {
+        Leaderboard board = category == null ? overall.get(metric) : byCategory.get(metric).get(category);
+        int boundedLimit = Math.min(limit, capacity);
+        lock.readLock().lock();
+        try {
+            if (!board.stale) {
+                return board.head(boundedLimit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (board.stale) {
+                board.refill();
+            }
+            return board.head(boundedLimit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(ModelEngagementEvent event) {
+        switch (event.getType()) {
+            case VIEW -> change(event.getModelId(), s -> s.setViewCount(s.getViewCount() + event.getDelta()));
+            case LIKE -> change(event.getModelId(), s -> s.setLikeCount(s.getLikeCount() + event.getDelta()));
+            default -> {
+                // Comments have no leaderboard; top-rated is served from the bayesian_rating index
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelChanged(AIModelChangedEvent event) {
+        Optional<AIModel> model = event.getChangeType() == AIModelChangedEvent.ChangeType.DELETED
+                ? Optional.empty()
+                : aiModelRepository.findById(event.getModelId());
+        if (model.isEmpty() || model.get().getModelStatus() == ModelStatus.INACTIVE) {
+            remove(event.getModelId());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!scores.containsKey(event.getModelId())) {
+                track(model.get());
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        change(event.getModelId(), s -> s.setModelCategory(model.get().getModelCategory()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModelsImported(AIModelsImportedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (AIModel model : event.getModels()) {
+                if (model.getModelStatus() != ModelStatus.INACTIVE && !scores.containsKey(model.getId())) {
+                    track(model);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void track(AIModel model) {
+        ModelScores created = new ModelScores(model.getId(), model.getModelCategory(),
+                model.getViewCount() != null ? model.getViewCount() : 0,
+                model.getLikeCount() != null ? model.getLikeCount() : 0);
+        scores.put(created.getModelId(), created);
+        boardsFor(created.getModelCategory()).forEach(board -> board.offer(created.getModelId()));
+    }
+
+    private void remove(Long modelId) {
+        lock.writeLock().lock();
+        try {
+            ModelScores removed = scores.get(modelId);
+            if (removed != null) {
+                boardsFor(removed.getModelCategory()).forEach(board -> board.leave(modelId));
+                scores.remove(modelId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies {@code mutation} to a model's scores and repositions it on every board it
+     * was or now is eligible for. Ids are taken out before the mutation because the boards
+     * are ordered by the very scores being changed.
+     */
+    private void change(Long modelId, Consumer<ModelScores> mutation) {
+        lock.writeLock().lock();
+        try {
+            ModelScores modelScores = scores.get(modelId);
+            if (modelScores == null) {
+                return;
+            }
+
+            List<Leaderboard> before = boardsFor(modelScores.getModelCategory());
+            before.forEach(board -> board.members.remove(modelId));
+
+            mutation.accept(modelScores);
+
+            List<Leaderboard> after = boardsFor(modelScores.getModelCategory());
+            for (Leaderboard board : before) {
+                if (!after.contains(board)) {
+                    board.leave(modelId);
+                }
+            }
+            after.forEach(board -> board.offer(modelId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Leaderboard> boardsFor(ModelCategory category) {
+        List<Leaderboard> boards = new ArrayList<>(overall.values());
+        if (category != null) {
+            byCategory.values().forEach(perCategory -> boards.add(perCategory.get(category)));
+        }
+        return boards;
+    }
+
+    private List<Leaderboard> allBoards() {
+        List<Leaderboard> boards = new ArrayList<>(overall.values());
+        byCategory.values().forEach(perCategory -> boards.addAll(perCategory.values()));
+        return boards;
+    }
+
+    private final class Leaderboard {
+
+        private final Metric metric;
+        private final ModelCategory category;
+        private final TreeSet<Long> members;
+        // Whether some eligible models are not tracked, and if so the best rank among them
+        private boolean truncated;
+        private double floorScore;
+        private long floorId;
+        private boolean stale;
+
+        Leaderboard(Metric metric) {
+            this(metric, null);
+        }
+
+        Leaderboard(Metric metric, ModelCategory category) {
+            this.metric = metric;
+            this.category = category;
+            // Best score first, newer model first on ties
+            this.members = new TreeSet<>(Comparator
+                    .comparingDouble((Long id) -> score(scores.get(id))).reversed()
+                    .thenComparing(Comparator.reverseOrder()));
+        }
+
+        double score(ModelScores modelScores) {
+            return switch (metric) {
+                case VIEWS -> modelScores.getViewCount();
+                case LIKES -> modelScores.getLikeCount();
+            };
+        }
+
+        /**
+         * Puts an eligible model in its place, provided it outranks every model the board
+         * gave up; otherwise it stays out, below the floor. The id must not be a member.
+         */
+        void offer(Long modelId) {
+            if (stale) {
+                return;
+            }
+            double score = score(scores.get(modelId));
+            if (truncated && (score < floorScore || score == floorScore && modelId < floorId)) {
+                shrunk();
+                return;
+            }
+            members.add(modelId);
+            if (members.size() > capacity + reserve) {
+                Long evicted = members.pollLast();
+                double evictedScore = score(scores.get(evicted));
+                if (!truncated || evictedScore > floorScore || evictedScore == floorScore && evicted > floorId) {
+                    floorScore = evictedScore;
+                    floorId = evicted;
+                }
+                truncated = true;
+            }
+        }
+
+        // The model is no longer eligible for this board
+        void leave(Long modelId) {
+            members.remove(modelId);
+            shrunk();
+        }
+
+        private void shrunk() {
+            // Below capacity with models left outside: only a scan can tell which come back in
+            if (truncated && members.size() < capacity) {
+                stale = true;
+            }
+        }
+
+        void refill() {
+            members.clear();
+            truncated = false;
+            stale = false;
+            for (ModelScores modelScores : scores.values()) {
+                if (category == null || category == modelScores.getModelCategory()) {
+                    offer(modelScores.getModelId());
+                }
+            }
+            refillCount++;
+        }
+
+        List<Long> head(int limit) {
+            List<Long> ids = new ArrayList<>(Math.min(limit, members.size()));
+            Iterator<Long> iterator = members.iterator();
+            while (iterator.hasNext() && ids.size() < limit) {
+                ids.add(iterator.next());
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.model.enums.ModelCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The counters leaderboards rank by, for one model. Only mutated under the
+ * {@link ModelLeaderboards} lock.
+ */
+@Data
+@AllArgsConstructor
+public class ModelScores {
+
+    private Long modelId;
+    private ModelCategory modelCategory;
+    private long viewCount;
+    private long likeCount;
+}
@@ -0,0 +1,50 @@
+package com.toolsai.server.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Change counters per cache key, for loads that must not install a value read before a
+ * change to the same key. Read {@link #get} before loading, {@link #bump} on every change,
+ * and install only if {@code get} still returns the same number. A load that only learns
+ * its keys from what it read takes a {@link #snapshot} instead.
+ * <p>
+ * Keys share a fixed number of striped counters, so memory stays flat however many keys
+ * there are. A change to another key on the same stripe only costs one skipped install.
+ */
+public class KeyGenerations {
+
+    private final AtomicLongArray counters;
+    private final int mask;
+
+    public KeyGenerations(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.counters = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    public long get(Object key) {
+        return counters.get(index(key));
+    }
+
+    public void bump(Object key) {
+        counters.incrementAndGet(index(key));
+    }
+
+    public long[] snapshot() {
+        long[] snapshot = new long[counters.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counters.get(i);
+        }
+        return snapshot;
+    }
+
+    public boolean unchangedSince(Object key, long[] snapshot) {
+        int index = index(key);
+        return counters.get(index) == snapshot[index];
+    }
+
+    private int index(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,154 @@
+package com.toolsai.server.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes result set rows as newline-delimited JSON objects, one per row, with snake_case
+ * column labels turned into camelCase field names. Nothing but the current row is held.
+ * <p>
+ * Optionally, one column is collected into an array: consecutive rows with the same
+ * {@code id} (a one-to-many join ordered by id) are folded into a single object.
+ */
+public class NdjsonRowWriter implements RowCallbackHandler {
+
+    private final JsonGenerator generator;
+    private final String arrayColumn;
+
+    private String[] fieldNames;
+    private int idColumn;
+    private int arrayColumnIndex;
+
+    private long currentId = -1;
+    private Object[] pendingValues;
+    private final List<Object> pendingArray = new ArrayList<>();
+    private long rowsWritten;
+
+    public NdjsonRowWriter(JsonGenerator generator) {
+        this(generator, null);
+    }
+
+    public NdjsonRowWriter(JsonGenerator generator, String arrayColumn) {
+        this.generator = generator;
+        this.arrayColumn = arrayColumn;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        if (fieldNames == null) {
+            readMetaData(rs.getMetaData());
+        }
+
+        long id = rs.getLong(idColumn);
+        if (arrayColumn == null || id != currentId) {
+            flushPending();
+            currentId = id;
+            pendingValues = new Object[fieldNames.length];
+            for (int column = 1; column <= fieldNames.length; column++) {
+                if (column != arrayColumnIndex) {
+                    pendingValues[column - 1] = rs.getObject(column);
+                }
+            }
+        }
+        if (arrayColumn != null) {
+            Object element = rs.getObject(arrayColumnIndex);
+            if (element != null) {
+                pendingArray.add(element);
+            }
+        }
+        if (arrayColumn == null) {
+            flushPending();
+        }
+    }
+
+    /**
+     * Writes the row still being folded, if any, and flushes the generator.
+     */
+    public void finish() {
+        flushPending();
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    private void readMetaData(ResultSetMetaData metaData) throws SQLException {
+        fieldNames = new String[metaData.getColumnCount()];
+        for (int column = 1; column <= fieldNames.length; column++) {
+            String label = JdbcUtils.lookupColumnName(metaData, column);
+            fieldNames[column - 1] = JdbcUtils.convertUnderscoreNameToPropertyName(label);
+            if ("id".equalsIgnoreCase(label)) {
+                idColumn = column;
+            }
+            if (label.equalsIgnoreCase(arrayColumn)) {
+                arrayColumnIndex = column;
+            }
+        }
+        if (idColumn == 0) {
+            throw new IllegalStateException("NDJSON export query must select an id column");
+        }
+    }
+
+    private void flushPending() {
+        if (pendingValues == null) {
+            return;
+        }
+        try {
+            generator.writeStartObject();
+            for (int i = 0; i < fieldNames.length; i++) {
+                generator.writeFieldName(fieldNames[i]);
+                if (i + 1 == arrayColumnIndex) {
+                    generator.writeStartArray();
+                    for (Object element : pendingArray) {
+                        writeValue(element);
+                    }
+                    generator.writeEndArray();
+                } else {
+                    writeValue(pendingValues[i]);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rowsWritten++;
+        pendingValues = null;
+        pendingArray.clear();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number number) {
+            generator.writeNumber(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Timestamp timestamp) {
+            // Same ISO-8601 form the JSON API uses for LocalDateTime
+            generator.writeString(timestamp.toLocalDateTime().toString());
+        } else {
+            generator.writeString(value.toString());
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.toolsai.server.util;
+
+/**
+ * A position in a keyset-paginated listing, handed to clients only in encoded form.
+ */
+public interface PageCursor {
+    String encode();
+}
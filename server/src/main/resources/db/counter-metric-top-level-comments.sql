@@ -0,0 +1,8 @@
+-- Lets model_counter_shards take TOP_LEVEL_COMMENTS slots (Postgres).
+-- Schemas created before the metric existed carry Hibernate's check constraint on the enum
+-- values, which ddl-auto=update never widens; until this runs, promoting a model to sharded
+-- counters fails and its counters stay on the model row.
+
+ALTER TABLE model_counter_shards DROP CONSTRAINT IF EXISTS model_counter_shards_metric_check;
+ALTER TABLE model_counter_shards ADD CONSTRAINT model_counter_shards_metric_check
+    CHECK (metric IN ('LIKES', 'COMMENTS', 'TOP_LEVEL_COMMENTS'));
@@ -0,0 +1,43 @@
+-- One-off conversion of notifications into monthly range partitions on created_at (Postgres 14+).
+-- Run with the application stopped. Afterwards NotificationPurger creates upcoming months
+-- ahead of time and drops months past the longest retention whole.
+--
+-- There is deliberately no default partition: DETACH PARTITION CONCURRENTLY does not
+-- work with one, so inserts rely on the months being created ahead of time.
+
+BEGIN;
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+
+CREATE TABLE notifications (
+    LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS
+) PARTITION BY RANGE (created_at);
+
+-- Unique constraints on a partitioned table must include the partition key
+ALTER TABLE notifications ADD PRIMARY KEY (id, created_at);
+ALTER TABLE notifications ADD FOREIGN KEY (receiver_id) REFERENCES users (id);
+ALTER TABLE notifications ADD FOREIGN KEY (sender_id) REFERENCES users (id);
+
+CREATE INDEX idx_notifications_receiver_created_at_id ON notifications (receiver_id, created_at, id);
+CREATE INDEX idx_notifications_receiver_is_read ON notifications (receiver_id, is_read);
+CREATE INDEX idx_notifications_receiver_updated_at_id ON notifications (receiver_id, updated_at, id);
+CREATE INDEX idx_notifications_type_created_at ON notifications (type, created_at);
+CREATE INDEX idx_notifications_receiver_type_subject ON notifications (receiver_id, type, subject_id, created_at);
+
+-- One partition per month, from the oldest notification to three months ahead
+DO $$
+DECLARE
+    month date := date_trunc('month', COALESCE((SELECT MIN(created_at) FROM notifications_unpartitioned), now()));
+BEGIN
+    WHILE month <= date_trunc('month', now()) + interval '3 months' LOOP
+        EXECUTE format('CREATE TABLE notifications_p%s PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYY_MM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    END LOOP;
+END $$;
+
+INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+COMMIT;
@@ -0,0 +1,152 @@
+package com.toolsai.server.benchmark;
+
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.dto.response.OrganizationResponse;
+import com.toolsai.server.dto.response.TagResponse;
+import com.toolsai.server.mapper.AIModelMapper;
+import com.toolsai.server.mapper.OrganizationMapper;
+import com.toolsai.server.mapper.TagMapper;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.Tag;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the reflective BeanUtils conversion the services used to do with the hand-written
+ * mappers, for one listing page of 1,000 models with their organization and tags.
+ * <p>
+ * Run {@link #main(String[])} after {@code mvn test-compile}; the GC profiler reports the
+ * allocation rate ({@code gc.alloc.rate.norm} is bytes allocated per page).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final int PAGE_SIZE = 1_000;
+
+    private final AIModelMapper aiModelMapper = new AIModelMapper(new OrganizationMapper(), new TagMapper());
+
+    private List<AIModel> page;
+
+    @Setup
+    public void setUp() {
+        Organization organization = Organization.builder()
+                .id(1L)
+                .orgName("Benchmark Labs")
+                .orgSlug("benchmark-labs")
+                .orgUrl("https://benchmark-labs.example.com")
+                .description("Organization used by the mapping benchmark")
+                .orgSecret("secret")
+                .joinedAt(LocalDateTime.now())
+                .totalModels(PAGE_SIZE)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        List<Tag> tags = List.of(
+                Tag.builder().id(1L).name("nlp").slug("nlp").usageCount(10).build(),
+                Tag.builder().id(2L).name("vision").slug("vision").usageCount(5).build(),
+                Tag.builder().id(3L).name("open-source").slug("open-source").usageCount(7).build());
+
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(AIModel.builder()
+                    .id((long) i)
+                    .modelName("Model " + i)
+                    .modelSlug("model-" + i)
+                    .modelDescription("Description of model " + i)
+                    .modelVersion("1.0." + i)
+                    .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                    .pricingType(PricingType.PAY_PER_USE)
+                    .modelPrice(BigDecimal.valueOf(i, 2))
+                    .pricingUnit("per 1K tokens")
+                    .apiUrl("https://api.example.com/models/" + i)
+                    .documentationUrl("https://docs.example.com/models/" + i)
+                    .modelStatus(ModelStatus.ACTIVE)
+                    .likeCount(i)
+                    .commentCount(i / 2)
+                    .viewCount(i * 10L)
+                    .averageRating(BigDecimal.valueOf(4.5))
+                    .ratingCount(i / 3)
+                    .createdAt(LocalDateTime.now())
+                    .updatedAt(LocalDateTime.now())
+                    .organization(organization)
+                    .tags(tags)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<AIModelResponse> beanUtilsCopyProperties() {
+        List<AIModelResponse> responses = new ArrayList<>(page.size());
+        for (AIModel aiModel : page) {
+            responses.add(copyWithBeanUtils(aiModel));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<AIModelResponse> handWrittenMapper() {
+        List<AIModelResponse> responses = new ArrayList<>(page.size());
+        for (AIModel aiModel : page) {
+            responses.add(aiModelMapper.toResponse(aiModel));
+        }
+        return responses;
+    }
+
+    // The conversion AIModelService did before the mappers were introduced
+    private static AIModelResponse copyWithBeanUtils(AIModel aiModel) {
+        AIModelResponse response = new AIModelResponse();
+        BeanUtils.copyProperties(aiModel, response, "organization", "tags");
+
+        OrganizationResponse organization = new OrganizationResponse();
+        BeanUtils.copyProperties(aiModel.getOrganization(), organization);
+        response.setOrganization(organization);
+
+        response.setTags(aiModel.getTags().stream()
+                .map(tag -> {
+                    TagResponse tagResponse = new TagResponse();
+                    BeanUtils.copyProperties(tag, tagResponse);
+                    return tagResponse;
+                })
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResponseMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
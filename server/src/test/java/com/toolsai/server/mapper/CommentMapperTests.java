@@ -0,0 +1,50 @@
+package com.toolsai.server.mapper;
+
+import com.toolsai.server.dto.response.CommentResponse;
+import com.toolsai.server.model.AIModelComment;
+import com.toolsai.server.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommentMapperTests {
+
+    private final CommentMapper commentMapper = new CommentMapper();
+
+    @Test
+    void matchesTheBeanUtilsConversionItReplaced() {
+        AIModelComment parent = AIModelComment.builder().id(1L).content("parent").build();
+        AIModelComment reply = AIModelComment.builder()
+                .id(2L)
+                .content("reply")
+                .upvoteCount(3)
+                .downvoteCount(1)
+                .isEdited(true)
+                .user(User.builder().id(7L).username("author").build())
+                .parentComment(parent)
+                .createdAt(LocalDateTime.of(2024, 1, 2, 3, 4))
+                .updatedAt(LocalDateTime.of(2024, 1, 2, 3, 5))
+                .build();
+
+        // What CommentService.convertToResponse did before the mappers
+        CommentResponse expected = new CommentResponse();
+        BeanUtils.copyProperties(reply, expected);
+        expected.setParentCommentId(reply.getParentComment().getId());
+
+        CommentResponse mapped = commentMapper.toResponse(reply);
+
+        assertThat(mapped).isEqualTo(expected);
+        assertThat(mapped.getParentCommentId()).isEqualTo(1L);
+        assertThat(mapped.getUser()).isNull();
+        assertThat(commentMapper.toResponse(parent)).isEqualTo(withoutParent(parent));
+    }
+
+    private static CommentResponse withoutParent(AIModelComment comment) {
+        CommentResponse response = new CommentResponse();
+        BeanUtils.copyProperties(comment, response);
+        return response;
+    }
+}
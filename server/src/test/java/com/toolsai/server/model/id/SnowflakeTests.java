@@ -0,0 +1,100 @@
+package com.toolsai.server.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnowflakeTests {
+
+    private static final long START = Snowflake.EPOCH_MILLIS + 1_000_000;
+
+    @Test
+    void idsAreUniqueAndIncreasingPerThreadUnderContention() throws Exception {
+        Snowflake snowflake = new Snowflake(3);
+        int threads = 8;
+        int idsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = snowflake.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> all = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long[] ids = future.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                    assertThat((ids[i] >>> 7) & Snowflake.MAX_NODE_ID).isEqualTo(3);
+                    all.add(ids[i]);
+                }
+            }
+            assertThat(all).hasSize(threads * idsPerThread);
+            // Exhausted milliseconds were waited out, never borrowed from the future
+            long newest = all.stream().mapToLong(Long::longValue).max().orElseThrow();
+            assertThat(timestampOf(newest)).isLessThanOrEqualTo(System.currentTimeMillis());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void exhaustedMillisecondWaitsForTheClock() throws Exception {
+        AtomicLong clock = new AtomicLong(START);
+        Snowflake snowflake = new Snowflake(0, clock::get);
+        long last = 0;
+        for (int i = 0; i < 128; i++) {
+            last = snowflake.nextId();
+        }
+        assertThat(timestampOf(last)).isEqualTo(START);
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(snowflake::nextId);
+        Thread.sleep(100);
+        assertThat(waiting).isNotDone();
+
+        clock.incrementAndGet();
+        long next = waiting.get(5, TimeUnit.SECONDS);
+        assertThat(next).isGreaterThan(last);
+        assertThat(timestampOf(next)).isEqualTo(START + 1);
+    }
+
+    @Test
+    void clockSteppingBackwardsNeverProducesSmallerIds() {
+        AtomicLong clock = new AtomicLong(START);
+        Snowflake snowflake = new Snowflake(0, clock::get);
+        long before = snowflake.nextId();
+
+        clock.addAndGet(-5_000);
+        long after = snowflake.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(timestampOf(after)).isEqualTo(START);
+    }
+
+    private static long timestampOf(long id) {
+        return (id >>> 12) + Snowflake.EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,165 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.request.AIModelCreateRequest;
+import com.toolsai.server.dto.response.BulkImportResponse;
+import com.toolsai.server.dto.response.NotificationResponse;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.UserOrganizationSubscription;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.model.enums.SubscriptionStatus;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.TagRepository;
+import com.toolsai.server.repository.UserOrganizationSubscriptionRepository;
+import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.fanout.NotificationFanout;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.bulk-import.chunk-size=20")
+@ActiveProfiles("test")
+class AIModelBulkImportServiceTests {
+
+    @Autowired
+    private AIModelBulkImportService aiModelBulkImportService;
+
+    @Autowired
+    private AIModelService aiModelService;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationFanout notificationFanout;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserOrganizationSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Organization> organizations = new ArrayList<>();
+    private Long followerId;
+
+    @BeforeEach
+    void setUp() {
+        User follower = userRepository.save(User.builder()
+                .username("importer-follower")
+                .email("importer-follower@example.com")
+                .password("password")
+                .build());
+        followerId = follower.getId();
+        for (String name : List.of("Alpha", "Beta")) {
+            Organization organization = organizationRepository.save(Organization.builder()
+                    .orgName(name + " Labs")
+                    .orgSlug(name.toLowerCase() + "-labs")
+                    .orgUrl("https://" + name.toLowerCase() + ".example.com")
+                    .orgSecret("secret")
+                    .build());
+            organizations.add(organization);
+            subscriptionRepository.save(UserOrganizationSubscription.builder()
+                    .user(follower)
+                    .organization(organization)
+                    .status(SubscriptionStatus.ACTIVE)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitFanout();
+        notificationRepository.deleteAllInBatch();
+        subscriptionRepository.deleteAllInBatch();
+        aiModelRepository.deleteAll();
+        tagRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importIndexesFromMemoryAndAnnouncesOncePerOrganization() throws InterruptedException {
+        List<AIModelCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(request("Bulkimported " + i, "bulk-imported-" + i,
+                    organizations.get(i < 70 ? 0 : 1).getId(), "tag-" + (i % 5)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkImportResponse report = aiModelBulkImportService.importModels(requests);
+        long statementsWithoutFanout = statistics.getPrepareStatementCount();
+
+        assertThat(report.getCreated()).isEqualTo(100);
+        // A few set-based statements per chunk and none per model (listeners used to read
+        // each one back twice); a fan-out that already started may add a few more
+        assertThat(statementsWithoutFanout).isLessThan(40);
+
+        assertThat(aiModelService.searchAIModels("bulkimported", PageRequest.of(0, 10)).getTotalElements())
+                .isEqualTo(100);
+        assertThat(aiModelService.getMostViewedModels(200, ModelCategory.LANGUAGE_MODEL))
+                .extracting("modelSlug")
+                .contains("bulk-imported-99");
+
+        awaitFanout();
+        List<NotificationResponse> received = notificationService
+                .getUnreadNotifications(followerId, Pageable.unpaged()).getContent();
+        assertThat(received).extracting(NotificationResponse::getTitle)
+                .containsExactlyInAnyOrder("Alpha Labs published 70 new models", "Beta Labs published 30 new models");
+        assertThat(Set.copyOf(received.stream().map(NotificationResponse::getActionUrl).toList()))
+                .containsExactlyInAnyOrder("/organizations/alpha-labs", "/organizations/beta-labs");
+    }
+
+    private static AIModelCreateRequest request(String name, String slug, Long organizationId, String tag) {
+        AIModelCreateRequest request = new AIModelCreateRequest();
+        request.setModelName(name);
+        request.setModelSlug(slug);
+        request.setModelVersion("1.0");
+        request.setModelCategory(ModelCategory.LANGUAGE_MODEL);
+        request.setPricingType(PricingType.FREE);
+        request.setOrganizationId(organizationId);
+        request.setTagNames(List.of(tag));
+        return request;
+    }
+
+    private void awaitFanout() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (notificationFanout.getStats().getPendingJobs() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(notificationFanout.getStats().getPendingJobs()).isZero();
+    }
+}
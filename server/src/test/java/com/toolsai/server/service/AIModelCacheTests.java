@@ -0,0 +1,99 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.dto.response.OrganizationResponse;
+import com.toolsai.server.event.ModelEngagementEvent;
+import com.toolsai.server.event.OrganizationChangedEvent;
+import com.toolsai.server.mapper.AIModelMapper;
+import com.toolsai.server.mapper.OrganizationMapper;
+import com.toolsai.server.mapper.TagMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AIModelCacheTests {
+
+    private final AIModelCache cache = new AIModelCache(
+            new AIModelMapper(new OrganizationMapper(), new TagMapper()), 100, Duration.ofMinutes(5));
+
+    @Test
+    void loadThatRacedAnInvalidationIsNotCached() {
+        // The write commits and invalidates while the slug load still holds the old row
+        AIModelResponse stale = cache.getBySlug("racy", slug -> {
+            cache.invalidate(1L, slug);
+            return model(1L, "old");
+        });
+        assertThat(stale.getModelName()).isEqualTo("old");
+
+        assertThat(cache.getById(1L, id -> model(id, "new")).getModelName()).isEqualTo("new");
+        assertThat(cache.getBySlug("racy", slug -> model(1L, "newer")).getModelName()).isEqualTo("new");
+
+        List<AIModelResponse> page = cache.getAll(List.of(2L), missing -> {
+            cache.invalidate(2L, null);
+            return Map.of(2L, model(2L, "old"));
+        });
+        assertThat(page).extracting(AIModelResponse::getModelName).containsExactly("old");
+        assertThat(cache.getById(2L, id -> model(id, "new")).getModelName()).isEqualTo("new");
+    }
+
+    @Test
+    void invalidationsOfOtherModelsDoNotHoldBackLoads() {
+        cache.getBySlug("busy", slug -> {
+            cache.onEngagement(ModelEngagementEvent.like(2L, 1));
+            return model(1L, "loaded by slug");
+        });
+        cache.getAll(List.of(3L), missing -> {
+            cache.onEngagement(ModelEngagementEvent.like(4L, 1));
+            return Map.of(3L, model(3L, "loaded in a page"));
+        });
+
+        assertThat(cache.getById(1L, id -> model(id, "reloaded")).getModelName()).isEqualTo("loaded by slug");
+        assertThat(cache.getById(3L, id -> model(id, "reloaded")).getModelName()).isEqualTo("loaded in a page");
+    }
+
+    @Test
+    void callersCannotChangeTheCachedResponse() {
+        cache.getById(1L, id -> model(id, "cached")).setModelName("changed by a caller");
+        cache.getAll(List.of(1L), missing -> Map.of()).get(0).setViewCount(99L);
+
+        AIModelResponse cached = cache.getById(1L, id -> model(id, "reloaded"));
+        assertThat(cached.getModelName()).isEqualTo("cached");
+        assertThat(cached.getViewCount()).isZero();
+    }
+
+    @Test
+    void organizationChangesDropItsModelsAndViewsDropNothing() {
+        cache.getById(1L, id -> model(id, "first", 10L));
+        cache.getById(2L, id -> model(id, "second", 20L));
+
+        cache.onEngagement(ModelEngagementEvent.views(1L, 5));
+        cache.onOrganizationChanged(new OrganizationChangedEvent(10L));
+
+        assertThat(cache.getById(1L, id -> model(id, "reloaded", 10L)).getModelName()).isEqualTo("reloaded");
+        assertThat(cache.getById(2L, id -> model(id, "reloaded", 20L)).getModelName()).isEqualTo("second");
+
+        cache.onEngagement(ModelEngagementEvent.like(2L, 1));
+        assertThat(cache.getById(2L, id -> model(id, "liked", 20L)).getModelName()).isEqualTo("liked");
+    }
+
+    private static AIModelResponse model(Long id, String name, Long organizationId) {
+        AIModelResponse response = model(id, name);
+        OrganizationResponse organization = new OrganizationResponse();
+        organization.setId(organizationId);
+        response.setOrganization(organization);
+        return response;
+    }
+
+    private static AIModelResponse model(Long id, String name) {
+        AIModelResponse response = new AIModelResponse();
+        response.setId(id);
+        response.setModelName(name);
+        response.setModelSlug("racy");
+        response.setViewCount(0L);
+        return response;
+    }
+}
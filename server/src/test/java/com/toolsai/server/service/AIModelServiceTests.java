@@ -0,0 +1,210 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.event.OrganizationChangedEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.Tag;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.TagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AIModelServiceTests {
+
+    @Autowired
+    private AIModelService aiModelService;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate.executeWithoutResult(status -> seedCatalog());
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiModelRepository.deleteAll();
+        tagRepository.deleteAll();
+        organizationRepository.deleteAll();
+    }
+
+    @Test
+    void listingPageLoadsOrganizationsAndTagsInConstantStatements() {
+        statistics.clear();
+
+        Page<AIModelResponse> page = aiModelService.getAllAIModels(PageRequest.of(0, 50));
+
+        assertThat(page.getContent()).hasSize(50);
+        assertThat(page.getContent()).allSatisfy(model -> {
+            assertThat(model.getOrganization()).isNotNull();
+            assertThat(model.getOrganization().getOrgName()).startsWith("Org ");
+            assertThat(model.getTags()).hasSize(2);
+        });
+        // Page query with the organization join, count query, one batched tag query
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void detailLoadsOrganizationAndTagsInOneStatement() {
+        Long modelId = aiModelRepository.findByModelSlug("model-7").orElseThrow().getId();
+        statistics.clear();
+
+        AIModelResponse model = aiModelService.getAIModelById(modelId);
+
+        assertThat(model.getOrganization()).isNotNull();
+        assertThat(model.getTags()).extracting("name").containsExactlyInAnyOrder("tag-7", "tag-8");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void organizationChangeReindexesItsModelsForSearch() {
+        Organization organization = organizationRepository.findAll().stream()
+                .filter(org -> org.getOrgSlug().equals("org-1"))
+                .findFirst().orElseThrow();
+        organization.setOrgName("Zephyr Labs");
+        organizationRepository.save(organization);
+        assertThat(aiModelService.searchAIModels("zephyr", PageRequest.of(0, 20)).getTotalElements()).isZero();
+
+        eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
+
+        Page<AIModelResponse> hits = aiModelService.searchAIModels("zephyr", PageRequest.of(0, 20));
+        assertThat(hits.getTotalElements()).isEqualTo(12);
+        assertThat(hits.getContent()).allSatisfy(model ->
+                assertThat(model.getOrganization().getOrgName()).isEqualTo("Zephyr Labs"));
+    }
+
+    @Test
+    void detailRevalidatesFromTheCacheThroughViewFlushesButNotOrganizationChanges() throws Exception {
+        AIModel stored = aiModelRepository.findWithDetailsByModelSlug("model-3").orElseThrow();
+        String eTag = mockMvc.perform(get("/api/models/{id}", stored.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        viewCountBuffer.flush();
+        statistics.clear();
+
+        mockMvc.perform(get("/api/models/{id}", stored.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        Organization organization = stored.getOrganization();
+        organization.setOrgName("Renamed Org");
+        organizationRepository.save(organization);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
+
+        mockMvc.perform(get("/api/models/{id}", stored.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.data.organization.orgName").value("Renamed Org"));
+    }
+
+    @Test
+    void modelListRevalidatesToAFullResponseAfterAnOrganizationChange() throws Exception {
+        String eTag = mockMvc.perform(get("/api/models").param("size", "50"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/models").param("size", "50").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        Organization organization = aiModelRepository.findWithDetailsByModelSlug("model-3").orElseThrow()
+                .getOrganization();
+        organization.setOrgName("Renamed Org");
+        organizationRepository.save(organization);
+        eventPublisher.publishEvent(new OrganizationChangedEvent(organization.getId()));
+
+        mockMvc.perform(get("/api/models").param("size", "50").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(content().string(containsString("\"orgName\":\"Renamed Org\"")));
+    }
+
+    private void seedCatalog() {
+        List<Organization> organizations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            organizations.add(Organization.builder()
+                    .orgName("Org " + i)
+                    .orgSlug("org-" + i)
+                    .orgUrl("https://org-" + i + ".example.com")
+                    .orgSecret("secret-" + i)
+                    .build());
+        }
+        organizations = organizationRepository.saveAll(organizations);
+
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            tags.add(Tag.builder().name("tag-" + i).slug("tag-" + i).build());
+        }
+        tags = tagRepository.saveAll(tags);
+
+        List<AIModel> models = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            models.add(AIModel.builder()
+                    .modelName("Model " + i)
+                    .modelSlug("model-" + i)
+                    .modelVersion("1.0")
+                    .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                    .pricingType(PricingType.FREE)
+                    .organization(organizations.get(i % organizations.size()))
+                    .tags(new ArrayList<>(List.of(tags.get(i % tags.size()), tags.get((i + 1) % tags.size()))))
+                    .build());
+        }
+        aiModelRepository.saveAll(models);
+    }
+}
@@ -0,0 +1,156 @@
+package com.toolsai.server.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.Tag;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogExportServiceTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> modelIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> seedModels());
+        modelIds.sort(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        aiModelRepository.deleteAll();
+        tagRepository.deleteAll();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void streamsNdjsonInIdOrderResumesAfterAnIdAndGzipsOnRequest() throws Exception {
+        MockHttpServletResponse plain = export("/api/export/models", null);
+        assertThat(plain.getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(plain.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        List<JsonNode> rows = parse(plain.getContentAsByteArray());
+
+        // One line per model even though the join yields one row per tag
+        assertThat(rows).extracting(row -> row.get("id").asLong()).containsExactlyElementsOf(modelIds);
+        assertThat(rows.get(0).get("modelSlug").asText()).startsWith("exported-model-");
+        assertThat(rows).allSatisfy(row -> assertThat(row.get("tagSlugs").isArray()).isTrue());
+        assertThat(rows).extracting(row -> row.get("tagSlugs").size()).containsOnly(1, 2);
+
+        List<JsonNode> resumed = parse(export("/api/export/models?afterId=" + modelIds.get(2), null)
+                .getContentAsByteArray());
+        assertThat(resumed).extracting(row -> row.get("id").asLong())
+                .containsExactlyElementsOf(modelIds.subList(3, 5));
+
+        MockHttpServletResponse gzipped = export("/api/export/models", "gzip, deflate");
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(gzipped.getContentAsByteArray())).isEqualTo(plain.getContentAsByteArray());
+    }
+
+    private void seedModels() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Exported Org")
+                .orgSlug("exported-org")
+                .orgUrl("https://exported-org.example.com")
+                .orgSecret("secret")
+                .build());
+        List<Tag> tags = tagRepository.saveAll(List.of(
+                Tag.builder().name("export-a").slug("export-a").build(),
+                Tag.builder().name("export-b").slug("export-b").build()));
+        for (int i = 0; i < 5; i++) {
+            modelIds.add(aiModelRepository.save(AIModel.builder()
+                    .modelName("Exported Model " + i)
+                    .modelSlug("exported-model-" + i)
+                    .modelVersion("1.0")
+                    .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                    .pricingType(PricingType.FREE)
+                    .organization(organization)
+                    .tags(new ArrayList<>(i % 2 == 0 ? tags : List.of(tags.get(1))))
+                    .build()).getId());
+        }
+    }
+
+    private MockHttpServletResponse export(String url, String acceptEncoding) throws Exception {
+        MockHttpServletRequestBuilder builder = get(url);
+        if (acceptEncoding != null) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse();
+    }
+
+    private List<JsonNode> parse(byte[] ndjson) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : new String(ndjson, StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.request.CommentCreateRequest;
+import com.toolsai.server.dto.response.CommentNodeResponse;
+import com.toolsai.server.dto.response.CommentResponse;
+import com.toolsai.server.dto.response.CommentThreadResponse;
+import com.toolsai.server.dto.response.CursorPage;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.model.enums.VoteType;
+import com.toolsai.server.repository.AIModelCommentRepository;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.CommentVoteRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CommentServiceTests {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private AIModelCommentRepository commentRepository;
+
+    @Autowired
+    private CommentVoteRepository voteRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long modelId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Comment Org")
+                .orgSlug("comment-org")
+                .orgUrl("https://comment-org.example.com")
+                .orgSecret("secret")
+                .build());
+        modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Discussed Model")
+                .modelSlug("discussed-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+        userId = userRepository.save(User.builder()
+                .username("commenter")
+                .email("commenter@example.com")
+                .password("password")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        voteRepository.deleteAllInBatch();
+        commentRepository.findAll().stream()
+                .filter(comment -> comment.getParentComment() == null)
+                .forEach(commentRepository::delete);
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void threadNestsRepliesWithPerLevelLimitsAndAuthors() {
+        Long older = comment("older", null);
+        Long newer = comment("newer", null);
+        Long newest = comment("newest", null);
+        Long first = comment("first reply", newer);
+        Long second = comment("second reply", newer);
+        comment("third reply", newer);
+        Long nested = comment("nested reply", first);
+        comment("too deep", nested);
+        Long deleted = comment("deleted reply", older);
+        comment("reply to deleted", deleted);
+        commentService.deleteComment(deleted, userId);
+
+        CommentThreadResponse thread = commentService.getThread(modelId, null, 3, 2, null);
+
+        assertThat(ids(thread.getComments())).containsExactly(newest, newer);
+        assertThat(thread.getTotalCount()).isEqualTo(3);
+        assertThat(thread.getHasMore()).isTrue();
+        // The lookahead comment tells there is more but brings none of its replies
+        assertThat(thread.getComments().get(0).getReplies()).isEmpty();
+
+        CommentNodeResponse newerNode = thread.getComments().get(1);
+        assertThat(newerNode.getReplyCount()).isEqualTo(3);
+        assertThat(ids(newerNode.getReplies())).containsExactly(first, second);
+        CommentNodeResponse firstNode = newerNode.getReplies().get(0);
+        assertThat(firstNode.getComment().getUser().getUsername()).isEqualTo("commenter");
+        assertThat(ids(firstNode.getReplies())).containsExactly(nested);
+        // Depth 3 reached: the reply below is counted but not loaded
+        assertThat(firstNode.getReplies().get(0).getReplyCount()).isEqualTo(1);
+        assertThat(firstNode.getReplies().get(0).getReplies()).isEmpty();
+
+        CommentThreadResponse rest = commentService.getThread(modelId, null, 3, 2, thread.getNextCursor());
+        assertThat(ids(rest.getComments())).containsExactly(older);
+        // Its only reply was deleted, and the stored count followed
+        assertThat(rest.getComments().get(0).getReplyCount()).isZero();
+        assertThat(rest.getHasMore()).isFalse();
+        assertThat(rest.getNextCursor()).isNull();
+
+        CommentThreadResponse replies = commentService.getThread(modelId, newer, 1, 2, null);
+        assertThat(ids(replies.getComments())).containsExactly(first, second);
+        assertThat(replies.getTotalCount()).isEqualTo(3);
+        CommentThreadResponse moreReplies = commentService.getThread(modelId, newer, 1, 2, replies.getNextCursor());
+        assertThat(moreReplies.getComments()).hasSize(1);
+        assertThat(moreReplies.getComments().get(0).getComment().getContent()).isEqualTo("third reply");
+        assertThat(moreReplies.getHasMore()).isFalse();
+
+        commentService.deleteComment(newest, userId);
+        assertThat(commentService.getThread(modelId, null, 1, 10, null).getTotalCount()).isEqualTo(2);
+    }
+
+    @Test
+    void votesCountOncePerUserAndRankBestByWilsonScore() {
+        List<Long> voters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            voters.add(userRepository.save(User.builder()
+                    .username("voter-" + i)
+                    .email("voter-" + i + "@example.com")
+                    .password("password")
+                    .build()).getId());
+        }
+        Long unvoted = comment("no votes", null);
+        Long single = comment("one upvote", null);
+        Long split = comment("split", null);
+        Long popular = comment("popular", null);
+
+        commentService.vote(modelId, single, voters.get(0), VoteType.UP);
+        for (int i = 0; i < 10; i++) {
+            commentService.vote(modelId, split, voters.get(i), i < 5 ? VoteType.UP : VoteType.DOWN);
+            commentService.vote(modelId, popular, voters.get(i), VoteType.UP);
+        }
+
+        // Repeating a vote is a no-op, voting the other way moves it, unvoting takes it back
+        commentService.vote(modelId, popular, voters.get(0), VoteType.UP);
+        CommentResponse switched = commentService.vote(modelId, popular, voters.get(0), VoteType.DOWN);
+        assertThat(switched.getUpvoteCount()).isEqualTo(9);
+        assertThat(switched.getDownvoteCount()).isEqualTo(1);
+        CommentResponse removed = commentService.unvote(modelId, popular, voters.get(0));
+        assertThat(removed.getDownvoteCount()).isZero();
+        assertThat(commentService.unvote(modelId, popular, voters.get(0)).getUpvoteCount()).isEqualTo(9);
+        commentService.vote(modelId, popular, voters.get(0), VoteType.UP);
+        commentService.vote(modelId, popular, userId, VoteType.DOWN);
+        assertThat(voteRepository.count()).isEqualTo(22);
+
+        // 10 up 1 down beats 5 up 5 down, which beats a single upvote
+        CursorPage<CommentResponse> first = commentService.getBestCommentsByModel(modelId, null, 2);
+        assertThat(first.getContent()).extracting(CommentResponse::getId).containsExactly(popular, split);
+        assertThat(first.isHasNext()).isTrue();
+        CursorPage<CommentResponse> second = commentService.getBestCommentsByModel(modelId, first.getNextCursor(), 2);
+        assertThat(second.getContent()).extracting(CommentResponse::getId).containsExactly(single, unvoted);
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void scrollPagesThroughCommentsSharingACreatedAtWithoutGapsOrRepeats() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(comment("same instant " + i, null));
+        }
+        Long older = comment("older", null);
+        jdbcTemplate.update("UPDATE ai_model_comments SET created_at = ? WHERE id <> ?",
+                LocalDateTime.of(2024, 5, 1, 12, 0), older);
+        jdbcTemplate.update("UPDATE ai_model_comments SET created_at = ? WHERE id = ?",
+                LocalDateTime.of(2024, 4, 1, 12, 0), older);
+
+        List<Long> scrolled = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<CommentResponse> page = commentService.scrollCommentsByModel(modelId, cursor, 2);
+            page.getContent().forEach(comment -> scrolled.add(comment.getId()));
+            cursor = page.isHasNext() ? page.getNextCursor() : null;
+        } while (cursor != null);
+
+        // Ties on created_at are broken by id, newest first
+        List<Long> expected = new ArrayList<>(ids);
+        expected.sort(Comparator.reverseOrder());
+        expected.add(older);
+        assertThat(scrolled).containsExactlyElementsOf(expected);
+
+        mockMvc.perform(get("/api/models/{modelId}/comments/scroll", modelId).param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    private Long comment(String content, Long parentCommentId) {
+        CommentCreateRequest request = new CommentCreateRequest();
+        request.setContent(content);
+        request.setParentCommentId(parentCommentId);
+        return commentService.createComment(modelId, userId, request).getId();
+    }
+
+    private static List<Long> ids(List<CommentNodeResponse> nodes) {
+        return nodes.stream().map(node -> node.getComment().getId()).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelLikeRepository;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.counter.ModelCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// No counter evaluation runs, so no model is promoted and every write takes the plain row update
+@SpringBootTest(properties = "app.counters.evaluate-interval-ms=3600000")
+@ActiveProfiles("test")
+class LikeServiceTests {
+
+    private static final int TOGGLERS = 200;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private AIModelLikeRepository likeRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ModelCounters modelCounters;
+
+    private Long modelId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Like Org")
+                .orgSlug("like-org")
+                .orgUrl("https://like-org.example.com")
+                .orgSecret("secret")
+                .build());
+        modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Liked Model")
+                .modelSlug("liked-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < TOGGLERS; i++) {
+            users.add(User.builder()
+                    .username("liker-" + i)
+                    .email("liker-" + i + "@example.com")
+                    .password("password")
+                    .build());
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeRepository.deleteAllInBatch();
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void parallelTogglesByDifferentUsersLoseNoIncrements() throws Exception {
+        runInParallel(userIds.stream()
+                .map(userId -> (Callable<Boolean>) () -> likeService.toggleLike(modelId, userId))
+                .toList());
+
+        assertThat(likeCount()).isEqualTo(TOGGLERS);
+        assertThat(likeRepository.count()).isEqualTo(TOGGLERS);
+
+        runInParallel(userIds.stream()
+                .map(userId -> (Callable<Boolean>) () -> likeService.toggleLike(modelId, userId))
+                .toList());
+
+        assertThat(likeCount()).isZero();
+        assertThat(likeRepository.count()).isZero();
+    }
+
+    @Test
+    void parallelTogglesBySameUserKeepCountInStepWithLikes() throws Exception {
+        Long userId = userIds.get(0);
+        List<Callable<Boolean>> toggles = new ArrayList<>();
+        for (int i = 0; i < TOGGLERS; i++) {
+            toggles.add(() -> likeService.toggleLike(modelId, userId));
+        }
+        // Cache the user's bitmap so the racing toggles have to keep it in step
+        assertThat(likeService.isLikedByUser(modelId, userId)).isFalse();
+
+        runInParallel(toggles);
+
+        long likes = likeRepository.count();
+        assertThat(likes).isBetween(0L, 1L);
+        assertThat(likeCount()).isEqualTo(likes);
+        assertThat(likeService.isLikedByUser(modelId, userId)).isEqualTo(likes == 1);
+    }
+
+    @Test
+    void batchCheckFollowsToggles() {
+        Long userId = userIds.get(0);
+        Long otherModelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Other Model")
+                .modelSlug("other-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(aiModelRepository.findById(modelId).orElseThrow().getOrganization())
+                .build()).getId();
+        likeService.toggleLike(otherModelId, userId);
+
+        // Loads the user's bitmap, which later toggles must keep in step
+        assertThat(likeService.getLikedModelIds(userId, List.of(modelId, otherModelId, -1L, otherModelId)))
+                .containsExactly(otherModelId);
+
+        likeService.toggleLike(modelId, userId);
+        likeService.toggleLike(otherModelId, userId);
+
+        assertThat(likeService.getLikedModelIds(userId, List.of(otherModelId, modelId))).containsExactly(modelId);
+        assertThat(likeService.isLikedByUser(modelId, userId)).isTrue();
+        assertThat(likeService.isLikedByUser(otherModelId, userId)).isFalse();
+    }
+
+    private int likeCount() {
+        assertThat(modelCounters.isSharded(modelId)).isFalse();
+        return aiModelRepository.findById(modelId).orElseThrow().getLikeCount();
+    }
+
+    private static void runInParallel(List<Callable<Boolean>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.response.NotificationCoalescingStatsResponse;
+import com.toolsai.server.dto.response.NotificationResponse;
+import com.toolsai.server.dto.response.NotificationRetentionStatsResponse;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Notification;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.UserOrganizationSubscription;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.model.enums.SubscriptionStatus;
+import com.toolsai.server.model.id.Snowflake;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserOrganizationSubscriptionRepository;
+import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.fanout.NotificationFanout;
+import com.toolsai.server.service.retention.NotificationPurger;
+import com.toolsai.server.util.KeysetCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = {
+        "app.notifications.fanout.chunk-size=100",
+        "app.notifications.stream.replay-limit=3",
+        "app.notifications.retention.default=90d",
+        "app.notifications.retention.per-type=MODEL_UPDATED=7d",
+        "app.notifications.retention.batch-size=2",
+        "app.notifications.retention.batch-pause=0ms",
+        "app.notifications.retention.initial-delay-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class NotificationServiceTests {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private UserOrganizationSubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private NotificationFanout notificationFanout;
+
+    @Autowired
+    private NotificationStreams notificationStreams;
+
+    @Autowired
+    private NotificationPurger notificationPurger;
+
+    @Autowired
+    private NotificationCoalescer notificationCoalescer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long receiverId;
+
+    @BeforeEach
+    void setUp() {
+        receiverId = userRepository.save(User.builder()
+                .username("receiver")
+                .email("receiver@example.com")
+                .password("password")
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAllInBatch();
+        subscriptionRepository.deleteAllInBatch();
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void unreadCountFollowsCreatesAndReads() {
+        Long first = notify("first");
+        notify("second");
+        notify("third");
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(3);
+
+        notificationService.markNotificationAsRead(first, receiverId);
+        notificationService.markNotificationAsRead(first, receiverId);
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(2);
+
+        notificationService.markAllNotificationsAsRead(receiverId);
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isZero();
+        assertThat(notificationRepository.countUnreadByReceiverId(receiverId)).isZero();
+        assertThat(notificationRepository.findAll()).allMatch(Notification::getIsRead);
+
+        notify("fourth");
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(1);
+    }
+
+    @Test
+    void streamReplaysWhatChangedSinceTheLastEventThenPushesNewOnes() throws Exception {
+        notify("seen");
+        Notification last = notificationRepository.findById(notify("last seen")).orElseThrow();
+        Notification old = stored(NotificationType.SYSTEM_ANNOUNCEMENT, last.getUpdatedAt().minusMinutes(5));
+        // Stamped before the last event went out, committed after
+        Notification late = stored(NotificationType.SYSTEM_ANNOUNCEMENT, last.getUpdatedAt().minusSeconds(10));
+        late.setTitle("late");
+        notificationRepository.insertNotifications(List.of(old, late));
+        int openBefore = notificationStreams.getOpenStreams();
+
+        MvcResult stream = mockMvc.perform(get("/api/users/{userId}/notifications/stream", receiverId)
+                        .header("Last-Event-ID", new KeysetCursor(last.getUpdatedAt(), last.getId()).encode()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        notify("pushed");
+
+        String events = awaitStreamed(stream, "\"title\":\"pushed\"");
+        assertThat(events).doesNotContain("\"title\":\"old\"");
+        assertThat(events.indexOf("\"title\":\"late\"")).isNotNegative()
+                .isLessThan(events.indexOf("\"title\":\"pushed\""));
+        assertThat(events).contains("event:notification\n");
+        assertThat(notificationStreams.getOpenStreams()).isEqualTo(openBefore + 1);
+
+        notificationStreams.heartbeat();
+        assertThat(awaitStreamed(stream, ":heartbeat\n\n")).endsWith(":heartbeat\n\n");
+    }
+
+    @Test
+    void streamReplaysNotificationsMergedWhileAwayAndPushesLaterMerges() throws Exception {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Away Org")
+                .orgSlug("away-org")
+                .orgUrl("https://away-org.example.com")
+                .orgSecret("secret")
+                .build());
+        Long modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Away Model")
+                .modelSlug("away-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+        List<Long> actorIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            actorIds.add(userRepository.save(User.builder()
+                    .username("away-fan-" + i)
+                    .email("away-fan-" + i + "@example.com")
+                    .password("password")
+                    .build()).getId());
+        }
+        Long merged = notificationCoalescer.notifyModelActivity(
+                receiverId, NotificationType.MODEL_LIKED, modelId, actorIds.get(0)).getId();
+        LocalDateTime longAgo = LocalDateTime.now().minusMinutes(10);
+        jdbcTemplate.update("UPDATE notifications SET created_at = ?, updated_at = ? WHERE id = ?",
+                longAgo, longAgo, merged);
+        Notification last = notificationRepository.findById(notify("last seen")).orElseThrow();
+        // Merged into a notification older than the last event, under its old id
+        notificationCoalescer.notifyModelActivity(receiverId, NotificationType.MODEL_LIKED, modelId, actorIds.get(1));
+
+        MvcResult stream = mockMvc.perform(get("/api/users/{userId}/notifications/stream", receiverId)
+                        .header("Last-Event-ID", new KeysetCursor(last.getUpdatedAt(), last.getId()).encode()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        notificationCoalescer.notifyModelActivity(receiverId, NotificationType.MODEL_LIKED, modelId, actorIds.get(2));
+
+        String events = awaitStreamed(stream, "away-fan-2 and 2 others liked Away Model");
+        assertThat(events.indexOf("away-fan-1 and 1 other liked Away Model")).isNotNegative()
+                .isLessThan(events.indexOf("away-fan-2 and 2 others liked Away Model"));
+        assertThat(events).doesNotContain("\"title\":\"away-fan-0 liked");
+        assertThat(notificationRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamReplaysOnlyUnreadNotificationsAndAsksForARefetchPastTheLimit() throws Exception {
+        Notification last = notificationRepository.findById(notify("last seen")).orElseThrow();
+        for (int i = 0; i < 4; i++) {
+            notify("read-" + i);
+        }
+        notificationService.markAllNotificationsAsRead(receiverId);
+        notify("after-0");
+        notify("after-1");
+        String lastEventId = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+
+        MvcResult stream = mockMvc.perform(get("/api/users/{userId}/notifications/stream", receiverId)
+                        .header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String events = awaitStreamed(stream, "\"title\":\"after-1\"");
+        assertThat(events).contains("\"title\":\"after-0\"").doesNotContain("read-").doesNotContain("last seen")
+                .doesNotContain("event:refetch");
+
+        notify("after-2");
+        notify("after-3");
+        MvcResult truncated = mockMvc.perform(get("/api/users/{userId}/notifications/stream", receiverId)
+                        .header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        events = awaitStreamed(truncated, "event:refetch\n");
+        assertThat(events.indexOf("\"title\":\"after-2\"")).isNotNegative()
+                .isLessThan(events.indexOf("event:refetch\n"));
+        assertThat(events).doesNotContain("\"title\":\"after-3\"");
+    }
+
+    @Test
+    void streamStillAcceptsANotificationIdAsLastEventId() throws Exception {
+        Long seen = notify("seen");
+        Thread.sleep(50);
+        Notification old = stored(NotificationType.SYSTEM_ANNOUNCEMENT, LocalDateTime.now().minusMinutes(5));
+        notificationRepository.insertNotifications(List.of(old));
+
+        MvcResult stream = mockMvc.perform(get("/api/users/{userId}/notifications/stream", receiverId)
+                        .header("Last-Event-ID", seen))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        notify("missed");
+
+        String events = awaitStreamed(stream, "\"title\":\"missed\"");
+        assertThat(events).contains("\"title\":\"seen\"").doesNotContain("\"title\":\"old\"");
+    }
+
+    @Test
+    void modelChangeIsFannedOutToActiveSubscribersInChunks() throws Exception {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Popular Org")
+                .orgSlug("popular-org")
+                .orgUrl("https://popular-org.example.com")
+                .orgSecret("secret")
+                .build());
+        Long modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Announced Model")
+                .modelSlug("announced-model")
+                .modelVersion("2.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+
+        List<UserOrganizationSubscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 251; i++) {
+            User follower = userRepository.save(User.builder()
+                    .username("follower-" + i)
+                    .email("follower-" + i + "@example.com")
+                    .password("password")
+                    .build());
+            subscriptions.add(UserOrganizationSubscription.builder()
+                    .user(follower)
+                    .organization(organization)
+                    .status(i == 0 ? SubscriptionStatus.CANCELLED : SubscriptionStatus.ACTIVE)
+                    .build());
+        }
+        subscriptionRepository.saveAll(subscriptions);
+        Long followerId = subscriptions.get(1).getUser().getId();
+
+        assertThat(notificationFanout.submit(modelId, organization.getId(), NotificationType.MODEL_PUBLISHED)).isTrue();
+        awaitFanout();
+
+        assertThat(notificationRepository.count()).isEqualTo(250);
+        assertThat(notificationService.getUnreadNotificationCount(followerId)).isEqualTo(1);
+        assertThat(notificationService.getUnreadNotificationCount(subscriptions.get(0).getUser().getId())).isZero();
+        NotificationResponse received = notificationService.getUnreadNotifications(followerId, Pageable.unpaged())
+                .getContent().get(0);
+        assertThat(received.getTitle()).isEqualTo("Popular Org published Announced Model");
+        assertThat(received.getType()).isEqualTo(NotificationType.MODEL_PUBLISHED);
+        assertThat(notificationFanout.getStats().getDeliveredChunks()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void purgeDeletesExpiredNotificationsPerTypeInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            notifications.add(stored(NotificationType.MODEL_UPDATED, now.minusDays(10)));
+        }
+        notifications.add(stored(NotificationType.MODEL_UPDATED, now.minusDays(1)));
+        notifications.add(stored(NotificationType.SYSTEM_ANNOUNCEMENT, now.minusDays(10)));
+        notifications.add(stored(NotificationType.SYSTEM_ANNOUNCEMENT, now.minusDays(100)));
+        notifications.add(stored(NotificationType.SYSTEM_ANNOUNCEMENT, now.minusDays(100)));
+        notifications.get(0).setIsRead(true);
+        notificationRepository.insertNotifications(notifications);
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(6);
+
+        notificationPurger.purge();
+
+        assertThat(notificationRepository.count()).isEqualTo(2);
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(2);
+        NotificationRetentionStatsResponse stats = notificationPurger.getStats();
+        assertThat(stats.getLastRowsReclaimed()).isEqualTo(5);
+        assertThat(stats.getLastRowsDeletedByType()).containsOnly(
+                entry(NotificationType.MODEL_UPDATED, 3L), entry(NotificationType.SYSTEM_ANNOUNCEMENT, 2L));
+        assertThat(stats.isPartitioned()).isFalse();
+    }
+
+    @Test
+    void repeatedActivityOnAModelIsMergedIntoOneUnreadNotification() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Liked Org")
+                .orgSlug("liked-org")
+                .orgUrl("https://liked-org.example.com")
+                .orgSecret("secret")
+                .build());
+        Long modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Liked Model")
+                .modelSlug("liked-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+        List<Long> actorIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            actorIds.add(userRepository.save(User.builder()
+                    .username("fan-" + i)
+                    .email("fan-" + i + "@example.com")
+                    .password("password")
+                    .build()).getId());
+        }
+
+        actorIds.forEach(actorId ->
+                notificationCoalescer.notifyModelActivity(receiverId, NotificationType.MODEL_LIKED, modelId, actorId));
+        NotificationResponse merged = notificationCoalescer.notifyModelActivity(
+                receiverId, NotificationType.MODEL_LIKED, modelId, actorIds.get(3));
+
+        assertThat(notificationRepository.count()).isEqualTo(1);
+        assertThat(merged.getTitle()).isEqualTo("fan-3 and 6 others liked Liked Model");
+        assertThat(merged.getData()).contains("\"actorCount\":7")
+                .contains("\"latestActorIds\":[" + actorIds.get(3) + "," + actorIds.get(6) + "," + actorIds.get(5) + ","
+                        + actorIds.get(4) + "," + actorIds.get(2) + "]");
+        assertThat(notificationService.getUnreadNotificationCount(receiverId)).isEqualTo(1);
+
+        // Once read, the next event starts a new notification
+        notificationService.markAllNotificationsAsRead(receiverId);
+        notificationCoalescer.notifyModelActivity(receiverId, NotificationType.MODEL_LIKED, modelId, actorIds.get(1));
+        notificationCoalescer.notifyModelActivity(receiverId, NotificationType.MODEL_RATED, modelId, actorIds.get(1));
+        assertThat(notificationRepository.count()).isEqualTo(3);
+
+        NotificationCoalescingStatsResponse stats = notificationCoalescer.getStats();
+        assertThat(stats.getEvents()).isEqualTo(10);
+        assertThat(stats.getRowsInserted()).isEqualTo(3);
+        assertThat(stats.getRowReduction()).isEqualTo(0.7);
+    }
+
+    private Notification stored(NotificationType type, LocalDateTime createdAt) {
+        return Notification.builder()
+                .id(Snowflake.next())
+                .title("old")
+                .message("message")
+                .type(type)
+                .receiver(userRepository.getReferenceById(receiverId))
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    private void awaitFanout() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (notificationFanout.getStats().getPendingJobs() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(notificationFanout.getStats().getPendingJobs()).isZero();
+    }
+
+    private String awaitStreamed(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        String events = stream.getResponse().getContentAsString();
+        while (!events.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            events = stream.getResponse().getContentAsString();
+        }
+        assertThat(events).contains(expected);
+        return events;
+    }
+
+    private Long notify(String title) {
+        return notificationService.createNotification(
+                receiverId, title, "message", NotificationType.SYSTEM_ANNOUNCEMENT, null).getId();
+    }
+}
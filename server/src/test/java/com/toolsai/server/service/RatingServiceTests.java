@@ -0,0 +1,161 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.dto.request.RatingCreateRequest;
+import com.toolsai.server.dto.response.AIModelResponse;
+import com.toolsai.server.dto.response.RatingResponse;
+import com.toolsai.server.dto.response.RatingSummaryResponse;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelRatingRepository;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RatingServiceTests {
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private AIModelService aiModelService;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private AIModelRatingRepository ratingRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long modelId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Rating Org")
+                .orgSlug("rating-org")
+                .orgUrl("https://rating-org.example.com")
+                .orgSecret("secret")
+                .build());
+        modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Rated Model")
+                .modelSlug("rated-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(User.builder()
+                    .username("rater-" + i)
+                    .email("rater-" + i + "@example.com")
+                    .password("password")
+                    .build());
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ratingRepository.deleteAllInBatch();
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ratingChangesMoveCountAverageAndHistogram() {
+        rate(0, 5);
+        RatingResponse second = rate(1, 4);
+        rate(2, 1);
+        assertSummary(3, "3.33", Map.of(1, 1, 2, 0, 3, 0, 4, 1, 5, 1));
+
+        // An edit moves one rating between buckets without changing the count
+        rate(2, 3);
+        assertSummary(3, "4.00", Map.of(1, 0, 2, 0, 3, 1, 4, 1, 5, 1));
+
+        ratingService.deleteRating(second.getId(), userIds.get(1));
+        assertSummary(2, "4.00", Map.of(1, 0, 2, 0, 3, 1, 4, 0, 5, 1));
+    }
+
+    @Test
+    void modelsWithoutRunningAggregatesAreRecomputed() {
+        rate(0, 2);
+        rate(1, 5);
+        // As left behind by a deployment that predates the columns
+        jdbcTemplate.update("UPDATE ai_models SET rating_sum = NULL, rating_2_count = NULL, rating_5_count = NULL, " +
+                "rating_count = 0, average_rating = NULL WHERE id = ?", modelId);
+
+        rate(2, 5);
+        assertSummary(3, "4.00", Map.of(1, 0, 2, 1, 3, 0, 4, 0, 5, 2));
+    }
+
+    @Test
+    void topRatedRanksByBayesianRatingNotRawAverage() {
+        AIModel model = aiModelRepository.findById(modelId).orElseThrow();
+        Long singleRatingModelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Once Rated Model")
+                .modelSlug("once-rated-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(model.getOrganization())
+                .build()).getId();
+
+        rate(singleRatingModelId, 0, 5);
+        rate(modelId, 0, 5);
+        rate(modelId, 1, 5);
+        rate(modelId, 2, 4);
+
+        assertThat(aiModelService.getTopRatedModels(10, null))
+                .extracting(AIModelResponse::getId)
+                .containsExactly(modelId, singleRatingModelId);
+        assertThat(aiModelService.getTopRatedModels(10, ModelCategory.IMAGE_GENERATION)).isEmpty();
+    }
+
+    private RatingResponse rate(int user, int stars) {
+        return rate(modelId, user, stars);
+    }
+
+    private RatingResponse rate(Long modelId, int user, int stars) {
+        RatingCreateRequest request = new RatingCreateRequest();
+        request.setRating(stars);
+        return ratingService.createOrUpdateRating(modelId, userIds.get(user), request);
+    }
+
+    private void assertSummary(int count, String average, Map<Integer, Integer> histogram) {
+        RatingSummaryResponse summary = ratingService.getRatingSummary(modelId);
+        assertThat(summary.getRatingCount()).isEqualTo(count);
+        assertThat(summary.getAverageRating()).isEqualByComparingTo(new BigDecimal(average));
+        assertThat(summary.getHistogram()).containsExactlyInAnyOrderEntriesOf(histogram);
+    }
+}
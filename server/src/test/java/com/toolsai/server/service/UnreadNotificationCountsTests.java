@@ -0,0 +1,79 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.event.UnreadNotificationsChangedEvent;
+import com.toolsai.server.repository.NotificationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadNotificationCountsTests {
+
+    private static final Long USER_ID = 7L;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final UnreadNotificationCounts counts =
+            new UnreadNotificationCounts(notificationRepository, 100, Duration.ofMinutes(10));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void countThatMaySeeADeltaIsNotInstalledUnderIt() throws Exception {
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(notificationRepository.countUnreadByReceiverId(USER_ID))
+                .thenAnswer(invocation -> {
+                    counting.countDown();
+                    assertThat(committed.await(10, TimeUnit.SECONDS)).isTrue();
+                    // Already counts the notification created below
+                    return 3L;
+                })
+                .thenReturn(3L);
+
+        CompletableFuture<Long> racing = CompletableFuture.supplyAsync(() -> counts.get(USER_ID));
+        assertThat(counting.await(10, TimeUnit.SECONDS)).isTrue();
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, committed::countDown);
+
+        assertThat(racing.get(10, TimeUnit.SECONDS)).isEqualTo(3);
+        assertThat(counts.get(USER_ID)).isEqualTo(3);
+        assertThat(counts.get(USER_ID)).isEqualTo(3);
+        verify(notificationRepository, times(2)).countUnreadByReceiverId(USER_ID);
+    }
+
+    @Test
+    void committedDeltasAdjustTheCachedCountAndRolledBackOnesDoNot() {
+        when(notificationRepository.countUnreadByReceiverId(USER_ID)).thenReturn(2L);
+        assertThat(counts.get(USER_ID)).isEqualTo(2);
+
+        inTransaction(TransactionSynchronization.STATUS_COMMITTED, () -> { });
+        assertThat(counts.get(USER_ID)).isEqualTo(3);
+        inTransaction(TransactionSynchronization.STATUS_ROLLED_BACK, () -> { });
+        assertThat(counts.get(USER_ID)).isEqualTo(3);
+        verify(notificationRepository, times(1)).countUnreadByReceiverId(USER_ID);
+    }
+
+    // Publishes one new notification for the user in a transaction that ends with the status
+    private void inTransaction(int status, Runnable beforeCompletion) {
+        TransactionSynchronizationManager.initSynchronization();
+        counts.onUnreadNotificationsChanged(new UnreadNotificationsChangedEvent(USER_ID, 1));
+        beforeCompletion.run();
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,64 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.event.LikeToggledEvent;
+import com.toolsai.server.repository.AIModelLikeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserLikesCacheTests {
+
+    private static final Long USER_ID = 7L;
+    private static final Long MODEL_ID = 42L;
+
+    private final AIModelLikeRepository likeRepository = mock(AIModelLikeRepository.class);
+    private final UserLikesCache cache = new UserLikesCache(likeRepository, DataSize.ofMegabytes(1), Duration.ofMinutes(10));
+
+    @Test
+    void loadThatReadBeforeAToggleIsNotInstalled() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch toggled = new CountDownLatch(1);
+        when(likeRepository.findModelIdsByUserId(USER_ID))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertThat(toggled.await(10, TimeUnit.SECONDS)).isTrue();
+                    return List.of();
+                })
+                .thenReturn(List.of(MODEL_ID));
+        when(likeRepository.existsByUserIdAndAiModelId(USER_ID, MODEL_ID)).thenReturn(true);
+
+        CompletableFuture<Boolean> staleRead = CompletableFuture.supplyAsync(() -> cache.isLiked(USER_ID, MODEL_ID));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        cache.onLikeToggled(new LikeToggledEvent(USER_ID, MODEL_ID));
+        toggled.countDown();
+
+        assertThat(staleRead.get(10, TimeUnit.SECONDS)).isFalse();
+        assertThat(cache.isLiked(USER_ID, MODEL_ID)).isTrue();
+        assertThat(cache.isLiked(USER_ID, MODEL_ID)).isTrue();
+        verify(likeRepository, times(2)).findModelIdsByUserId(USER_ID);
+    }
+
+    @Test
+    void toggleOfACachedUserIsAppliedWithoutReloading() {
+        when(likeRepository.findModelIdsByUserId(USER_ID)).thenReturn(List.of());
+        when(likeRepository.existsByUserIdAndAiModelId(USER_ID, MODEL_ID)).thenReturn(true, false);
+
+        assertThat(cache.isLiked(USER_ID, MODEL_ID)).isFalse();
+        cache.onLikeToggled(new LikeToggledEvent(USER_ID, MODEL_ID));
+        assertThat(cache.isLiked(USER_ID, MODEL_ID)).isTrue();
+        cache.onLikeToggled(new LikeToggledEvent(USER_ID, MODEL_ID));
+        assertThat(cache.isLiked(USER_ID, MODEL_ID)).isFalse();
+        verify(likeRepository, times(1)).findModelIdsByUserId(USER_ID);
+    }
+}
@@ -0,0 +1,138 @@
+package com.toolsai.server.service;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Flushes are triggered by the tests themselves
+@SpringBootTest(properties = {
+        "app.views.flush-interval-ms=3600000",
+        "app.views.flush-threshold=1000000000"
+})
+@ActiveProfiles("test")
+class ViewCountBufferTests {
+
+    @Autowired
+    private ViewCountBuffer viewCountBuffer;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    private List<Long> modelIds;
+
+    @BeforeEach
+    void setUp() {
+        viewCountBuffer.flush();
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Viewed Org")
+                .orgSlug("viewed-org")
+                .orgUrl("https://viewed-org.example.com")
+                .orgSecret("secret")
+                .build());
+        modelIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            modelIds.add(aiModelRepository.save(AIModel.builder()
+                    .modelName("Viewed Model " + i)
+                    .modelSlug("viewed-model-" + i)
+                    .modelVersion("1.0")
+                    .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                    .pricingType(PricingType.FREE)
+                    .organization(organization)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+        aiModelRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void flushWritesBatchedDeltasAndDropsIdleCounters() {
+        for (int i = 0; i < 5; i++) {
+            viewCountBuffer.recordView(modelIds.get(0));
+        }
+        viewCountBuffer.recordView(modelIds.get(1));
+        assertThat(viewCountBuffer.getStats().getPendingViews()).isEqualTo(6);
+        assertThat(viewCountBuffer.getStats().getPendingModels()).isEqualTo(2);
+
+        viewCountBuffer.flush();
+
+        assertThat(viewCount(modelIds.get(0))).isEqualTo(5);
+        assertThat(viewCount(modelIds.get(1))).isEqualTo(1);
+        assertThat(viewCount(modelIds.get(2))).isZero();
+        assertThat(viewCountBuffer.getStats().getPendingViews()).isZero();
+
+        // Only the model viewed since the last flush keeps its counter
+        viewCountBuffer.recordView(modelIds.get(1));
+        viewCountBuffer.flush();
+        assertThat(viewCountBuffer.getStats().getPendingModels()).isEqualTo(1);
+        assertThat(viewCount(modelIds.get(1))).isEqualTo(2);
+
+        viewCountBuffer.flush();
+        assertThat(viewCountBuffer.getStats().getPendingModels()).isZero();
+    }
+
+    @Test
+    void viewsRecordedDuringFlushesAreNeitherLostNorCountedTwice() throws Exception {
+        int threads = 8;
+        int viewsPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < viewsPerThread; i++) {
+                        viewCountBuffer.recordView(modelIds.get(i % modelIds.size()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            while (!futures.stream().allMatch(Future::isDone)) {
+                viewCountBuffer.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        viewCountBuffer.flush();
+
+        long total = modelIds.stream().mapToLong(this::viewCount).sum();
+        assertThat(total).isEqualTo((long) threads * viewsPerThread);
+        assertThat(viewCountBuffer.getStats().getPendingViews()).isZero();
+    }
+
+    private long viewCount(Long modelId) {
+        return aiModelRepository.findById(modelId).orElseThrow().getViewCount();
+    }
+}
@@ -0,0 +1,147 @@
+package com.toolsai.server.service.counter;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.repository.AIModelLikeRepository;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.ModelCounterShardRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserRepository;
+import com.toolsai.server.service.LikeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Counters are evaluated by the tests themselves; any model written since the last evaluation gets sharded
+@SpringBootTest(properties = {
+        "app.counters.evaluate-interval-ms=3600000",
+        "app.counters.promote-writes-per-second=1",
+        "app.counters.demote-writes-per-second=0"
+})
+@ActiveProfiles("test")
+class ModelCountersTests {
+
+    private static final int TOGGLERS = 200;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private ModelCounters modelCounters;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private AIModelLikeRepository likeRepository;
+
+    @Autowired
+    private ModelCounterShardRepository shardRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long modelId;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Viral Org")
+                .orgSlug("viral-org")
+                .orgUrl("https://viral-org.example.com")
+                .orgSecret("secret")
+                .build());
+        modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Viral Model")
+                .modelSlug("viral-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < TOGGLERS; i++) {
+            users.add(User.builder()
+                    .username("fan-" + i)
+                    .email("fan-" + i + "@example.com")
+                    .password("password")
+                    .build());
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        modelCounters.evaluate();
+        likeRepository.deleteAllInBatch();
+        shardRepository.deleteAllInBatch();
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void viralModelIsShardedAndFoldedBackWithoutLosingIncrements() throws Exception {
+        toggleAllInParallel();
+        assertThat(likeCount()).isEqualTo(TOGGLERS);
+        assertThat(modelCounters.isSharded(modelId)).isTrue();
+
+        toggleAllInParallel();
+
+        // Unlikes went to the slots; readers see them before they are folded into the row
+        assertThat(aiModelRepository.findById(modelId).orElseThrow().getLikeCount()).isEqualTo(TOGGLERS);
+        assertThat(likeService.getLikeCount(modelId)).isZero();
+
+        assertThat(likeCount()).isZero();
+        modelCounters.evaluate();
+        assertThat(modelCounters.isSharded(modelId)).isFalse();
+        assertThat(shardRepository.count()).isZero();
+    }
+
+    // Folds any sharded counts into the model row before reading it
+    private int likeCount() {
+        modelCounters.evaluate();
+        return aiModelRepository.findById(modelId).orElseThrow().getLikeCount();
+    }
+
+    private void toggleAllInParallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Long userId : userIds) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return likeService.toggleLike(modelId, userId);
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.toolsai.server.service.fanout;
+
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.Notification;
+import com.toolsai.server.model.NotificationFanoutJob;
+import com.toolsai.server.model.Organization;
+import com.toolsai.server.model.User;
+import com.toolsai.server.model.UserOrganizationSubscription;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.NotificationType;
+import com.toolsai.server.model.enums.PricingType;
+import com.toolsai.server.model.enums.SubscriptionStatus;
+import com.toolsai.server.repository.AIModelRepository;
+import com.toolsai.server.repository.NotificationFanoutJobRepository;
+import com.toolsai.server.repository.NotificationRepository;
+import com.toolsai.server.repository.OrganizationRepository;
+import com.toolsai.server.repository.UserOrganizationSubscriptionRepository;
+import com.toolsai.server.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Leases are renewed by the tests themselves
+@SpringBootTest(properties = {
+        "app.notifications.fanout.chunk-size=2",
+        "app.notifications.fanout.retry-initial-delay=500ms",
+        "app.notifications.fanout.retry-max-delay=3s",
+        "app.notifications.fanout.lease-renew-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class NotificationFanoutTests {
+
+    @Autowired
+    private NotificationFanout notificationFanout;
+
+    @Autowired
+    private NotificationFanoutJobRepository jobRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private AIModelRepository aiModelRepository;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserOrganizationSubscriptionRepository subscriptionRepository;
+
+    private Long organizationId;
+    private Long modelId;
+    private final List<Long> followerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Organization organization = organizationRepository.save(Organization.builder()
+                .orgName("Fanout Org")
+                .orgSlug("fanout-org")
+                .orgUrl("https://fanout-org.example.com")
+                .orgSecret("secret")
+                .build());
+        organizationId = organization.getId();
+        modelId = aiModelRepository.save(AIModel.builder()
+                .modelName("Fanned Model")
+                .modelSlug("fanned-model")
+                .modelVersion("1.0")
+                .modelCategory(ModelCategory.LANGUAGE_MODEL)
+                .pricingType(PricingType.FREE)
+                .organization(organization)
+                .build()).getId();
+        for (int i = 0; i < 5; i++) {
+            User follower = userRepository.save(User.builder()
+                    .username("fanout-follower-" + i)
+                    .email("fanout-follower-" + i + "@example.com")
+                    .password("password")
+                    .build());
+            subscriptionRepository.save(UserOrganizationSubscription.builder()
+                    .user(follower)
+                    .organization(organization)
+                    .status(SubscriptionStatus.ACTIVE)
+                    .build());
+            followerIds.add(follower.getId());
+        }
+        followerIds.sort(null);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        awaitFanout();
+        jobRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        subscriptionRepository.deleteAllInBatch();
+        aiModelRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        organizationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void finishedJobLeavesNoRowBehind() throws InterruptedException {
+        assertThat(notificationFanout.submit(modelId, organizationId, NotificationType.MODEL_PUBLISHED)).isTrue();
+        awaitFanout();
+
+        assertThat(notificationRepository.count()).isEqualTo(5);
+        assertThat(jobRepository.count()).isZero();
+    }
+
+    @Test
+    void jobOfAStoppedInstanceIsResumedAfterTheLastSubscriberItReached() throws InterruptedException {
+        long resumedBefore = notificationFanout.getStats().getResumedJobs();
+        jobRepository.save(NotificationFanoutJob.builder()
+                .modelId(modelId)
+                .organizationId(organizationId)
+                .type(NotificationType.MODEL_UPDATED)
+                .modelCount(1)
+                .lastReceiverId(followerIds.get(1))
+                .delivered(2L)
+                .queuedAt(LocalDateTime.now().minusMinutes(5))
+                .owner("stopped-instance")
+                .leaseExpiresAt(LocalDateTime.now().minusSeconds(1))
+                .build());
+
+        notificationFanout.renewLeases();
+        awaitFanout();
+
+        assertThat(notificationRepository.findAll())
+                .extracting(notification -> notification.getReceiver().getId())
+                .containsExactlyInAnyOrderElementsOf(followerIds.subList(2, 5));
+        assertThat(notificationRepository.findAll()).extracting(Notification::getTitle)
+                .containsOnly("Fanout Org updated Fanned Model");
+        assertThat(notificationFanout.getStats().getResumedJobs()).isEqualTo(resumedBefore + 1);
+        assertThat(jobRepository.count()).isZero();
+    }
+
+    @Test
+    void liveLeaseIsNotClaimed() throws InterruptedException {
+        jobRepository.save(NotificationFanoutJob.builder()
+                .modelId(modelId)
+                .organizationId(organizationId)
+                .type(NotificationType.MODEL_UPDATED)
+                .modelCount(1)
+                .queuedAt(LocalDateTime.now())
+                .owner("running-instance")
+                .leaseExpiresAt(LocalDateTime.now().plusMinutes(1))
+                .build());
+
+        notificationFanout.renewLeases();
+        awaitFanout();
+
+        assertThat(notificationRepository.count()).isZero();
+        assertThat(jobRepository.findAll()).extracting(NotificationFanoutJob::getOwner)
+                .containsExactly("running-instance");
+    }
+
+    @Test
+    void retryDelayDoublesUpToTheMax() {
+        assertThat(List.of(1, 2, 3, 4, 5, 30)).extracting(notificationFanout::retryDelay).containsExactly(
+                Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2),
+                Duration.ofSeconds(3), Duration.ofSeconds(3), Duration.ofSeconds(3));
+    }
+
+    private void awaitFanout() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (notificationFanout.getStats().getPendingJobs() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(notificationFanout.getStats().getPendingJobs()).isZero();
+    }
+}
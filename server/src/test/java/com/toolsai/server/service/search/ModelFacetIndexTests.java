@@ -0,0 +1,94 @@
+package com.toolsai.server.service.search;
+
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.model.enums.PricingType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class ModelFacetIndexTests {
+
+    private final ModelFacetIndex index = new ModelFacetIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.upsert(facets(1L, ModelCategory.LANGUAGE_MODEL, PricingType.FREE, ModelStatus.ACTIVE, true, "nlp", "chat"));
+        index.upsert(facets(2L, ModelCategory.LANGUAGE_MODEL, PricingType.PAID, ModelStatus.ACTIVE, false, "nlp"));
+        index.upsert(facets(3L, ModelCategory.COMPUTER_VISION, PricingType.FREE, ModelStatus.ACTIVE, true, "vision"));
+        index.upsert(facets(4L, ModelCategory.COMPUTER_VISION, PricingType.PAID, ModelStatus.INACTIVE, false,
+                "vision", "nlp"));
+        index.upsert(facets(5L, ModelCategory.CODE_GENERATION, PricingType.FREE, ModelStatus.ACTIVE, false, "chat"));
+    }
+
+    @Test
+    void valuesWithinAFacetAreOredAndFacetsAnded() {
+        ModelFacetIndex.FilterResult result = index.filter(ModelFacetQuery.builder()
+                .categories(Set.of(ModelCategory.LANGUAGE_MODEL, ModelCategory.COMPUTER_VISION))
+                .pricingTypes(Set.of(PricingType.FREE))
+                .build(), 0, 10);
+
+        assertThat(result.getTotalHits()).isEqualTo(2);
+        assertThat(result.getModelIds()).containsExactly(3L, 1L);
+
+        // Each facet is counted against the other selections only
+        Map<String, Map<String, Long>> counts = result.getFacetCounts();
+        assertThat(counts.get(ModelFacetIndex.CATEGORY)).containsExactly(
+                entry("CODE_GENERATION", 1L), entry("COMPUTER_VISION", 1L), entry("LANGUAGE_MODEL", 1L));
+        assertThat(counts.get(ModelFacetIndex.PRICING_TYPE)).containsExactly(entry("FREE", 2L), entry("PAID", 2L));
+        assertThat(counts.get(ModelFacetIndex.STATUS)).containsExactly(entry("ACTIVE", 2L));
+        assertThat(counts.get(ModelFacetIndex.FEATURED)).containsExactly(entry("true", 2L));
+        assertThat(counts.get(ModelFacetIndex.TAG)).containsOnly(
+                entry("chat", 1L), entry("nlp", 1L), entry("vision", 1L));
+    }
+
+    @Test
+    void multiValuedTagsOrWithinTheFacetAndAndWithOthers() {
+        ModelFacetIndex.FilterResult result = index.filter(ModelFacetQuery.builder()
+                .tagSlugs(Set.of("chat", "vision"))
+                .featured(false)
+                .build(), 0, 10);
+
+        assertThat(result.getModelIds()).containsExactly(5L, 4L);
+        assertThat(result.getFacetCounts().get(ModelFacetIndex.TAG)).containsExactly(
+                entry("nlp", 2L), entry("chat", 1L), entry("vision", 1L));
+        assertThat(result.getFacetCounts().get(ModelFacetIndex.FEATURED)).containsOnly(
+                entry("true", 2L), entry("false", 2L));
+
+        ModelFacetIndex.FilterResult none = index.filter(ModelFacetQuery.builder()
+                .tagSlugs(Set.of("unknown"))
+                .build(), 0, 10);
+        assertThat(none.getTotalHits()).isZero();
+        assertThat(none.getModelIds()).isEmpty();
+    }
+
+    @Test
+    void unconstrainedQueryPagesNewestFirstAndFollowsUpdates() {
+        ModelFacetQuery everything = ModelFacetQuery.builder().build();
+        assertThat(index.filter(everything, 1, 2).getModelIds()).containsExactly(4L, 3L);
+        assertThat(index.filter(everything, 0, 10).getFacetCounts().get(ModelFacetIndex.TAG))
+                .containsExactly(entry("nlp", 3L), entry("chat", 2L), entry("vision", 2L));
+
+        index.upsert(facets(2L, ModelCategory.LANGUAGE_MODEL, PricingType.FREE, ModelStatus.ACTIVE, false, "chat"));
+        index.remove(5L);
+
+        ModelFacetIndex.FilterResult chat = index.filter(ModelFacetQuery.builder()
+                .tagSlugs(Set.of("chat"))
+                .build(), 0, 10);
+        assertThat(chat.getModelIds()).containsExactly(2L, 1L);
+        assertThat(chat.getFacetCounts().get(ModelFacetIndex.PRICING_TYPE)).containsExactly(entry("FREE", 2L));
+        assertThat(index.filter(everything, 0, 10).getFacetCounts().get(ModelFacetIndex.CATEGORY))
+                .doesNotContainKey("CODE_GENERATION");
+    }
+
+    private static ModelFacets facets(Long id, ModelCategory category, PricingType pricingType, ModelStatus status,
+                                      boolean featured, String... tagSlugs) {
+        return new ModelFacets(id, category, pricingType, status, featured, List.of(tagSlugs));
+    }
+}
@@ -0,0 +1,81 @@
+package com.toolsai.server.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModelSearchIndexTests {
+
+    private final ModelSearchIndex index = new ModelSearchIndex();
+
+    @Test
+    void nameMatchesOutrankTagOrganizationAndDescriptionMatches() {
+        index.upsert(document(1L, "Image Captioner", "Describes a vision scene in words", "Acme", List.of()));
+        index.upsert(document(2L, "Vision Transformer", "Classifies images", "Acme", List.of()));
+        index.upsert(document(3L, "Detector", "Finds objects", "Acme", List.of("vision")));
+        index.upsert(document(4L, "Segmenter", "Splits images", "Vision Labs", List.of()));
+        index.upsert(document(5L, "Translator", "Translates text", "Acme", List.of()));
+
+        ModelSearchIndex.SearchHits hits = index.search("vision", 0, 10);
+
+        assertThat(hits.getModelIds()).containsExactly(2L, 3L, 4L, 1L);
+        assertThat(hits.getTotalHits()).isEqualTo(4);
+    }
+
+    @Test
+    void shorterFieldsAndRarerTermsScoreHigher() {
+        index.upsert(document(1L, "Alpha", "Speech", "Acme", List.of()));
+        index.upsert(document(2L, "Beta", "Speech model trained on many hours of audio from podcasts, calls, "
+                + "lectures, audiobooks and broadcast news in dozens of languages", "Acme", List.of()));
+        index.upsert(document(3L, "Gamma", "Speech recognition", "Acme", List.of()));
+        index.upsert(document(4L, "Delta", "Speech speech speech speech speech", "Acme", List.of()));
+
+        // Length normalization: the same single mention counts for more in a short description
+        assertThat(index.search("speech", 0, 10).getModelIds()).startsWith(4L, 1L).endsWith(2L);
+        // Matching the rare term beats repeating the common one, whose frequency saturates
+        assertThat(index.search("speech recognition", 0, 10).getModelIds()).startsWith(3L);
+    }
+
+    @Test
+    void pagesAndFollowsUpsertsAndRemovals() {
+        for (long id = 1; id <= 5; id++) {
+            index.upsert(document(id, "Coder " + id, "Writes code", "Acme", List.of()));
+        }
+
+        ModelSearchIndex.SearchHits page = index.search("coders", 2, 2);
+        assertThat(page.getTotalHits()).isEqualTo(5);
+        assertThat(page.getModelIds()).hasSize(2);
+
+        index.remove(3L);
+        index.upsert(document(4L, "Painter", "Draws pictures", "Acme", List.of()));
+        assertThat(index.search("coder", 0, 10).getModelIds()).containsExactlyInAnyOrder(1L, 2L, 5L);
+        assertThat(index.search("painting", 0, 10).getModelIds()).isEmpty();
+        assertThat(index.search("painter", 0, 10).getModelIds()).containsExactly(4L);
+        assertThat(index.search("the and", 0, 10).getTotalHits()).isZero();
+    }
+
+    @Test
+    void commonTermsRankTheirBestMatchesWithoutScoringEveryModel() {
+        for (long id = 1; id <= 2000; id++) {
+            String name = id % 100 == 0 ? "Model " + id : "Tool " + id;
+            index.upsert(document(id, name, "A model for task " + id, "Acme",
+                    id % 3 == 0 ? List.of("vision") : List.of()));
+        }
+
+        ModelSearchIndex.SearchHits hits = index.search("models", 0, 5);
+        assertThat(hits.getModelIds()).containsExactly(2000L, 1900L, 1800L, 1700L, 1600L);
+        assertThat(hits.getTotalHits()).isEqualTo(2000);
+        assertThat(index.search("models", 5, 5).getModelIds()).containsExactly(1500L, 1400L, 1300L, 1200L, 1100L);
+
+        // Named and tagged beats either one alone
+        assertThat(index.search("vision model", 0, 3).getModelIds()).containsExactly(1800L, 1500L, 1200L);
+        assertThat(index.search("vision model", 0, 3).getTotalHits()).isEqualTo(2000);
+    }
+
+    private static ModelSearchDocument document(Long id, String name, String description, String organization,
+                                                List<String> tags) {
+        return new ModelSearchDocument(id, name, description, organization, tags);
+    }
+}
@@ -0,0 +1,38 @@
+package com.toolsai.server.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TextAnalyzerTests {
+
+    @Test
+    void tokenizesOnNonAlphanumericsLowerCasesAndDropsStopWords() {
+        assertThat(TextAnalyzer.analyze("The GPT4 model, and its v2 API!")).containsExactly("gpt4", "model", "v2", "api");
+        assertThat(TextAnalyzer.analyze("text-to-speech")).containsExactly("text", "speech");
+        assertThat(TextAnalyzer.analyze("  ")).isEmpty();
+        assertThat(TextAnalyzer.analyze(null)).isEmpty();
+    }
+
+    @Test
+    void inflectionsMeetOnOneStem() {
+        assertThat(TextAnalyzer.analyze("model models modeling modeled")).containsOnly("model");
+        assertThat(TextAnalyzer.analyze("classes studies running stopped"))
+                .containsExactly("class", "study", "run", "stop");
+        assertThat(TextAnalyzer.analyze("normalize normalization")).hasSize(2).containsOnly("normaliz");
+    }
+
+    @Test
+    void leavesNamesShortTokensAndNonPluralEndingsAlone() {
+        assertThat(TextAnalyzer.analyze("gpt4 v2 bus focus glass"))
+                .containsExactly("gpt4", "v2", "bus", "focus", "glass");
+    }
+
+    @Test
+    void capsTokenLength() {
+        List<String> terms = TextAnalyzer.analyze("x".repeat(100));
+        assertThat(terms).containsExactly("x".repeat(40));
+    }
+}
@@ -0,0 +1,121 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.event.ModelEngagementEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotModelRankingTests {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+    @Test
+    void slotReusedByANewBucketForgetsTheBucketThatLeftTheWindow() {
+        HotModelRanking ranking = new HotModelRanking(Duration.ofHours(3), Duration.ofHours(24), HOUR, clock);
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 100));
+
+        // Three buckets later model 1's slot comes round again, without a sweep in between
+        clock.advance(Duration.ofHours(3));
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 1));
+        ranking.onEngagement(ModelEngagementEvent.views(2L, 2));
+
+        assertThat(ranking.top(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void sweepDropsModelsWhoseEngagementLeftTheWindowAndKeepsTheRest() {
+        HotModelRanking ranking = new HotModelRanking(Duration.ofHours(3), Duration.ofHours(24), HOUR, clock);
+        ranking.onEngagement(ModelEngagementEvent.like(1L, 10));
+        clock.advance(HOUR);
+        ranking.onEngagement(ModelEngagementEvent.views(2L, 1));
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 1));
+
+        clock.advance(Duration.ofHours(2));
+        ranking.expire();
+        // Model 1 lost its likes with the first bucket and now trails on views alone
+        assertThat(ranking.top(10)).containsExactly(2L, 1L);
+
+        clock.advance(HOUR);
+        ranking.expire();
+        assertThat(ranking.top(10)).isEmpty();
+    }
+
+    @Test
+    void olderEngagementCountsForHalfPerHalfLife() {
+        HotModelRanking ranking = new HotModelRanking(Duration.ofHours(6), HOUR, HOUR, clock);
+        // Three half-lives apart: 7 units decay to 7/8 of a fresh unit, 9 units to 9/8
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 7));
+        ranking.onEngagement(ModelEngagementEvent.views(2L, 9));
+        clock.advance(Duration.ofHours(3));
+        ranking.onEngagement(ModelEngagementEvent.views(3L, 1));
+
+        assertThat(ranking.top(10)).containsExactly(2L, 3L, 1L);
+
+        // Decay alone never reorders models
+        clock.advance(Duration.ofHours(2));
+        ranking.expire();
+        assertThat(ranking.top(10)).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void scoresStayFiniteLongAfterTheEpoch() {
+        HotModelRanking ranking = new HotModelRanking(Duration.ofHours(3), Duration.ofMinutes(10), HOUR, clock);
+        // A year of ten-minute half-lives is far beyond what a double holds as a plain sum
+        clock.advance(Duration.ofDays(365));
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 1));
+        ranking.onEngagement(ModelEngagementEvent.views(2L, 3));
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 1));
+
+        assertThat(ranking.top(10)).containsExactly(2L, 1L);
+        ranking.onEngagement(ModelEngagementEvent.views(1L, 2));
+        assertThat(ranking.top(10)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removalsAndUnlikesDoNotAddHeat() {
+        HotModelRanking ranking = new HotModelRanking(Duration.ofHours(3), Duration.ofHours(24), HOUR, clock);
+        ranking.onEngagement(ModelEngagementEvent.like(1L, -1));
+        ranking.onEngagement(ModelEngagementEvent.comment(1L, -1));
+        ranking.onEngagement(ModelEngagementEvent.rating(1L, -1));
+        assertThat(ranking.top(10)).isEmpty();
+
+        ranking.onEngagement(ModelEngagementEvent.rating(1L, 0));
+        assertThat(ranking.top(10)).containsExactly(1L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
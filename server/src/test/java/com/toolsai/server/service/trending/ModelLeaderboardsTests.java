@@ -0,0 +1,121 @@
+package com.toolsai.server.service.trending;
+
+import com.toolsai.server.event.AIModelChangedEvent;
+import com.toolsai.server.event.ModelEngagementEvent;
+import com.toolsai.server.model.AIModel;
+import com.toolsai.server.model.enums.ModelCategory;
+import com.toolsai.server.model.enums.ModelStatus;
+import com.toolsai.server.repository.AIModelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ModelLeaderboardsTests {
+
+    private static final int MODELS = 200;
+    private static final ModelCategory[] CATEGORIES = {
+            ModelCategory.LANGUAGE_MODEL, ModelCategory.COMPUTER_VISION, ModelCategory.CHATBOT};
+
+    private final AIModelRepository aiModelRepository = mock(AIModelRepository.class);
+    private final ModelLeaderboards leaderboards = new ModelLeaderboards(aiModelRepository, 5, 3);
+    private final Map<Long, ModelScores> expected = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Random random = new Random(7);
+        for (long id = 1; id <= MODELS; id++) {
+            expected.put(id, new ModelScores(id, CATEGORIES[(int) (id % CATEGORIES.length)],
+                    random.nextInt(1_000), random.nextInt(100)));
+        }
+        doAnswer(invocation -> {
+            Consumer<ModelScores> consumer = invocation.getArgument(0);
+            expected.values().forEach(s -> consumer.accept(
+                    new ModelScores(s.getModelId(), s.getModelCategory(), s.getViewCount(), s.getLikeCount())));
+            return null;
+        }).when(aiModelRepository).streamModelScores(any());
+        leaderboards.rebuild();
+    }
+
+    @Test
+    void boardsMatchABruteForceRankingThroughRisesAndFallsWithoutRescanningOnEveryDrop() {
+        Random random = new Random(42);
+        long refillsAfterRebuild = leaderboards.getRefillCount();
+        int drops = 0;
+        for (int i = 0; i < 5_000; i++) {
+            long modelId = 1 + random.nextInt(MODELS);
+            ModelScores scores = expected.get(modelId);
+            if (random.nextBoolean()) {
+                long delta = random.nextInt(20) - 12;
+                delta = Math.max(delta, -scores.getLikeCount());
+                drops += delta < 0 ? 1 : 0;
+                scores.setLikeCount(scores.getLikeCount() + delta);
+                leaderboards.onEngagement(ModelEngagementEvent.like(modelId, delta));
+            } else {
+                long views = random.nextInt(30);
+                scores.setViewCount(scores.getViewCount() + views);
+                leaderboards.onEngagement(ModelEngagementEvent.views(modelId, views));
+            }
+
+            ModelCategory category = random.nextInt(4) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)];
+            assertThat(leaderboards.top(ModelLeaderboards.Metric.LIKES, category, 5))
+                    .isEqualTo(bruteForceTop(ModelScores::getLikeCount, category));
+            assertThat(leaderboards.top(ModelLeaderboards.Metric.VIEWS, category, 5))
+                    .isEqualTo(bruteForceTop(ModelScores::getViewCount, category));
+        }
+
+        // Only departures that exhaust a board's reserve force a rescan
+        assertThat(leaderboards.getRefillCount() - refillsAfterRebuild).isLessThan(drops / 10);
+    }
+
+    @Test
+    void deletedAndDeactivatedModelsLeaveTheBoards() {
+        Long leader = bruteForceTop(ModelScores::getViewCount, null).get(0);
+        leaderboards.onModelChanged(new AIModelChangedEvent(leader, "leader", 1L, AIModelChangedEvent.ChangeType.DELETED));
+        expected.remove(leader);
+        assertThat(leaderboards.top(ModelLeaderboards.Metric.VIEWS, null, 5))
+                .isEqualTo(bruteForceTop(ModelScores::getViewCount, null));
+
+        Long runnerUp = bruteForceTop(ModelScores::getLikeCount, null).get(0);
+        AIModel inactive = AIModel.builder()
+                .id(runnerUp)
+                .modelCategory(expected.get(runnerUp).getModelCategory())
+                .modelStatus(ModelStatus.INACTIVE)
+                .build();
+        when(aiModelRepository.findById(runnerUp)).thenReturn(Optional.of(inactive));
+        leaderboards.onModelChanged(new AIModelChangedEvent(runnerUp, "runner-up", 1L,
+                AIModelChangedEvent.ChangeType.UPDATED));
+        expected.remove(runnerUp);
+
+        for (ModelCategory category : CATEGORIES) {
+            assertThat(leaderboards.top(ModelLeaderboards.Metric.LIKES, category, 5))
+                    .isEqualTo(bruteForceTop(ModelScores::getLikeCount, category));
+        }
+        leaderboards.onEngagement(ModelEngagementEvent.like(runnerUp, 1_000));
+        assertThat(leaderboards.top(ModelLeaderboards.Metric.LIKES, null, 5)).doesNotContain(runnerUp);
+    }
+
+    private List<Long> bruteForceTop(ToLongFunction<ModelScores> score, ModelCategory category) {
+        return expected.values().stream()
+                .filter(s -> category == null || s.getModelCategory() == category)
+                .sorted(Comparator.comparingLong(score).reversed()
+                        .thenComparing(ModelScores::getModelId, Comparator.reverseOrder()))
+                .limit(5)
+                .map(ModelScores::getModelId)
+                .toList();
+    }
+}